@@ -0,0 +1,84 @@
+package com.oss.productcatalog.search;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.model.AvailabilityStatus;
+
+/**
+ * Spec filters and facets on the in-memory search index: a filter on two
+ * low-cardinality keys (RAM, Color), and the same filter with a facet on a
+ * high-cardinality key (Model, 5000 values), which is counted by scanning
+ * the matches' value codes. Results are ranked by price, as in the product
+ * listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// The 500k-product index needs more than the default heap of a small machine
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SpecSearchBenchmark {
+
+    private static final String[] RAM = {"4GB", "8GB", "16GB", "32GB"};
+    private static final String[] COLORS = {"Black", "Silver", "White", "Blue", "Red", "Green", "Gold", "Grey"};
+    private static final int MODELS = 5000;
+
+    @Param({"100000", "500000"})
+    private int products;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex(List.of(BigDecimal.valueOf(500), BigDecimal.valueOf(5000)));
+        Random random = new Random(42);
+        for (long id = 1; id <= products; id++) {
+            Map<String, String> specifications = Map.of(
+                    "RAM", RAM[random.nextInt(RAM.length)],
+                    "Color", COLORS[random.nextInt(COLORS.length)],
+                    "Model", "M-" + random.nextInt(MODELS));
+            index.upsert(new ProductDocument(id, "Product " + id, "Brand " + (id % 50), null, specifications,
+                    BigDecimal.valueOf(random.nextInt(1_000_000), 2), true, Set.of(),
+                    AvailabilityStatus.IN_STOCK));
+        }
+    }
+
+    @Benchmark
+    public SearchHits filter() {
+        return index.search(request(false, null));
+    }
+
+    @Benchmark
+    public SearchHits filterWithFacets() {
+        return index.search(request(true, List.of("Model")));
+    }
+
+    private static ProductSearchRequest request(boolean facets, List<String> specFacets) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        // As Spring binds spec=RAM:16GB,32GB&spec=Color:Black
+        request.setSpec(List.of("RAM:16GB", "32GB", "Color:Black"));
+        request.setSpecFacets(specFacets);
+        request.setFacets(facets);
+        request.setSort("price");
+        return request;
+    }
+}
@@ -0,0 +1,114 @@
+package com.oss.productcatalog.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ProductRatingSummary;
+import com.oss.productcatalog.model.Review;
+
+/**
+ * Synthetic, seeded catalog data shaped like a typical listing: a few
+ * categories and specifications per product, four images (one hosted
+ * externally, the rest with three generated widths) and a rating summary.
+ * Lives in the service package to reach the package-private mapping code.
+ */
+final class BenchmarkFixtures {
+
+    static final int CATEGORIES_PER_PRODUCT = 3;
+    static final int SPECS_PER_PRODUCT = 6;
+    static final int IMAGES_PER_PRODUCT = 4;
+    static final int[] VARIANT_WIDTHS = {160, 480, 1024};
+
+    private static final String[] BRANDS = {"Acme", "Globex", "Initech", "Umbrella", "Stark", "Wayne"};
+    private static final String[] SPEC_KEYS = {"RAM", "Storage", "Colour", "Weight", "Display", "Battery"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Product> products(int count) {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setSku("SKU-" + i);
+            product.setName(BRANDS[i % BRANDS.length] + " Product " + i);
+            product.setBrand(BRANDS[i % BRANDS.length]);
+            product.setDescription("A reasonably long description of product " + i
+                    + " that covers its features, materials, dimensions and what is in the box.");
+            product.setPrice(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+            product.setCurrency("INR");
+            product.setStock(random.nextInt(200));
+            product.setAvailabilityStatus(Product.availabilityFor(product.getStock()));
+            products.add(product);
+        }
+        return products;
+    }
+
+    // The associations the database queries would return for these products
+    static ProductAssociations associations(List<Product> products) {
+        ProductAssociations associations = new ProductAssociations();
+        long imageId = 1;
+        for (Product product : products) {
+            Long productId = product.getId();
+            for (int c = 0; c < CATEGORIES_PER_PRODUCT; c++) {
+                associations.addCategoryName(productId, "Category " + (productId + c) % 40);
+            }
+            for (int s = 0; s < SPECS_PER_PRODUCT; s++) {
+                associations.addSpecification(productId, SPEC_KEYS[s], "Value " + (productId * 7 + s) % 25);
+            }
+            for (int m = 0; m < IMAGES_PER_PRODUCT; m++, imageId++) {
+                if (m == 0) {
+                    associations.addImage(productId, imageId, "https://cdn.example.com/products/" + imageId + ".jpg", null);
+                    continue;
+                }
+                for (int width : VARIANT_WIDTHS) {
+                    associations.addImage(productId, imageId, null, width);
+                }
+            }
+            ProductRatingSummary rating = new ProductRatingSummary(productId);
+            rating.addRating(5, 10 + productId % 50);
+            rating.addRating(4, 5 + productId % 20);
+            rating.addRating(1, productId % 3);
+            associations.putRating(productId, rating);
+        }
+        return associations;
+    }
+
+    static List<ProductResponse> responses(int count) {
+        ProductServiceImpl service = new ProductServiceImpl();
+        List<Product> products = products(count);
+        ProductAssociations associations = associations(products);
+        List<ProductResponse> responses = new ArrayList<>(count);
+        for (Product product : products) {
+            responses.add(service.mapToResponse(product, associations));
+        }
+        return responses;
+    }
+
+    static List<Review> reviews(int count) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Review> reviews = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Review review = new Review();
+            review.setId((long) i);
+            review.setUserId(1000L + i);
+            review.setUserName("Reviewer " + i);
+            review.setUserAvatar("https://cdn.example.com/avatars/" + i + ".png");
+            review.setRating(1 + i % 5);
+            review.setTitle("Review title " + i);
+            review.setComment("Used it for a few weeks. Works as described, though the packaging could be better.");
+            review.setVerifiedPurchase(i % 3 != 0);
+            review.setHelpfulCount(i % 17);
+            review.setCreatedAt(base.plusMinutes(i));
+            reviews.add(review);
+        }
+        return reviews;
+    }
+}
@@ -0,0 +1,61 @@
+package com.oss.productcatalog.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oss.productcatalog.model.Product;
+
+/**
+ * Entity-to-response mapping of a batch of products with their associations
+ * already loaded, i.e. the CPU part of a listing request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    @Param({"20", "200", "2000"})
+    private int size;
+
+    private ProductServiceImpl service;
+    private List<Product> products;
+    private ProductAssociations associations;
+
+    @Setup
+    public void setUp() {
+        service = new ProductServiceImpl();
+        products = BenchmarkFixtures.products(size);
+        associations = BenchmarkFixtures.associations(products);
+    }
+
+    @Benchmark
+    public void mapToResponse(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(service.mapToResponse(product, associations));
+        }
+    }
+
+    // Image and variant URL building alone
+    @Benchmark
+    public void mapImages(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(service.mapImages(associations, product.getId()));
+        }
+    }
+}
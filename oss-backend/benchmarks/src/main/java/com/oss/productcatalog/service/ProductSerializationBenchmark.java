@@ -0,0 +1,62 @@
+package com.oss.productcatalog.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductResponse;
+
+/**
+ * Writing a list of product responses to JSON bytes with an ObjectMapper
+ * configured like the application's, for the full payload and for a
+ * typical sparse fieldset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSerializationBenchmark {
+
+    @Param({"20", "200", "2000"})
+    private int size;
+
+    // "" writes every property
+    @Param({"", "name,price,imageUrls"})
+    private String fields;
+
+    private ObjectWriter writer;
+    private List<ProductResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // Same filter defaults as JacksonConfig
+        writer = Jackson2ObjectMapperBuilder.json()
+                .filters(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build()
+                .writer(ProductFields.parse(fields).filterProvider());
+        responses = BenchmarkFixtures.responses(size);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(responses);
+    }
+}
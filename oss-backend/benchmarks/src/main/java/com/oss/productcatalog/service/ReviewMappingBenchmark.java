@@ -0,0 +1,49 @@
+package com.oss.productcatalog.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oss.productcatalog.model.Review;
+
+/** Mapping of one review feed page; 20 is the default page size, 100 the maximum. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReviewMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ReviewServiceImpl service;
+    private List<Review> reviews;
+
+    @Setup
+    public void setUp() {
+        // Mapping touches none of the repositories
+        service = new ReviewServiceImpl(null, null, null, null, null);
+        reviews = BenchmarkFixtures.reviews(size);
+    }
+
+    @Benchmark
+    public void mapToResponse(Blackhole blackhole) {
+        for (Review review : reviews) {
+            blackhole.consume(service.mapToResponse(review));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cart_service.client;
 
+import com.cart_service.dto.ProductBatchDto;
 import com.cart_service.dto.ProductDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +14,6 @@ public interface ProductClient {
 
     @GetMapping("/products/{id}")
     ProductDto get(@PathVariable Long id);
-    @PostMapping("/products/batch")
-    List<ProductDto> batch(@RequestBody List<Long> ids);
+    @PostMapping("/api/products/batch")
+    ProductBatchDto batch(@RequestBody List<Long> ids);
 }
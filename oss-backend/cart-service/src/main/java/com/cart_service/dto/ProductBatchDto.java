@@ -0,0 +1,19 @@
+package com.cart_service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductBatchDto {
+
+    private List<ProductDto> items = new ArrayList<>();
+    private List<Long> missingIds = new ArrayList<>();
+
+    public ProductBatchDto() {}
+
+    public List<ProductDto> getItems() { return items; }
+    public void setItems(List<ProductDto> items) { this.items = items; }
+
+    public List<Long> getMissingIds() { return missingIds; }
+    public void setMissingIds(List<Long> missingIds) { this.missingIds = missingIds; }
+
+}
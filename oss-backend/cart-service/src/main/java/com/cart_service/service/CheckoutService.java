@@ -50,7 +50,7 @@ public class CheckoutService {
                 .map(ci -> ci.getProductId())
                 .toList();
             
-            List<ProductDto> products = productClient.batch(productIds);
+            List<ProductDto> products = productClient.batch(productIds).getItems();
             Map<Long, ProductDto> productMap = new HashMap<>();
             for (ProductDto product : products) {
                 productMap.put(product.getId(), product);
@@ -23,10 +23,13 @@ public class PricingService {
 
     public PriceDto price(Cart cart){
             List<Long> ids = cart.getItems().stream().map(CartItem::getProductId).distinct().toList();
-            Map<Long, ProductDto> map = products.batch(ids).stream().collect(Collectors.toMap(ProductDto::getId, p->p));
+            Map<Long, ProductDto> map = products.batch(ids).getItems().stream().collect(Collectors.toMap(ProductDto::getId, p->p));
             BigDecimal subtotal = BigDecimal.ZERO;
             for (CartItem i : cart.getItems()){
                 ProductDto p = map.get(i.getProductId());
+                if (p == null) {
+                    throw new IllegalStateException("Product " + i.getProductId() + " is no longer in the catalog");
+                }
                 BigDecimal line = p.getPrice().multiply(BigDecimal.valueOf(i.getQuantity()));
                 subtotal = subtotal.add(line);
             }
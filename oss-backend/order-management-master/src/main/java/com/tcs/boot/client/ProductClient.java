@@ -4,9 +4,13 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Map;
+
 @FeignClient(name = "product-service")
 public interface ProductClient {
 
@@ -18,4 +22,14 @@ public interface ProductClient {
 
     @GetMapping("/api/products/{id}/check-stock")
     ResponseEntity<Boolean> checkStockAvailability(@PathVariable Long id, @RequestParam Integer quantity);
+
+    // Reserves every item of an order at once; responds 409 when any item is short
+    @PostMapping("/api/products/stock/reservations")
+    Map<String, Object> reserveStock(@RequestBody Map<String, Object> reservation);
+
+    @PostMapping("/api/products/stock/reservations/{reservationId}/commit")
+    Map<String, Object> commitReservation(@PathVariable String reservationId);
+
+    @PostMapping("/api/products/stock/reservations/{reservationId}/release")
+    Map<String, Object> releaseReservation(@PathVariable String reservationId);
 }
\ No newline at end of file
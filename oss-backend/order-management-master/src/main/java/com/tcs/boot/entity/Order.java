@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tcs.boot.enums.OrderStatus;
@@ -63,6 +64,14 @@ public class Order {
     @JsonManagedReference
     private List<OrderItem> items;
 
+    // Stock reservation in product-catalog. inventoryCommitted stays false when the
+    // commit failed, so the order can be reconciled against the reservation.
+    @JsonIgnore
+    private String reservationId;
+
+    @JsonIgnore
+    private Boolean inventoryCommitted;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -258,6 +267,22 @@ public class Order {
         this.items = items;
     }
 
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(String reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public Boolean getInventoryCommitted() {
+        return inventoryCommitted;
+    }
+
+    public void setInventoryCommitted(Boolean inventoryCommitted) {
+        this.inventoryCommitted = inventoryCommitted;
+    }
+
     // Constructors
     public Order() {
         super();
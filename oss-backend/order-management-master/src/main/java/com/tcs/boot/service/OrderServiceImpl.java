@@ -2,7 +2,6 @@ package com.tcs.boot.service;
 
 
 import org.springframework.stereotype.Service;
-import org.springframework.http.ResponseEntity;
 
 import com.tcs.boot.client.UserClient;
 import com.tcs.boot.client.ProductClient;
@@ -14,6 +13,8 @@ import com.tcs.boot.exception.OrderModificationNotAllowedException;
 import com.tcs.boot.exception.OrderNotFoundException;
 import com.tcs.boot.repository.OrderRepository;
 
+import feign.FeignException;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -24,6 +25,9 @@ import java.util.UUID;
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final int COMMIT_ATTEMPTS = 3;
+    private static final long COMMIT_RETRY_DELAY_MS = 200;
+
 	private final OrderRepository orderRepository;
     private final EmailService emailService;
     private final UserClient userClient;
@@ -70,42 +74,22 @@ public class OrderServiceImpl implements OrderService {
             order.getItems().forEach(item -> item.setOrder(order));
         }
 
-        // Reduce inventory for each order item
-        if (order.getItems() != null && !order.getItems().isEmpty()) {
-            for (OrderItem item : order.getItems()) {
-                try {
-                    // Check stock availability first
-                    ResponseEntity<Boolean> stockCheck = productClient.checkStockAvailability(
-                        item.getProductId(), item.getQuantity());
-                    
-                    if (stockCheck.getBody() != null && stockCheck.getBody()) {
-                        // Reduce stock
-                        ResponseEntity<String> result = productClient.reduceStock(
-                            item.getProductId(), item.getQuantity());
-                        
-                        if (result.getStatusCode().is2xxSuccessful()) {
-                            System.out.println("Successfully reduced stock for product " + 
-                                             item.getProductId() + " by " + item.getQuantity());
-                        } else {
-                            System.err.println("Failed to reduce stock for product " + 
-                                             item.getProductId() + ": " + result.getBody());
-                        }
-                    } else {
-                        System.err.println("Insufficient stock for product " + item.getProductId() + 
-                                         ". Quantity requested: " + item.getQuantity());
-                        // Note: In a production system, you might want to throw an exception here
-                        // or implement a more sophisticated inventory reservation system
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error reducing inventory for product " + 
-                                     item.getProductId() + ": " + e.getMessage());
-                    // Continue with order processing even if inventory update fails
-                    // In production, you might want to implement compensation logic
-                }
-            }
-        }
+        // Reserve inventory for the whole order in one call; committed once the order is saved
+        String reservationId = reserveInventory(order);
+        order.setReservationId(reservationId);
+        order.setInventoryCommitted(reservationId != null ? Boolean.FALSE : null);
 
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder;
+        try {
+            savedOrder = orderRepository.save(order);
+        } catch (RuntimeException e) {
+            releaseInventory(reservationId);
+            throw e;
+        }
+        if (commitInventory(savedOrder.getOrderId(), reservationId)) {
+            savedOrder.setInventoryCommitted(Boolean.TRUE);
+            savedOrder = orderRepository.save(savedOrder);
+        }
 
         // Send comprehensive email notification
         if (savedOrder.getCustomerEmail() != null) {
@@ -120,6 +104,80 @@ public class OrderServiceImpl implements OrderService {
         return savedOrder;
     }
 
+    private String reserveInventory(Order order) {
+        if (order.getItems() == null || order.getItems().isEmpty()) {
+            return null;
+        }
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            Map<String, Object> line = new HashMap<>();
+            line.put("productId", item.getProductId());
+            line.put("quantity", item.getQuantity());
+            items.add(line);
+        }
+        Map<String, Object> request = new HashMap<>();
+        request.put("orderRef", order.getOrderId());
+        request.put("items", items);
+
+        try {
+            Map<String, Object> reservation = productClient.reserveStock(request);
+            System.out.println("Reserved inventory for order " + order.getOrderId()
+                    + ": reservation " + reservation.get("reservationId"));
+            return (String) reservation.get("reservationId");
+        } catch (Exception e) {
+            // Note: In a production system, you might want to reject the order here
+            System.err.println("Could not reserve inventory for order " + order.getOrderId() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Commits the reservation of a saved order, retrying transient failures.
+     * An order whose commit still fails keeps inventoryCommitted=false with
+     * its reservationId: product-catalog releases the reservation when its
+     * TTL runs out, so the order's stock has to be reconciled by hand.
+     */
+    private boolean commitInventory(String orderId, String reservationId) {
+        if (reservationId == null) {
+            return false;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                productClient.commitReservation(reservationId);
+                return true;
+            } catch (FeignException.Conflict e) {
+                // Expired or released; retrying cannot help
+                System.err.println("Inventory reservation " + reservationId + " of order " + orderId
+                        + " can no longer be committed, reconcile the order's stock: " + e.getMessage());
+                return false;
+            } catch (Exception e) {
+                if (attempt == COMMIT_ATTEMPTS) {
+                    System.err.println("Could not commit inventory reservation " + reservationId + " of order "
+                            + orderId + " after " + attempt + " attempts, reconcile the order's stock: "
+                            + e.getMessage());
+                    return false;
+                }
+                try {
+                    Thread.sleep(COMMIT_RETRY_DELAY_MS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void releaseInventory(String reservationId) {
+        if (reservationId == null) {
+            return;
+        }
+        try {
+            productClient.releaseReservation(reservationId);
+        } catch (Exception e) {
+            System.err.println("Could not release inventory reservation " + reservationId + ": " + e.getMessage());
+        }
+    }
+
     @Override
     public Order createOrderFromFrontend(Map<String, Object> orderData) {
         Order order = new Order();
@@ -0,0 +1,18 @@
+package com.oss.productcatalog.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+@Configuration
+public class JacksonConfig {
+
+    // ProductResponse carries a @JsonFilter; without a filter for the request
+    // (see ProductFields) every property is written
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer propertyFilterDefaults() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,39 @@
+package com.oss.productcatalog.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the reads of the current thread to the primary database, for reads
+ * that must see the latest committed state even inside a read-only
+ * transaction, e.g. stock levels or a product that was just written.
+ *
+ * Connections are only fetched on the first statement of a transaction, so
+ * this takes effect for a transaction started inside {@link #call}, or one
+ * that has not run a statement yet; one already holding a replica connection
+ * keeps it.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> reads) {
+        Boolean previous = REQUIRED.get();
+        REQUIRED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                REQUIRED.remove();
+            } else {
+                REQUIRED.set(previous);
+            }
+        }
+    }
+
+    public static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.oss.productcatalog.config;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Adds a read replica when catalog.datasource.replica.url is set: read-only
+ * transactions go to the replica and all others to spring.datasource (see
+ * {@link ReadWriteRoutingDataSource}). Without the property the application
+ * uses the single auto-configured datasource as before.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("catalog.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("catalog.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primaryProperties, Environment environment) {
+        DataSourceProperties properties = Binder.get(environment)
+                .bind("catalog.datasource.replica", DataSourceProperties.class)
+                .get();
+        if (properties.getUsername() == null) {
+            properties.setUsername(primaryProperties.determineUsername());
+            properties.setPassword(primaryProperties.determinePassword());
+        }
+        HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${server.port:8080}") int port,
+                                               @Value("${catalog.datasource.replica.max-lag:PT5S}") Duration maxLag,
+                                               @Value("${catalog.datasource.replica.lag-check-enabled:true}") boolean lagCheckEnabled) {
+        return new ReplicaLagMonitor(primary, replica, nodeName(port), maxLag, lagCheckEnabled);
+    }
+
+    // Connections are fetched on the first statement, once the transaction is known to be read-only
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor monitor) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, monitor);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static String nodeName(int port) {
+        try {
+            return InetAddress.getLocalHost().getHostName() + ":" + port;
+        } catch (UnknownHostException e) {
+            return "localhost:" + port;
+        }
+    }
+}
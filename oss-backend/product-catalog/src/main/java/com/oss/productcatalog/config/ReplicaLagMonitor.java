@@ -0,0 +1,91 @@
+package com.oss.productcatalog.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Decides whether reads may go to the replica. Every heartbeat writes the
+ * current time for this node to replication_heartbeats on the primary and
+ * reads the node's row back from the replica; the difference is how far the
+ * replica lags. Past {@code maxLag}, or while the replica cannot be reached,
+ * reads stay on the primary.
+ *
+ * With the lag check disabled (replicas that do not replicate, such as a
+ * second local schema) the heartbeat only checks that the replica answers.
+ */
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final String node;
+    private final Duration maxLag;
+    private final boolean lagCheckEnabled;
+
+    private volatile boolean usable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, String node,
+                             Duration maxLag, boolean lagCheckEnabled) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.node = node;
+        this.maxLag = maxLag;
+        this.lagCheckEnabled = lagCheckEnabled;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    // -1 until the replica has shown this node's first heartbeat
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.datasource.replica.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        try {
+            if (lagCheckEnabled) {
+                long now = System.currentTimeMillis();
+                writeBeat(now);
+                List<Long> beats = replica.queryForList(
+                        "select beat_at from replication_heartbeats where node = ?", Long.class, node);
+                lagMillis = beats.isEmpty() ? -1 : Math.max(0, now - beats.get(0));
+                update(lagMillis >= 0 && lagMillis <= maxLag.toMillis(),
+                        lagMillis < 0 ? "no heartbeat replicated yet" : "lag " + lagMillis + " ms");
+            } else {
+                replica.queryForObject("select 1", Integer.class);
+                update(true, "reachable");
+            }
+        } catch (RuntimeException e) {
+            update(false, e.getMessage());
+        }
+    }
+
+    public void markUnavailable(Exception e) {
+        update(false, e.getMessage());
+    }
+
+    private void writeBeat(long now) {
+        int updated = primary.update("update replication_heartbeats set beat_at = ? where node = ?", now, node);
+        if (updated == 0) {
+            primary.update("insert into replication_heartbeats (node, beat_at) values (?, ?)", node, now);
+        }
+    }
+
+    private void update(boolean nowUsable, String reason) {
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                System.out.println("Read replica in use (" + reason + ")");
+            } else {
+                System.err.println("Read replica not used, reads go to the primary: " + reason);
+            }
+        }
+        usable = nowUsable;
+    }
+}
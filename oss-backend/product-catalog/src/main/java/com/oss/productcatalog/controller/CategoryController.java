@@ -0,0 +1,73 @@
+package com.oss.productcatalog.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.oss.productcatalog.dto.CategoryRequest;
+import com.oss.productcatalog.dto.CategoryResponse;
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.service.CategoryService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/categories")
+public class CategoryController {
+
+    private final CategoryService categoryService;
+
+    public CategoryController(CategoryService categoryService) {
+        this.categoryService = categoryService;
+    }
+
+    @PostMapping
+    public ResponseEntity<CategoryResponse> createCategory(@RequestBody @Valid CategoryRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(categoryService.createCategory(request));
+    }
+
+    // The whole hierarchy with product counts, served from the cached tree
+    @GetMapping
+    public ResponseEntity<List<CategoryResponse>> getCategoryTree() {
+        return ResponseEntity.ok(categoryService.getCategoryTree());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CategoryResponse> getCategory(@PathVariable Long id) {
+        return ResponseEntity.ok(categoryService.getCategory(id));
+    }
+
+    // Omit parentId to move the category to the top level
+    @PutMapping("/{id}/parent")
+    public ResponseEntity<CategoryResponse> moveCategory(@PathVariable Long id,
+                                                         @RequestParam(required = false) Long parentId) {
+        return ResponseEntity.ok(categoryService.moveCategory(id, parentId));
+    }
+
+    /**
+     * Landing page: products of the category and all its descendants, with
+     * the precomputed count as the total. Accepts {@code fields} like the
+     * product endpoints.
+     */
+    @GetMapping("/{id}/products")
+    public ResponseEntity<MappingJacksonValue> getCategoryProducts(@PathVariable Long id,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "20") int size,
+                                                                   @RequestParam(required = false) String fields) {
+        ProductFields selected = ProductFields.parse(fields);
+        MappingJacksonValue body = new MappingJacksonValue(
+                categoryService.getCategoryProducts(id, page, size, selected));
+        body.setFilters(selected.filterProvider());
+        return ResponseEntity.ok(body);
+    }
+}
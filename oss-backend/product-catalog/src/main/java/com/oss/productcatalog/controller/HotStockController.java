@@ -0,0 +1,49 @@
+package com.oss.productcatalog.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.oss.productcatalog.dto.HotStockLeaseResponse;
+import com.oss.productcatalog.model.HotStockLeaseStatus;
+import com.oss.productcatalog.service.HotStockService;
+
+@RestController
+@RequestMapping("/api/products/hot-stock")
+public class HotStockController {
+
+    private final HotStockService hotStockService;
+
+    public HotStockController(HotStockService hotStockService) {
+        this.hotStockService = hotStockService;
+    }
+
+    // Switches reduce-stock for the product to in-memory counters (or back)
+    @PutMapping("/{productId}")
+    public ResponseEntity<Void> setHotStock(@PathVariable Long productId, @RequestParam boolean enabled) {
+        hotStockService.setHotStock(productId, enabled);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/leases")
+    public ResponseEntity<List<HotStockLeaseResponse>> getLeases(
+            @RequestParam(required = false) HotStockLeaseStatus status) {
+        return ResponseEntity.ok(hotStockService.getLeases(status));
+    }
+
+    /**
+     * Closes a lease quarantined after a crash. sold is the number of units
+     * the orders placed against it actually took; the remainder is returned.
+     */
+    @PostMapping("/leases/{leaseId}/reconcile")
+    public ResponseEntity<HotStockLeaseResponse> reconcile(@PathVariable Long leaseId, @RequestParam int sold) {
+        return ResponseEntity.ok(hotStockService.reconcile(leaseId, sold));
+    }
+}
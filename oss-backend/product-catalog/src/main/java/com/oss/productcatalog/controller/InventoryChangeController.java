@@ -0,0 +1,32 @@
+package com.oss.productcatalog.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.oss.productcatalog.dto.InventoryChangePage;
+import com.oss.productcatalog.service.InventoryChangeService;
+
+@RestController
+@RequestMapping("/api/products/inventory")
+public class InventoryChangeController {
+
+    private final InventoryChangeService inventoryChangeService;
+
+    public InventoryChangeController(InventoryChangeService inventoryChangeService) {
+        this.inventoryChangeService = inventoryChangeService;
+    }
+
+    /**
+     * Stock ledger as a change feed: start with since=0, then keep passing
+     * back nextSince. Consumers apply the deltas instead of re-reading the
+     * catalog. The cursor is the change sequence, not the row id.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<InventoryChangePage> getChanges(@RequestParam(defaultValue = "0") Long since,
+                                                          @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(inventoryChangeService.getChanges(since, limit));
+    }
+}
@@ -1,8 +1,17 @@
 package com.oss.productcatalog.controller;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
@@ -14,13 +23,26 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.oss.productcatalog.dto.ProductBatchResponse;
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductImportResponse;
 import com.oss.productcatalog.dto.ProductRequest;
 import com.oss.productcatalog.dto.ProductResponse;
-import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.dto.ProductSuggestion;
+import com.oss.productcatalog.importer.ImportFormat;
+import com.oss.productcatalog.importer.ProductImporter;
+import com.oss.productcatalog.model.ImageVariant;
 import com.oss.productcatalog.model.ProductImage;
-import com.oss.productcatalog.repository.ProductImageRepository;
-import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.service.ProductImageService;
+import com.oss.productcatalog.service.ProductPopularityService;
+import com.oss.productcatalog.service.ProductSearchService;
 import com.oss.productcatalog.service.ProductService;
 
 import jakarta.validation.Valid;
@@ -29,16 +51,28 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/products")
 public class ProductController {
 
+	private static final Duration IMAGE_MAX_AGE = Duration.ofDays(365);
+	private static final String NDJSON = "application/x-ndjson";
+
 	private final ProductService productService;
-	private final ProductImageRepository imageRepository;
-	private final ProductRepository productRepository;
+	private final ProductImageService productImageService;
+	private final ProductSearchService productSearchService;
+	private final ObjectMapper objectMapper;
+	private final ProductImporter productImporter;
+	private final ProductPopularityService productPopularityService;
 
 	public ProductController(ProductService productService,
-							 ProductImageRepository imageRepository,
-							 ProductRepository productRepository) {
+							 ProductImageService productImageService,
+							 ProductSearchService productSearchService,
+							 ObjectMapper objectMapper,
+							 ProductImporter productImporter,
+							 ProductPopularityService productPopularityService) {
 		this.productService = productService;
-		this.imageRepository = imageRepository;
-		this.productRepository = productRepository;
+		this.productImageService = productImageService;
+		this.productSearchService = productSearchService;
+		this.objectMapper = objectMapper;
+		this.productImporter = productImporter;
+		this.productPopularityService = productPopularityService;
 	}
 
 	@PostMapping
@@ -46,20 +80,120 @@ public class ProductController {
 		return ResponseEntity.ok(productService.createProduct(request));
 	}
 
+	/**
+	 * {@code fields} (e.g. fields=id,name,price) trims the payload; single
+	 * products are assembled once and then served from the response cache.
+	 */
 	@GetMapping("/{id}")
-	public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id) {
-		return ResponseEntity.ok(productService.getProductById(id));
+	public ResponseEntity<MappingJacksonValue> getProduct(@PathVariable Long id,
+			@RequestParam(defaultValue = "false") boolean includeReviews,
+			@RequestParam(defaultValue = "5") int reviewLimit,
+			@RequestParam(required = false) String fields) {
+		ProductFields selected = ProductFields.parse(fields);
+		ProductResponse product = productService.getProductById(id, includeReviews ? reviewLimit : 0);
+		productPopularityService.recordView(id);
+		return ResponseEntity.ok(withFields(product, selected));
 	}
 
+	/**
+	 * With {@code fields}, only the requested columns are selected and only
+	 * the requested associations are queried.
+	 */
 	@GetMapping
-	public ResponseEntity<List<ProductResponse>> getAllProducts() {
-		return ResponseEntity.ok(productService.getAllProducts());
+	public ResponseEntity<MappingJacksonValue> getAllProducts(@RequestParam(required = false) String fields) {
+		ProductFields selected = ProductFields.parse(fields);
+		return ResponseEntity.ok(withFields(productService.getAllProducts(selected), selected));
+	}
+
+	/**
+	 * The whole catalog as newline-delimited JSON, one ProductResponse per
+	 * line in id order, written while the products are read from the database.
+	 */
+	@GetMapping(value = "/export", produces = NDJSON)
+	public ResponseEntity<StreamingResponseBody> exportProducts() {
+		ObjectWriter writer = objectMapper.writerFor(ProductResponse.class)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		StreamingResponseBody body = outputStream -> {
+			OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+			try {
+				productService.exportAll(product -> {
+					try {
+						writer.writeValue(out, product);
+						out.write('\n');
+					} catch (IOException e) {
+						// Client went away; abort the export and release the cursor
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			out.flush();
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+	}
+
+	/**
+	 * Bulk upsert by SKU. The request body is the raw CSV or NDJSON file
+	 * (Content-Type text/csv or application/x-ndjson), streamed rather than
+	 * buffered as a multipart upload.
+	 */
+	@PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+	public ResponseEntity<ProductImportResponse> importProducts(InputStream body,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+		return ResponseEntity.ok(productImporter.importProducts(body, ImportFormat.detect(contentType), "upload"));
+	}
+
+	@GetMapping("/search")
+	public ResponseEntity<MappingJacksonValue> search(@ModelAttribute ProductSearchRequest request,
+			@RequestParam(required = false) String fields) {
+		ProductFields selected = ProductFields.parse(fields);
+		return ResponseEntity.ok(withFields(productSearchService.search(request, selected), selected));
+	}
+
+	@GetMapping("/suggest")
+	public ResponseEntity<List<ProductSuggestion>> suggest(@RequestParam String prefix,
+			@RequestParam(defaultValue = "10") int limit) {
+		return ResponseEntity.ok(productSearchService.suggest(prefix, limit));
+	}
+
+	/**
+	 * "Customers also bought": products most often in the same committed
+	 * order as this one, from an in-memory index (see CoPurchaseIndexer).
+	 */
+	@GetMapping("/{id}/related")
+	public ResponseEntity<MappingJacksonValue> related(@PathVariable Long id,
+			@RequestParam(defaultValue = "10") int limit,
+			@RequestParam(required = false) String fields) {
+		ProductFields selected = ProductFields.parse(fields);
+		return ResponseEntity.ok(withFields(productSearchService.related(id, limit, selected), selected));
+	}
+
+	// Views decay by half every catalog.popularity.trending-half-life
+	@GetMapping("/trending")
+	public ResponseEntity<MappingJacksonValue> trending(@RequestParam(defaultValue = "10") int limit,
+			@RequestParam(required = false) String fields) {
+		ProductFields selected = ProductFields.parse(fields);
+		return ResponseEntity.ok(withFields(productPopularityService.getTrending(limit, selected), selected));
+	}
+
+	@GetMapping("/most-viewed")
+	public ResponseEntity<MappingJacksonValue> mostViewed(@RequestParam(defaultValue = "10") int limit,
+			@RequestParam(required = false) String fields) {
+		ProductFields selected = ProductFields.parse(fields);
+		return ResponseEntity.ok(withFields(productPopularityService.getMostViewed(limit, selected), selected));
+	}
+
+	@PostMapping("/batch")
+	public ResponseEntity<ProductBatchResponse> getProductBatch(@RequestBody List<Long> ids) {
+		return ResponseEntity.ok(productService.getProductSummaries(ids));
 	}
 
 	// Inventory management endpoints
 	@PutMapping("/{id}/reduce-stock")
-	public ResponseEntity<String> reduceStock(@PathVariable Long id, @RequestParam Integer quantity) {
-		boolean success = productService.reduceStock(id, quantity);
+	public ResponseEntity<String> reduceStock(@PathVariable Long id, @RequestParam Integer quantity,
+			@RequestParam(required = false) String orderRef) {
+		boolean success = productService.reduceStock(id, quantity, orderRef);
 		if (success) {
 			return ResponseEntity.ok("Stock reduced successfully");
 		} else {
@@ -77,24 +211,54 @@ public class ProductController {
 	public ResponseEntity<String> uploadImage(@PathVariable Long id, @RequestParam MultipartFile file)
 			throws IOException {
 
-		Product product = productRepository.findById(id).orElseThrow(() -> new RuntimeException("Product not found"));
-
-		ProductImage image = new ProductImage();
-		image.setImageData(file.getBytes());
-		image.setContentType(file.getContentType());
-		image.setProduct(product);
-
-		imageRepository.save(image);
+		productImageService.uploadImage(id, file);
 
 		return ResponseEntity.ok("Image uploaded successfully");
 	}
 
+	/**
+	 * Images never change once uploaded, so the content hash is a strong ETag
+	 * and the response may be cached indefinitely. Returning a Resource lets
+	 * Spring answer If-None-Match with 304 and Range requests with 206 partial
+	 * content, streaming the file rather than loading it onto the heap.
+	 * {@code w} selects a resized variant (see ProductImageResponse.variants).
+	 */
 	@GetMapping("/image/{imageId}")
-	public ResponseEntity<byte[]> getImage(@PathVariable Long imageId) {
+	public ResponseEntity<Resource> getImage(@PathVariable Long imageId,
+			@RequestParam(required = false) Integer w) {
 
-		ProductImage image = imageRepository.findById(imageId)
-				.orElseThrow(() -> new RuntimeException("Image not found"));
+		if (w != null) {
+			ImageVariant variant = productImageService.getVariant(imageId, w);
+			if (variant != null) {
+				return imageResponse(variant.getContentType(), variant.getContentHash(), true,
+						productImageService.openVariant(variant));
+			}
+		}
 
-		return ResponseEntity.ok().header(HttpHeaders.CONTENT_TYPE, image.getContentType()).body(image.getImageData());
+		ProductImage image = productImageService.getImage(imageId);
+
+		// A variant URL served with the original must be revalidated, so the
+		// variant replaces it once generated
+		return imageResponse(image.getContentType(), image.getContentHash(), w == null,
+				productImageService.openImage(image));
+	}
+
+	private static MappingJacksonValue withFields(Object body, ProductFields fields) {
+		MappingJacksonValue value = new MappingJacksonValue(body);
+		value.setFilters(fields.filterProvider());
+		return value;
+	}
+
+	private ResponseEntity<Resource> imageResponse(String contentType, String contentHash, boolean immutable,
+			Resource body) {
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_TYPE, contentType)
+				.header(HttpHeaders.ACCEPT_RANGES, "bytes");
+		if (contentHash != null) {
+			response.eTag(contentHash).cacheControl(immutable
+					? CacheControl.maxAge(IMAGE_MAX_AGE).cachePublic().immutable()
+					: CacheControl.noCache().cachePublic());
+		}
+		return response.body(body);
 	}
 }
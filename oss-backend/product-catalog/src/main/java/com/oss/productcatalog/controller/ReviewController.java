@@ -1,5 +1,7 @@
 package com.oss.productcatalog.controller;
 
+import com.oss.productcatalog.dto.RatingSummaryResponse;
+import com.oss.productcatalog.dto.ReviewPageResponse;
 import com.oss.productcatalog.dto.ReviewRequest;
 import com.oss.productcatalog.dto.ReviewResponse;
 import com.oss.productcatalog.service.ReviewService;
@@ -7,8 +9,6 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/products/{productId}/reviews")
 public class ReviewController {
@@ -27,8 +27,13 @@ public class ReviewController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ReviewResponse>> getReviews(@PathVariable Long productId) {
-        return ResponseEntity.ok(reviewService.getReviewsByProductId(productId));
+    public ResponseEntity<ReviewPageResponse> getReviews(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) Boolean verifiedPurchase) {
+        return ResponseEntity.ok(reviewService.getReviews(productId, cursor, size, rating, verifiedPurchase));
     }
 
     @GetMapping("/average-rating")
@@ -40,5 +45,10 @@ public class ReviewController {
     public ResponseEntity<Long> getReviewCount(@PathVariable Long productId) {
         return ResponseEntity.ok(reviewService.getReviewCount(productId));
     }
+
+    @GetMapping("/summary")
+    public ResponseEntity<RatingSummaryResponse> getRatingSummary(@PathVariable Long productId) {
+        return ResponseEntity.ok(reviewService.getRatingSummary(productId));
+    }
 }
 
@@ -0,0 +1,52 @@
+package com.oss.productcatalog.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.oss.productcatalog.dto.StockReservationRequest;
+import com.oss.productcatalog.dto.StockReservationResponse;
+import com.oss.productcatalog.model.ReservationStatus;
+import com.oss.productcatalog.service.StockReservationService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/products/stock/reservations")
+public class StockReservationController {
+
+    private final StockReservationService reservationService;
+
+    public StockReservationController(StockReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<StockReservationResponse> reserve(@RequestBody @Valid StockReservationRequest request) {
+        StockReservationResponse response = reservationService.reserve(request);
+        if (response.getStatus() == ReservationStatus.REJECTED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<StockReservationResponse> getReservation(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.getReservation(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/commit")
+    public ResponseEntity<StockReservationResponse> commit(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.commit(reservationId));
+    }
+
+    @PostMapping("/{reservationId}/release")
+    public ResponseEntity<StockReservationResponse> release(@PathVariable String reservationId) {
+        return ResponseEntity.ok(reservationService.release(reservationId));
+    }
+}
@@ -0,0 +1,56 @@
+package com.oss.productcatalog.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CategoryProductsResponse {
+
+    private CategoryResponse category;
+    // products of the category and its descendants, in id order
+    private List<ProductResponse> items;
+    private Long total;
+    private Integer page;
+    private Integer size;
+
+    public CategoryResponse getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategoryResponse category) {
+        this.category = category;
+    }
+
+    public List<ProductResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductResponse> items) {
+        this.items = items;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
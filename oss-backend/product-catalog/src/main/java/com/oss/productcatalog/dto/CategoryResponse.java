@@ -0,0 +1,76 @@
+package com.oss.productcatalog.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CategoryResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Long parentId;
+    // distinct products in the category and all its descendants
+    private Integer productCount;
+    // ids from the top-level category down to this one (detail only)
+    private List<Long> path;
+    // direct children; the whole subtree in the tree listing
+    private List<CategoryResponse> children;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Integer getProductCount() {
+        return productCount;
+    }
+
+    public void setProductCount(Integer productCount) {
+        this.productCount = productCount;
+    }
+
+    public List<Long> getPath() {
+        return path;
+    }
+
+    public void setPath(List<Long> path) {
+        this.path = path;
+    }
+
+    public List<CategoryResponse> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<CategoryResponse> children) {
+        this.children = children;
+    }
+}
@@ -0,0 +1,45 @@
+package com.oss.productcatalog.dto;
+
+import lombok.Data;
+
+@Data
+public class FacetValue {
+
+    // value to send back as a filter (brand name, category id, status, "min-max")
+    private String value;
+    private String label;
+    private Long count;
+
+    public FacetValue() {
+    }
+
+    public FacetValue(String value, String label, Long count) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,93 @@
+package com.oss.productcatalog.dto;
+
+import java.time.LocalDateTime;
+
+import com.oss.productcatalog.model.HotStockLeaseStatus;
+
+import lombok.Data;
+
+@Data
+public class HotStockLeaseResponse {
+
+    private Long id;
+    private Long productId;
+    private String node;
+    private Integer units;
+    private Integer sold;
+    private HotStockLeaseStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+    private LocalDateTime renewedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public Integer getUnits() {
+        return units;
+    }
+
+    public void setUnits(Integer units) {
+        this.units = units;
+    }
+
+    public Integer getSold() {
+        return sold;
+    }
+
+    public void setSold(Integer sold) {
+        this.sold = sold;
+    }
+
+    public HotStockLeaseStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HotStockLeaseStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    public LocalDateTime getRenewedAt() {
+        return renewedAt;
+    }
+
+    public void setRenewedAt(LocalDateTime renewedAt) {
+        this.renewedAt = renewedAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.oss.productcatalog.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class InventoryChangePage {
+
+    private List<InventoryChangeResponse> items;
+    // pass back as since= to continue; equals the request's since when nothing is new
+    private Long nextSince;
+    private Boolean hasMore;
+
+    public List<InventoryChangeResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<InventoryChangeResponse> items) {
+        this.items = items;
+    }
+
+    public Long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(Long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,75 @@
+package com.oss.productcatalog.dto;
+
+import java.time.LocalDateTime;
+
+import com.oss.productcatalog.model.InventoryChangeReason;
+
+import lombok.Data;
+
+@Data
+public class InventoryChangeResponse {
+
+    private Long id;
+    private Long sequence;
+    private Long productId;
+    private Integer delta;
+    private InventoryChangeReason reason;
+    private String orderRef;
+    private LocalDateTime createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public InventoryChangeReason getReason() {
+        return reason;
+    }
+
+    public void setReason(InventoryChangeReason reason) {
+        this.reason = reason;
+    }
+
+    public String getOrderRef() {
+        return orderRef;
+    }
+
+    public void setOrderRef(String orderRef) {
+        this.orderRef = orderRef;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
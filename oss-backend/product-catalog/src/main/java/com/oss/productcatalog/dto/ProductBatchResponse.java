@@ -0,0 +1,30 @@
+package com.oss.productcatalog.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ProductBatchResponse {
+
+    // one entry per distinct requested id that exists, in request order
+    private List<ProductSummaryResponse> items;
+    // requested ids with no product, in request order
+    private List<Long> missingIds;
+
+    public List<ProductSummaryResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductSummaryResponse> items) {
+        this.items = items;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,86 @@
+package com.oss.productcatalog.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.oss.productcatalog.exception.BadRequestException;
+
+/**
+ * The ProductResponse properties a client asked for with {@code fields=},
+ * e.g. {@code fields=id,name,price,imageUrls}. The id is always included.
+ * Drives both which columns and associations are loaded and which
+ * properties are serialized.
+ */
+public final class ProductFields {
+
+    // Plain product columns, selectable in a projection
+    public static final List<String> COLUMNS = List.of(
+            "sku", "name", "brand", "description", "price", "currency", "stock", "availabilityStatus");
+
+    // Each needs one extra query per batch of products
+    public static final List<String> ASSOCIATIONS = List.of(
+            "specifications", "categories", "imageUrls", "images", "averageRating", "reviewCount");
+
+    // Only filled in on single-product reads with includeReviews
+    public static final List<String> EMBEDDED = List.of("reviews");
+
+    public static final ProductFields ALL = new ProductFields(null);
+
+    private final Set<String> names;
+
+    private ProductFields(Set<String> names) {
+        this.names = names;
+    }
+
+    /** Null or blank means every field. */
+    public static ProductFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty() || name.equals("id")) {
+                continue;
+            }
+            if (!COLUMNS.contains(name) && !ASSOCIATIONS.contains(name) && !EMBEDDED.contains(name)) {
+                throw new BadRequestException("Unknown field '" + name + "'; expected any of id, "
+                        + String.join(", ", COLUMNS) + ", " + String.join(", ", ASSOCIATIONS) + ", "
+                        + String.join(", ", EMBEDDED));
+            }
+            names.add(name);
+        }
+        return new ProductFields(Collections.unmodifiableSet(names));
+    }
+
+    public boolean isAll() {
+        return names == null;
+    }
+
+    public boolean includes(String field) {
+        return names == null || names.contains(field);
+    }
+
+    public boolean includesAny(String... fields) {
+        return Arrays.stream(fields).anyMatch(this::includes);
+    }
+
+    /** Requested plain columns, in {@link #COLUMNS} order. */
+    public List<String> columns() {
+        return COLUMNS.stream().filter(this::includes).toList();
+    }
+
+    /** Serialization filter for {@link ProductResponse#FIELD_FILTER}. */
+    public FilterProvider filterProvider() {
+        return new SimpleFilterProvider().addFilter(ProductResponse.FIELD_FILTER, names == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+}
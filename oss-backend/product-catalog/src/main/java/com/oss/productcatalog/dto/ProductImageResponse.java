@@ -0,0 +1,39 @@
+package com.oss.productcatalog.dto;
+
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class ProductImageResponse {
+
+    private Long id;
+    // Original upload, or the external image_url
+    private String url;
+    // Variant width -> URL; empty until the background resize has run
+    private Map<Integer, String> variants;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Map<Integer, String> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(Map<Integer, String> variants) {
+        this.variants = variants;
+    }
+}
@@ -0,0 +1,81 @@
+package com.oss.productcatalog.dto;
+
+import lombok.Data;
+
+@Data
+public class ProductImportResponse {
+
+    private String source;
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long failed;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    // CSV of line,sku,error for every rejected row; null when nothing failed
+    private String errorFile;
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public String getErrorFile() {
+        return errorFile;
+    }
+
+    public void setErrorFile(String errorFile) {
+        this.errorFile = errorFile;
+    }
+}
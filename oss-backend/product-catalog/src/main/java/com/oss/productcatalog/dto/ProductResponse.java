@@ -6,13 +6,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.oss.productcatalog.model.AvailabilityStatus;
 
 import lombok.Data;
 
 @Data   // ⭐ REQUIRED
+@JsonFilter(ProductResponse.FIELD_FILTER)
 public class ProductResponse {
 
+    // Narrowed per request by ProductFields; everything is written when no filter is set
+    public static final String FIELD_FILTER = "productFields";
+
     private Long id;
     private String sku;
     private String name;
@@ -25,6 +30,7 @@ public class ProductResponse {
     private Map<String, String> specifications;
     private Set<String> categories;
     private List<String> imageUrls;
+    private List<ProductImageResponse> images;
     private Double averageRating;
     private Long reviewCount;
     private List<ReviewResponse> reviews;
@@ -99,6 +105,14 @@ public class ProductResponse {
 		this.specifications = specifications;
 	}
 
+	public List<ProductImageResponse> getImages() {
+		return images;
+	}
+
+	public void setImages(List<ProductImageResponse> images) {
+		this.images = images;
+	}
+
 	public List<String> getImageUrls() {
 		return imageUrls;
 	}
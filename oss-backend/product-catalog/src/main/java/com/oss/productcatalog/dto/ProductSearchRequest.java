@@ -1,5 +1,7 @@
 package com.oss.productcatalog.dto;
 
+import com.oss.productcatalog.model.AvailabilityStatus;
+
 import lombok.Data;
 
 import java.math.BigDecimal;
@@ -21,10 +23,23 @@ public class ProductSearchRequest {
 
     private Boolean onlyActive = true;
 
+    private List<AvailabilityStatus> availability;
+
+    // spec filters as "key:value", e.g. spec=RAM:16GB&spec=RAM:32GB&spec=Color:Black;
+    // values of one key are alternatives, different keys must all match
+    private List<String> spec;
+
+    // spec keys to return value counts for; filtered keys are always counted
+    private List<String> specFacets;
+
+    // set to false to skip facet counting
+    private Boolean facets = true;
+
     // pagination
     private Integer page = 0;
     private Integer size = 20;
 
-    // sorting example: "price,asc" or "name,desc"
-    private String sort = "name,asc";
+    // sorting example: "price,asc", "name,desc", "newest", "popularity" or "relevance";
+    // when unset, text queries sort by relevance and browsing by name
+    private String sort;
 }
@@ -0,0 +1,57 @@
+package com.oss.productcatalog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class ProductSearchResponse {
+
+    private List<ProductResponse> items;
+    private Long total;
+    private Integer page;
+    private Integer size;
+    // facet name (brand, category, availability, price) -> values with counts
+    private Map<String, List<FacetValue>> facets;
+
+    public List<ProductResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductResponse> items) {
+        this.items = items;
+    }
+
+    public Long getTotal() {
+        return total;
+    }
+
+    public void setTotal(Long total) {
+        this.total = total;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public Map<String, List<FacetValue>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetValue>> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,37 @@
+package com.oss.productcatalog.dto;
+
+import lombok.Data;
+
+@Data
+public class ProductSuggestion {
+
+    private String text;
+    // PRODUCT or BRAND
+    private String type;
+    // Set for PRODUCT suggestions only
+    private Long productId;
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+}
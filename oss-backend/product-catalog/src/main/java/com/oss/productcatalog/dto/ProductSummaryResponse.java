@@ -0,0 +1,88 @@
+package com.oss.productcatalog.dto;
+
+import java.math.BigDecimal;
+
+import com.oss.productcatalog.model.AvailabilityStatus;
+
+import lombok.Data;
+
+/**
+ * Price and availability projection used for bulk lookups (cart pricing,
+ * checkout); carries none of the product's associations.
+ */
+@Data
+public class ProductSummaryResponse {
+
+    private Long id;
+    private String sku;
+    private String name;
+    private BigDecimal price;
+    private String currency;
+    private Integer stock;
+    private AvailabilityStatus availabilityStatus;
+    private Boolean available;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public AvailabilityStatus getAvailabilityStatus() {
+        return availabilityStatus;
+    }
+
+    public void setAvailabilityStatus(AvailabilityStatus availabilityStatus) {
+        this.availabilityStatus = availabilityStatus;
+    }
+
+    public Boolean getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Boolean available) {
+        this.available = available;
+    }
+}
@@ -0,0 +1,47 @@
+package com.oss.productcatalog.dto;
+
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class RatingSummaryResponse {
+
+    private Long productId;
+    private Double averageRating;
+    private Long reviewCount;
+    // star (1-5) -> number of reviews
+    private Map<Integer, Long> histogram;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(Double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public Long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(Long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public Map<Integer, Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(Map<Integer, Long> histogram) {
+        this.histogram = histogram;
+    }
+}
@@ -0,0 +1,55 @@
+package com.oss.productcatalog.dto;
+
+import lombok.Data;
+
+@Data
+public class ReservationItemResult {
+
+    private Long productId;
+    private Integer quantity;
+    private Boolean reserved;
+    // current stock, reported when the item could not be reserved
+    private Integer available;
+    // NOT_FOUND or INSUFFICIENT_STOCK when not reserved
+    private String reason;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Boolean getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(Boolean reserved) {
+        this.reserved = reserved;
+    }
+
+    public Integer getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Integer available) {
+        this.available = available;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,38 @@
+package com.oss.productcatalog.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ReviewPageResponse {
+
+    private List<ReviewResponse> items;
+    // opaque keyset cursor for the next page; null on the last page
+    private String nextCursor;
+    private Boolean hasMore;
+
+    public List<ReviewResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReviewResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,34 @@
+package com.oss.productcatalog.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class StockReservationRequest {
+
+    // caller's order id, kept for tracing
+    private String orderRef;
+
+    @NotEmpty(message = "At least one item is required")
+    @Valid
+    private List<ReservationItemRequest> items;
+
+    public String getOrderRef() {
+        return orderRef;
+    }
+
+    public void setOrderRef(String orderRef) {
+        this.orderRef = orderRef;
+    }
+
+    public List<ReservationItemRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReservationItemRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,59 @@
+package com.oss.productcatalog.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.oss.productcatalog.model.ReservationStatus;
+
+import lombok.Data;
+
+@Data
+public class StockReservationResponse {
+
+    // null when the reservation was rejected
+    private String reservationId;
+    private String orderRef;
+    private ReservationStatus status;
+    private LocalDateTime expiresAt;
+    private List<ReservationItemResult> items;
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(String reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public String getOrderRef() {
+        return orderRef;
+    }
+
+    public void setOrderRef(String orderRef) {
+        this.orderRef = orderRef;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public List<ReservationItemResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReservationItemResult> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,8 @@
+package com.oss.productcatalog.event;
+
+/**
+ * Published inside a transaction that created, renamed or moved categories;
+ * the cached category tree is rebuilt after it commits.
+ */
+public class CategoriesChangedEvent {
+}
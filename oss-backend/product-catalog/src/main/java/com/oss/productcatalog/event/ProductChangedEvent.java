@@ -0,0 +1,33 @@
+package com.oss.productcatalog.event;
+
+/**
+ * Published inside the transaction that changed a product. Listeners that
+ * keep derived state (search index, caches) react after the commit.
+ */
+public class ProductChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        STOCK_CHANGED,
+        // Images or their variants changed; nothing searchable is affected
+        IMAGES_CHANGED,
+        // A review changed the rating summary; nothing searchable is affected
+        REVIEW_ADDED
+    }
+
+    private final Long productId;
+    private final ChangeType changeType;
+
+    public ProductChangedEvent(Long productId, ChangeType changeType) {
+        this.productId = productId;
+        this.changeType = changeType;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+}
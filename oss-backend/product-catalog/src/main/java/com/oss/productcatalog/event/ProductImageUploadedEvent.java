@@ -0,0 +1,24 @@
+package com.oss.productcatalog.event;
+
+/**
+ * Published inside the upload transaction; the variant pipeline picks the
+ * image up once the row is committed.
+ */
+public class ProductImageUploadedEvent {
+
+    private final Long productId;
+    private final Long imageId;
+
+    public ProductImageUploadedEvent(Long productId, Long imageId) {
+        this.productId = productId;
+        this.imageId = imageId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getImageId() {
+        return imageId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.oss.productcatalog.event;
+
+import java.util.List;
+
+/**
+ * Published inside each bulk import batch transaction, in place of one
+ * ProductChangedEvent per product.
+ */
+public class ProductsImportedEvent {
+
+    private final List<Long> productIds;
+
+    public ProductsImportedEvent(List<Long> productIds) {
+        this.productIds = productIds;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+}
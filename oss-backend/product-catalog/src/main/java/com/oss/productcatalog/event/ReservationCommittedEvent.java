@@ -0,0 +1,26 @@
+package com.oss.productcatalog.event;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that committed a stock reservation, i.e.
+ * when an order's items were actually sold. Carries the distinct product ids.
+ */
+public class ReservationCommittedEvent {
+
+    private final String reservationId;
+    private final List<Long> productIds;
+
+    public ReservationCommittedEvent(String reservationId, List<Long> productIds) {
+        this.reservationId = reservationId;
+        this.productIds = productIds;
+    }
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+}
@@ -0,0 +1,157 @@
+package com.oss.productcatalog.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.oss.productcatalog.exception.BadRequestException;
+
+/**
+ * Reads RFC 4180 CSV with a header row. Recognised columns are
+ * {@code sku,name,brand,description,price,currency,stock,active,categoryIds}
+ * ({@code categoryIds} separated by {@code ;}); every {@code spec.<key>}
+ * column becomes a specification. Unknown columns are ignored.
+ */
+final class CsvProductRowReader implements ProductRowReader {
+
+    private static final String SPEC_PREFIX = "spec.";
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long lineNumber = 0;
+    private long recordLine;
+
+    CsvProductRowReader(Reader reader) throws IOException {
+        this.reader = new BufferedReader(reader, 64 * 1024);
+        List<String> columns = readRecord();
+        if (columns == null) {
+            throw new BadRequestException("CSV input has no header row");
+        }
+        this.header = new ArrayList<>();
+        for (String column : columns) {
+            String trimmed = column.trim();
+            header.add(trimmed.regionMatches(true, 0, SPEC_PREFIX, 0, SPEC_PREFIX.length())
+                    ? trimmed
+                    : trimmed.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        if (fields.size() > header.size()) {
+            return ProductImportRow.invalid(recordLine,
+                    "Expected at most " + header.size() + " fields but found " + fields.size());
+        }
+        ProductImportRow row = new ProductImportRow(recordLine);
+        try {
+            for (int i = 0; i < fields.size(); i++) {
+                String value = fields.get(i).trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                String column = header.get(i);
+                switch (column) {
+                    case "sku" -> row.sku = value;
+                    case "name" -> row.name = value;
+                    case "brand" -> row.brand = value;
+                    case "description" -> row.description = value;
+                    case "price" -> row.price = new BigDecimal(value);
+                    case "currency" -> row.currency = value;
+                    case "stock" -> row.stock = Integer.valueOf(value);
+                    case "active" -> row.active = Boolean.valueOf(value);
+                    case "categoryids" -> row.categoryIds = parseIds(value);
+                    default -> {
+                        if (column.length() > SPEC_PREFIX.length()
+                                && column.regionMatches(true, 0, SPEC_PREFIX, 0, SPEC_PREFIX.length())) {
+                            row.specifications.put(column.substring(SPEC_PREFIX.length()), value);
+                        }
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            return ProductImportRow.invalid(recordLine, "Invalid number: " + e.getMessage());
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static List<Long> parseIds(String value) {
+        List<Long> ids = new ArrayList<>();
+        for (String part : value.split(";")) {
+            if (!part.isBlank()) {
+                ids.add(Long.valueOf(part.trim()));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reads one record, which may span several lines when a quoted field
+     * contains line breaks. Returns null at end of input.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = ++lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    break;
+                } else if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
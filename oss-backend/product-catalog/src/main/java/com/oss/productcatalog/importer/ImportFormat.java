@@ -0,0 +1,25 @@
+package com.oss.productcatalog.importer;
+
+import java.util.Locale;
+
+import com.oss.productcatalog.exception.BadRequestException;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /** Resolves an explicit format name, a media type or a file name. */
+    public static ImportFormat detect(String hint) {
+        if (hint != null) {
+            String value = hint.toLowerCase(Locale.ROOT);
+            if (value.equals("csv") || value.endsWith(".csv") || value.startsWith("text/csv")) {
+                return CSV;
+            }
+            if (value.equals("ndjson") || value.endsWith(".ndjson") || value.endsWith(".jsonl")
+                    || value.startsWith("application/x-ndjson")) {
+                return NDJSON;
+            }
+        }
+        throw new BadRequestException("Cannot tell the import format from '" + hint + "'; use csv or ndjson");
+    }
+}
@@ -0,0 +1,103 @@
+package com.oss.productcatalog.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads one JSON object per line with the fields of ProductRequest plus
+ * {@code currency} and {@code active}; the export format of
+ * {@code /api/products/export} is accepted as well (its extra fields are ignored).
+ */
+final class NdjsonProductRowReader implements ProductRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber = 0;
+
+    NdjsonProductRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(reader, 64 * 1024);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return ProductImportRow.invalid(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ProductImportRow.invalid(lineNumber, "Expected a JSON object");
+        }
+
+        ProductImportRow row = new ProductImportRow(lineNumber);
+        row.sku = text(node, "sku");
+        row.name = text(node, "name");
+        row.brand = text(node, "brand");
+        row.description = text(node, "description");
+        row.currency = text(node, "currency");
+        try {
+            if (hasValue(node, "price")) {
+                row.price = new BigDecimal(node.get("price").asText());
+            }
+            if (hasValue(node, "stock")) {
+                row.stock = Integer.valueOf(node.get("stock").asText());
+            }
+            if (hasValue(node, "active")) {
+                row.active = node.get("active").asBoolean();
+            }
+            if (node.path("specifications").isObject()) {
+                Iterator<Map.Entry<String, JsonNode>> specs = node.get("specifications").fields();
+                while (specs.hasNext()) {
+                    Map.Entry<String, JsonNode> spec = specs.next();
+                    if (!spec.getValue().isNull()) {
+                        row.specifications.put(spec.getKey(), spec.getValue().asText());
+                    }
+                }
+            }
+            if (node.path("categoryIds").isArray()) {
+                List<Long> ids = new ArrayList<>();
+                for (JsonNode id : node.get("categoryIds")) {
+                    ids.add(Long.valueOf(id.asText()));
+                }
+                row.categoryIds = ids;
+            }
+        } catch (NumberFormatException e) {
+            return ProductImportRow.invalid(lineNumber, "Invalid number: " + e.getMessage());
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static boolean hasValue(JsonNode node, String field) {
+        return node.hasNonNull(field) && !node.get(field).asText().isBlank();
+    }
+
+    private static String text(JsonNode node, String field) {
+        return hasValue(node, field) ? node.get(field).asText().trim() : null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.oss.productcatalog.importer;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One parsed input record. Readers never throw for bad data: a record that
+ * cannot be parsed is returned with {@link #error} set and is reported in the
+ * error file.
+ */
+final class ProductImportRow {
+
+    final long lineNumber;
+    String sku;
+    String name;
+    String brand;
+    String description;
+    BigDecimal price;
+    String currency;
+    Integer stock;
+    Boolean active;
+    Map<String, String> specifications = new LinkedHashMap<>();
+    List<Long> categoryIds = List.of();
+    String error;
+
+    ProductImportRow(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    static ProductImportRow invalid(long lineNumber, String error) {
+        ProductImportRow row = new ProductImportRow(lineNumber);
+        row.error = error;
+        return row;
+    }
+}
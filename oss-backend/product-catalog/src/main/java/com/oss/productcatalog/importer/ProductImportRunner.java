@@ -0,0 +1,58 @@
+package com.oss.productcatalog.importer;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import com.oss.productcatalog.dto.ProductImportResponse;
+
+/**
+ * Command-line bulk import, e.g.
+ * {@code java -jar product-catalog.jar --import-file=products.csv --import-exit
+ * --spring.main.web-application-type=none}. The format comes from the file
+ * extension unless {@code --import-format=csv|ndjson} is given. With
+ * {@code --import-exit} the process exits after importing, with status 1 if
+ * any row was rejected.
+ */
+@Component
+public class ProductImportRunner implements ApplicationRunner {
+
+    private final ProductImporter importer;
+    private final ApplicationContext context;
+
+    public ProductImportRunner(ProductImporter importer, ApplicationContext context) {
+        this.importer = importer;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> files = args.getOptionValues("import-file");
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+        List<String> formats = args.getOptionValues("import-format");
+        long failed = 0;
+        for (String file : files) {
+            ImportFormat format = ImportFormat.detect(formats != null && !formats.isEmpty() ? formats.get(0) : file);
+            try (InputStream in = Files.newInputStream(Path.of(file))) {
+                ProductImportResponse result = importer.importProducts(in, format, file);
+                failed += result.getFailed();
+                if (result.getErrorFile() != null) {
+                    System.err.println("Rejected rows from " + file + " written to " + result.getErrorFile());
+                }
+            }
+        }
+        if (args.containsOption("import-exit")) {
+            int status = failed > 0 ? 1 : 0;
+            System.exit(SpringApplication.exit(context, () -> status));
+        }
+    }
+}
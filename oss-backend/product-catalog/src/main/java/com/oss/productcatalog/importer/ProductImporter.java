@@ -0,0 +1,413 @@
+package com.oss.productcatalog.importer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oss.productcatalog.dto.ProductImportResponse;
+import com.oss.productcatalog.event.ProductsImportedEvent;
+import com.oss.productcatalog.model.InventoryChangeReason;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.service.CategoryTree;
+import com.oss.productcatalog.service.CategoryTreeCache;
+
+/**
+ * Bulk upsert of products by SKU from CSV or NDJSON.
+ *
+ * <p>The input is streamed and written in batches with plain JDBC: one query
+ * to find which SKUs exist, batched INSERTs and UPDATEs for the products, and
+ * batched replacement of their specifications and category links. Hibernate
+ * cannot batch these inserts because Product uses IDENTITY ids. With
+ * {@code rewriteBatchedStatements=true} the MySQL driver sends each batch as
+ * a multi-row statement.
+ *
+ * <p>Each batch commits on its own. If a batch fails, its rows are retried
+ * one by one so that a single bad row only rejects itself. Rejected rows are
+ * written to an error file. Every imported row is authoritative: it replaces
+ * the product's fields, specifications and categories. Stock differences
+ * are appended to the inventory ledger, and category product counts are
+ * adjusted for the links that changed, in the same transaction as the batch.
+ * Products in hot stock mode, or with a lease not yet closed, are rejected:
+ * part of their stock sits in leases the stock column does not show.
+ */
+@Component
+public class ProductImporter {
+
+    private static final String DEFAULT_CURRENCY = "INR";
+    private static final int MAX_SKU_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 4000;
+    private static final DateTimeFormatter ERROR_FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final CategoryTreeCache categoryTreeCache;
+
+    @Value("${catalog.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${catalog.import.error-dir:./data/import-errors}")
+    private Path errorDir;
+
+    public ProductImporter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           ObjectMapper objectMapper,
+                           CategoryTreeCache categoryTreeCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.categoryTreeCache = categoryTreeCache;
+    }
+
+    public ProductImportResponse importProducts(InputStream input, ImportFormat format, String source) throws IOException {
+        long started = System.currentTimeMillis();
+        Set<Long> categoryIds = new HashSet<>(jdbcTemplate.queryForList("select id from categories", Long.class));
+        Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+
+        try (ProductRowReader rows = format == ImportFormat.CSV
+                ? new CsvProductRowReader(reader)
+                : new NdjsonProductRowReader(reader, objectMapper);
+             ImportRun run = new ImportRun()) {
+
+            Map<String, ProductImportRow> batch = new LinkedHashMap<>();
+            ProductImportRow row;
+            while ((row = rows.next()) != null) {
+                run.rowsRead++;
+                String error = row.error != null ? row.error : validate(row, categoryIds);
+                if (error != null) {
+                    run.reject(row, error);
+                    continue;
+                }
+                // A repeated SKU must see the earlier row written first
+                if (batch.size() >= batchSize || batch.containsKey(row.sku)) {
+                    write(new ArrayList<>(batch.values()), run);
+                    batch.clear();
+                }
+                batch.put(row.sku, row);
+            }
+            if (!batch.isEmpty()) {
+                write(new ArrayList<>(batch.values()), run);
+            }
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - started);
+            ProductImportResponse response = new ProductImportResponse();
+            response.setSource(source);
+            response.setRowsRead(run.rowsRead);
+            response.setInserted(run.inserted);
+            response.setUpdated(run.updated);
+            response.setFailed(run.failed);
+            response.setElapsedMs(elapsed);
+            response.setRowsPerSecond(run.rowsRead * 1000 / elapsed);
+            response.setErrorFile(run.errorFile != null ? run.errorFile.toString() : null);
+            System.out.println("Imported " + source + ": " + run.rowsRead + " rows (" + run.inserted + " inserted, "
+                    + run.updated + " updated, " + run.failed + " failed) in " + elapsed + " ms, "
+                    + response.getRowsPerSecond() + " rows/s");
+            return response;
+        }
+    }
+
+    private void write(List<ProductImportRow> rows, ImportRun run) throws IOException {
+        try {
+            List<ProductImportRow> leased = new ArrayList<>();
+            int[] counts = transactionTemplate.execute(status -> writeBatch(rows, leased));
+            run.inserted += counts[0];
+            run.updated += counts[1];
+            for (ProductImportRow row : leased) {
+                run.reject(row, "product is in hot stock mode or has open hot stock leases");
+            }
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                run.reject(rows.get(0), rootMessage(e));
+                return;
+            }
+            for (ProductImportRow row : rows) {
+                write(List.of(row), run);
+            }
+        }
+    }
+
+    /**
+     * Writes one batch; returns {inserted, updated}. Rows of products with
+     * leased stock are skipped and added to leased: the imported stock would
+     * replace the units left in the row, and closing the lease would then
+     * hand its unsold units back on top.
+     */
+    private int[] writeBatch(List<ProductImportRow> batch, List<ProductImportRow> leased) {
+        List<String> skus = batch.stream().map(row -> row.sku).toList();
+        Map<String, Integer> previousStock = new HashMap<>();
+        Map<String, Long> existing = findIdsBySku(skus, previousStock);
+
+        Set<String> leasedSkus = findLeasedSkus(existing.values());
+        List<ProductImportRow> rows = new ArrayList<>();
+        for (ProductImportRow row : batch) {
+            (leasedSkus.contains(row.sku) ? leased : rows).add(row);
+        }
+        if (rows.isEmpty()) {
+            return new int[] {0, 0};
+        }
+
+        Map<Long, Set<Long>> previousCategories = new HashMap<>();
+        List<ProductImportRow> inserts = new ArrayList<>();
+        List<ProductImportRow> updates = new ArrayList<>();
+        for (ProductImportRow row : rows) {
+            (existing.containsKey(row.sku) ? updates : inserts).add(row);
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into products (sku, name, brand, description, price, currency, stock,"
+                            + " availability_status, active) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    inserts, inserts.size(), (ps, row) -> {
+                        int i = bindProductColumns(ps, row);
+                        ps.setBoolean(i, row.active == null || row.active);
+                    });
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "update products set sku = ?, name = ?, brand = ?, description = ?, price = ?, currency = ?,"
+                            + " stock = ?, availability_status = ?, active = coalesce(?, active) where id = ?",
+                    updates, updates.size(), (ps, row) -> {
+                        int i = bindProductColumns(ps, row);
+                        ps.setObject(i++, row.active, Types.BOOLEAN);
+                        ps.setLong(i, existing.get(row.sku));
+                    });
+            List<Long> updatedIds = updates.stream().map(row -> existing.get(row.sku)).toList();
+            MapSqlParameterSource ids = new MapSqlParameterSource("ids", updatedIds);
+            namedJdbcTemplate.query("select product_id, category_id from product_categories where product_id in (:ids)",
+                    ids, rs -> {
+                        previousCategories.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+                    });
+            namedJdbcTemplate.update("delete from product_specs where product_id in (:ids)", ids);
+            namedJdbcTemplate.update("delete from product_categories where product_id in (:ids)", ids);
+        }
+
+        Map<String, Long> productIds = new HashMap<>(existing);
+        if (!inserts.isEmpty()) {
+            productIds.putAll(findIdsBySku(inserts.stream().map(row -> row.sku).toList(), null));
+            // Empty rating summaries, as createProduct writes, for reviews to lock
+            jdbcTemplate.batchUpdate("insert into product_rating_summaries (product_id, review_count, rating_sum,"
+                            + " one_star_count, two_star_count, three_star_count, four_star_count, five_star_count)"
+                            + " values (?, 0, 0, 0, 0, 0, 0, 0)",
+                    inserts.stream().map(row -> new Object[] {productIds.get(row.sku)}).toList());
+        }
+
+        List<Object[]> specs = new ArrayList<>();
+        List<Object[]> categories = new ArrayList<>();
+        for (ProductImportRow row : rows) {
+            Long productId = productIds.get(row.sku);
+            row.specifications.forEach((key, value) -> specs.add(new Object[] {productId, key, value}));
+            for (Long categoryId : new HashSet<>(row.categoryIds)) {
+                categories.add(new Object[] {productId, categoryId});
+            }
+        }
+        if (!specs.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into product_specs (product_id, spec_key, spec_value) values (?, ?, ?)", specs);
+        }
+        if (!categories.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into product_categories (product_id, category_id) values (?, ?)", categories);
+        }
+        adjustCategoryCounts(rows, productIds, previousCategories);
+
+        // The row's stock replaces the old value; the ledger gets the difference
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> stockChanges = new ArrayList<>();
+        for (ProductImportRow row : rows) {
+            int delta = row.stock - previousStock.getOrDefault(row.sku, 0);
+            if (delta != 0) {
+                stockChanges.add(new Object[] {productIds.get(row.sku), delta, InventoryChangeReason.IMPORT.name(), now});
+            }
+        }
+        if (!stockChanges.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "insert into inventory_changes (product_id, delta, reason, created_at) values (?, ?, ?, ?)",
+                    stockChanges);
+        }
+
+        eventPublisher.publishEvent(new ProductsImportedEvent(new ArrayList<>(productIds.values())));
+        return new int[] {inserts.size(), updates.size()};
+    }
+
+    /**
+     * A product counts once for every category it is linked to directly or
+     * through a descendant, so compare the ancestor closures of its old and
+     * new links. Rows are updated in id order, the order other writers lock
+     * category rows in.
+     */
+    private void adjustCategoryCounts(List<ProductImportRow> rows, Map<String, Long> productIds,
+                                      Map<Long, Set<Long>> previousCategories) {
+        CategoryTree tree = categoryTreeCache.get();
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (ProductImportRow row : rows) {
+            Set<Long> before = tree.withAncestors(previousCategories.getOrDefault(productIds.get(row.sku), Set.of()));
+            Set<Long> after = tree.withAncestors(row.categoryIds);
+            after.stream().filter(id -> !before.contains(id)).forEach(id -> deltas.merge(id, 1, Integer::sum));
+            before.stream().filter(id -> !after.contains(id)).forEach(id -> deltas.merge(id, -1, Integer::sum));
+        }
+        List<Object[]> updates = new ArrayList<>();
+        deltas.forEach((categoryId, delta) -> {
+            if (delta != 0) {
+                updates.add(new Object[] {delta, categoryId});
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("update categories set product_count = product_count + ? where id = ?", updates);
+        }
+    }
+
+    private static int bindProductColumns(PreparedStatement ps, ProductImportRow row) throws SQLException {
+        int i = 1;
+        ps.setString(i++, row.sku);
+        ps.setString(i++, row.name);
+        ps.setString(i++, row.brand);
+        ps.setString(i++, row.description);
+        ps.setBigDecimal(i++, row.price);
+        ps.setString(i++, row.currency != null ? row.currency : DEFAULT_CURRENCY);
+        ps.setInt(i++, row.stock);
+        ps.setString(i++, Product.availabilityFor(row.stock).name());
+        return i;
+    }
+
+    /**
+     * With stockBySku, also collects the current stock and locks the rows, so
+     * no concurrent sale lands between reading the stock and overwriting it.
+     */
+    private Map<String, Long> findIdsBySku(List<String> skus, Map<String, Integer> stockBySku) {
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query(stockBySku != null
+                        ? "select id, sku, stock from products where sku in (:skus) for update"
+                        : "select id, sku from products where sku in (:skus)",
+                new MapSqlParameterSource("skus", skus),
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                    if (stockBySku != null) {
+                        stockBySku.put(rs.getString(2), rs.getInt(3));
+                    }
+                });
+        return ids;
+    }
+
+    // Checked after findIdsBySku locked the rows, so no lease can take units from them until the batch commits
+    private Set<String> findLeasedSkus(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList(
+                "select p.sku from products p where p.id in (:ids) and (p.hot_stock = true or exists ("
+                        + "select 1 from hot_stock_leases l where l.product_id = p.id and l.status <> 'CLOSED'))",
+                new MapSqlParameterSource("ids", productIds), String.class));
+    }
+
+    private static String validate(ProductImportRow row, Set<Long> categoryIds) {
+        if (row.sku == null) {
+            return "sku is required";
+        }
+        if (row.sku.length() > MAX_SKU_LENGTH) {
+            return "sku is longer than " + MAX_SKU_LENGTH + " characters";
+        }
+        if (row.name == null) {
+            return "name is required";
+        }
+        if (row.brand == null) {
+            return "brand is required";
+        }
+        if (row.price == null || row.price.compareTo(BigDecimal.ZERO) < 0) {
+            return "price is required and must not be negative";
+        }
+        if (row.stock == null || row.stock < 0) {
+            return "stock is required and must not be negative";
+        }
+        if (row.description != null && row.description.length() > MAX_DESCRIPTION_LENGTH) {
+            return "description is longer than " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        for (Long categoryId : row.categoryIds) {
+            if (!categoryIds.contains(categoryId)) {
+                return "unknown category id " + categoryId;
+            }
+        }
+        return null;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    /** Counters and the lazily created error file of one import. */
+    private final class ImportRun implements AutoCloseable {
+
+        long rowsRead;
+        long inserted;
+        long updated;
+        long failed;
+        Path errorFile;
+        BufferedWriter errors;
+
+        void reject(ProductImportRow row, String error) throws IOException {
+            failed++;
+            if (errors == null) {
+                Files.createDirectories(errorDir);
+                errorFile = errorDir.resolve("product-import-" + LocalDateTime.now().format(ERROR_FILE_TIMESTAMP)
+                        + "-" + Long.toHexString(System.nanoTime()) + ".csv").toAbsolutePath();
+                errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8);
+                errors.write("line,sku,error");
+                errors.newLine();
+            }
+            errors.write(row.lineNumber + "," + csv(row.sku) + "," + csv(error));
+            errors.newLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (errors != null) {
+                errors.close();
+            }
+        }
+
+        private String csv(String value) {
+            if (value == null) {
+                return "";
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.oss.productcatalog.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+interface ProductRowReader extends Closeable {
+
+    // Null once the input is exhausted
+    ProductImportRow next() throws IOException;
+}
@@ -5,11 +5,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_parent", columnList = "parent_id")
+})
 @Data
 public class Category {
 
@@ -22,6 +25,15 @@ public class Category {
 
     private String description;
 
+    // Null for a top-level category
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Distinct products linked to this category or any descendant, kept up to
+    // date as links change; null until first counted
+    @Column(name = "product_count")
+    private Integer productCount;
+
 	public Long getId() {
 		return id;
 	}
@@ -45,4 +57,20 @@ public class Category {
 	public void setDescription(String description) {
 		this.description = description;
 	}
+
+	public Long getParentId() {
+		return parentId;
+	}
+
+	public void setParentId(Long parentId) {
+		this.parentId = parentId;
+	}
+
+	public Integer getProductCount() {
+		return productCount;
+	}
+
+	public void setProductCount(Integer productCount) {
+		this.productCount = productCount;
+	}
 }
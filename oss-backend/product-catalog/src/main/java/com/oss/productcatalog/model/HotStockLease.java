@@ -0,0 +1,133 @@
+package com.oss.productcatalog.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Units of a hot-stock product taken out of its stock row by one node and
+ * sold from memory. While the lease is open, units minus sold (plus any
+ * sales not yet flushed) are held by that node and in no stock column. The
+ * holder renews it on every flush; an open lease that stops being renewed
+ * is quarantined.
+ */
+@Entity
+@Table(name = "hot_stock_leases", indexes = {
+        @Index(name = "idx_hot_stock_leases_status_renewed", columnList = "status, renewed_at"),
+        @Index(name = "idx_hot_stock_leases_product_status", columnList = "product_id, status")
+})
+@Data
+public class HotStockLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false, length = 128)
+    private String node;
+
+    // Every unit leased, growing block by block, less units withdrawn for reservations
+    @Column(nullable = false)
+    private Integer units = 0;
+
+    // Sales flushed to the ledger so far
+    @Column(nullable = false)
+    private Integer sold = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private HotStockLeaseStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @Column(name = "renewed_at", nullable = false)
+    private LocalDateTime renewedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public Integer getUnits() {
+        return units;
+    }
+
+    public void setUnits(Integer units) {
+        this.units = units;
+    }
+
+    public Integer getSold() {
+        return sold;
+    }
+
+    public void setSold(Integer sold) {
+        this.sold = sold;
+    }
+
+    public HotStockLeaseStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HotStockLeaseStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    public LocalDateTime getRenewedAt() {
+        return renewedAt;
+    }
+
+    public void setRenewedAt(LocalDateTime renewedAt) {
+        this.renewedAt = renewedAt;
+    }
+}
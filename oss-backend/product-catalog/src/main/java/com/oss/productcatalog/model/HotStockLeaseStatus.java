@@ -0,0 +1,10 @@
+package com.oss.productcatalog.model;
+
+public enum HotStockLeaseStatus {
+    // held by a running node
+    OPEN,
+    // unsold units went back to the product
+    CLOSED,
+    // the owning node stopped without closing it; needs a reconcile
+    QUARANTINED
+}
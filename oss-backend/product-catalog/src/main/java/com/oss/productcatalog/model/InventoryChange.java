@@ -0,0 +1,109 @@
+package com.oss.productcatalog.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * One row of the append-only inventory ledger. Written in the transaction
+ * that changes the stock; the only later update is InventoryChangeSequencer
+ * stamping the sequence that serves as the change feed cursor.
+ */
+@Entity
+@Table(name = "inventory_changes", indexes = {
+        @Index(name = "idx_inventory_changes_product", columnList = "product_id, id"),
+        @Index(name = "idx_inventory_changes_sequence", columnList = "sequence_no", unique = true)
+})
+@Data
+public class InventoryChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // Signed: negative when units left the stock
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private InventoryChangeReason reason;
+
+    @Column(name = "order_ref")
+    private String orderRef;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Null until the row is committed and picked up by InventoryChangeSequencer
+    @Column(name = "sequence_no")
+    private Long sequence;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+
+    public InventoryChangeReason getReason() {
+        return reason;
+    }
+
+    public void setReason(InventoryChangeReason reason) {
+        this.reason = reason;
+    }
+
+    public String getOrderRef() {
+        return orderRef;
+    }
+
+    public void setOrderRef(String orderRef) {
+        this.orderRef = orderRef;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+}
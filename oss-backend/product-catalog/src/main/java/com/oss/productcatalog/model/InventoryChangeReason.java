@@ -0,0 +1,15 @@
+package com.oss.productcatalog.model;
+
+public enum InventoryChangeReason {
+    // opening stock of a product created through the API
+    CREATED,
+    // direct decrement through /{id}/reduce-stock
+    SALE,
+    // sales of a hot-stock product, summed per flush of the in-memory counters
+    SALE_BATCH,
+    RESERVED,
+    RESERVATION_RELEASED,
+    RESERVATION_EXPIRED,
+    // bulk import overwrote the stock; delta is new minus old
+    IMPORT
+}
@@ -0,0 +1,42 @@
+package com.oss.productcatalog.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Single-row high-water mark of the inventory change feed: the last sequence
+ * handed out to a committed ledger row. Its row lock serializes sequencers
+ * across nodes. See InventoryChangeSequencer.
+ */
+@Entity
+@Table(name = "inventory_change_sequence")
+@Data
+public class InventoryChangeSequence {
+
+    public static final int HEAD_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+}
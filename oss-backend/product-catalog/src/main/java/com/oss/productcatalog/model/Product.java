@@ -20,6 +20,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.MapKeyColumn;
@@ -32,6 +33,17 @@ import lombok.Data;
 @Data
 public class Product {
 
+    // At or below this many units a product is shown as LOW_STOCK
+    public static final int LOW_STOCK_THRESHOLD = 5;
+
+    // Same thresholds as the stock updates in ProductRepository
+    public static AvailabilityStatus availabilityFor(int stock) {
+        if (stock <= 0) {
+            return AvailabilityStatus.OUT_OF_STOCK;
+        }
+        return stock <= LOW_STOCK_THRESHOLD ? AvailabilityStatus.LOW_STOCK : AvailabilityStatus.IN_STOCK;
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -57,7 +69,10 @@ public class Product {
     private AvailabilityStatus availabilityStatus;
 
     @ElementCollection
-    @CollectionTable(name = "product_specs", joinColumns = @JoinColumn(name = "product_id"))
+    // The key/value index serves ad-hoc SQL lookups by spec; search filters
+    // and facets run on the in-memory spec columns
+    @CollectionTable(name = "product_specs", joinColumns = @JoinColumn(name = "product_id"),
+            indexes = @Index(name = "idx_product_specs_key_value", columnList = "spec_key, spec_value"))
     @MapKeyColumn(name = "spec_key")
     @Column(name = "spec_value")
     private Map<String, String> specifications = new HashMap<>();
@@ -66,7 +81,8 @@ public class Product {
     @JoinTable(
         name = "product_categories",
         joinColumns = @JoinColumn(name = "product_id"),
-        inverseJoinColumns = @JoinColumn(name = "category_id")
+        inverseJoinColumns = @JoinColumn(name = "category_id"),
+        indexes = @Index(name = "idx_product_categories_category", columnList = "category_id, product_id")
     )
     private Set<Category> categories = new HashSet<>();
 
@@ -78,6 +94,10 @@ public class Product {
 
     private Boolean active = true;
 
+    // Flash-sale mode: sales run against in-memory counters fed from this row in blocks
+    @Column(name = "hot_stock")
+    private Boolean hotStock = false;
+
 	public Long getId() {
 		return id;
 	}
@@ -182,6 +202,14 @@ public class Product {
 		this.active = active;
 	}
 
+	public Boolean getHotStock() {
+		return hotStock;
+	}
+
+	public void setHotStock(Boolean hotStock) {
+		this.hotStock = hotStock;
+	}
+
 	public List<Review> getReviews() {
 		return reviews;
 	}
@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
@@ -13,7 +14,7 @@ import jakarta.persistence.Table;
 import lombok.Data;
 
 @Entity
-@Table(name = "product_images")
+@Table(name = "product_images", indexes = @Index(name = "idx_product_images_content_hash", columnList = "content_hash"))
 @Data
 public class ProductImage {
 
@@ -21,10 +22,19 @@ public class ProductImage {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Legacy inline bytes; new uploads go to the BlobStore and rows are moved
+    // there by ImageBlobMigrationJob, which clears this column
     @Lob
     @Column(columnDefinition = "LONGBLOB")
     private byte[] imageData;
 
+    // SHA-256 key of the bytes in the BlobStore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
     @Column(name = "content_type")
     private String contentType;
 
@@ -70,4 +80,20 @@ public class ProductImage {
     public Long getId() {
         return this.id;
     }
+
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getSizeBytes() {
+        return this.sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
 }
@@ -0,0 +1,97 @@
+package com.oss.productcatalog.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Views of a product, aggregated in memory and flushed in batches.
+ *
+ * The trending score is an exponentially decayed view count, stored as
+ * log2 of its value scaled to a fixed epoch. A view at time t adds
+ * 2^(t / half-life) to the scaled sum. Every product's score then decays at
+ * the same rate, so ordering by the stored log is ordering by the current
+ * decayed count, and no job ever has to rewrite old rows.
+ */
+@Entity
+@Table(name = "product_popularity", indexes = {
+        @Index(name = "idx_popularity_view_count", columnList = "view_count"),
+        @Index(name = "idx_popularity_trending", columnList = "trending_log")
+})
+@Data
+public class ProductPopularity {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "trending_log", nullable = false)
+    private double trendingLog;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ProductPopularity() {
+    }
+
+    public ProductPopularity(Long productId) {
+        this.productId = productId;
+    }
+
+    /**
+     * Counts views seen at {@code halfLives}, the time since the epoch in
+     * trending half-lives.
+     */
+    public void addViews(long views, double halfLives) {
+        double added = Math.log(views) / Math.log(2) + halfLives;
+        if (viewCount == 0) {
+            trendingLog = added;
+        } else {
+            // log2(2^a + 2^b) without leaving log space
+            double high = Math.max(trendingLog, added);
+            double low = Math.min(trendingLog, added);
+            trendingLog = high + Math.log1p(Math.pow(2, low - high)) / Math.log(2);
+        }
+        viewCount += views;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(long viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public double getTrendingLog() {
+        return trendingLog;
+    }
+
+    public void setTrendingLog(double trendingLog) {
+        this.trendingLog = trendingLog;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
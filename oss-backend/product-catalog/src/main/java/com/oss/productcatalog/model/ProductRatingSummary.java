@@ -0,0 +1,154 @@
+package com.oss.productcatalog.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Materialized review aggregate for a product. Maintained incrementally on
+ * review creation and periodically rebuilt from the reviews table.
+ */
+@Entity
+@Table(name = "product_rating_summaries", indexes = {
+        @Index(name = "idx_rating_summaries_review_count", columnList = "review_count")
+})
+@Data
+public class ProductRatingSummary {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "one_star_count", nullable = false)
+    private long oneStarCount;
+
+    @Column(name = "two_star_count", nullable = false)
+    private long twoStarCount;
+
+    @Column(name = "three_star_count", nullable = false)
+    private long threeStarCount;
+
+    @Column(name = "four_star_count", nullable = false)
+    private long fourStarCount;
+
+    @Column(name = "five_star_count", nullable = false)
+    private long fiveStarCount;
+
+    public ProductRatingSummary() {
+    }
+
+    public ProductRatingSummary(Long productId) {
+        this.productId = productId;
+    }
+
+    public void addRating(int rating, long count) {
+        reviewCount += count;
+        ratingSum += (long) rating * count;
+        switch (rating) {
+            case 1 -> oneStarCount += count;
+            case 2 -> twoStarCount += count;
+            case 3 -> threeStarCount += count;
+            case 4 -> fourStarCount += count;
+            case 5 -> fiveStarCount += count;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+    }
+
+    public void reset() {
+        reviewCount = 0;
+        ratingSum = 0;
+        oneStarCount = 0;
+        twoStarCount = 0;
+        threeStarCount = 0;
+        fourStarCount = 0;
+        fiveStarCount = 0;
+    }
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+
+    public long getStarCount(int rating) {
+        return switch (rating) {
+            case 1 -> oneStarCount;
+            case 2 -> twoStarCount;
+            case 3 -> threeStarCount;
+            case 4 -> fourStarCount;
+            case 5 -> fiveStarCount;
+            default -> 0;
+        };
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public long getOneStarCount() {
+        return oneStarCount;
+    }
+
+    public void setOneStarCount(long oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+
+    public long getTwoStarCount() {
+        return twoStarCount;
+    }
+
+    public void setTwoStarCount(long twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+
+    public long getThreeStarCount() {
+        return threeStarCount;
+    }
+
+    public void setThreeStarCount(long threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+
+    public long getFourStarCount() {
+        return fourStarCount;
+    }
+
+    public void setFourStarCount(long fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+
+    public long getFiveStarCount() {
+        return fiveStarCount;
+    }
+
+    public void setFiveStarCount(long fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+}
@@ -0,0 +1,42 @@
+package com.oss.productcatalog.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Last heartbeat each node wrote to the primary. Reading a node's own row
+ * back from the read replica tells it how far the replica lags behind, with
+ * both timestamps taken from the same clock. See ReplicaLagMonitor.
+ */
+@Entity
+@Table(name = "replication_heartbeats")
+@Data
+public class ReplicationHeartbeat {
+
+    @Id
+    @Column(name = "node", length = 100)
+    private String node;
+
+    // Epoch millis on the writing node's clock
+    @Column(name = "beat_at", nullable = false)
+    private long beatAt;
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public long getBeatAt() {
+        return beatAt;
+    }
+
+    public void setBeatAt(long beatAt) {
+        this.beatAt = beatAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.oss.productcatalog.model;
+
+public enum ReservationStatus {
+    PENDING,
+    COMMITTED,
+    RELEASED,
+    EXPIRED,
+    // never persisted: returned when a reservation request could not be satisfied
+    REJECTED
+}
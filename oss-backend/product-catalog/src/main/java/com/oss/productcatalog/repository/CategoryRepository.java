@@ -1,12 +1,36 @@
 package com.oss.productcatalog.repository;
 
 import com.oss.productcatalog.model.Category;
+
+import jakarta.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Optional<Category> findByName(String name);
-}
 
+    // Locks the whole (small) table: moves and recounts must see a stable tree
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Category c order by c.id")
+    List<Category> findAllForUpdate();
+
+    // Rows are [id, productCount]
+    @Query("select c.id, c.productCount from Category c")
+    List<Object[]> findProductCounts();
+
+    @Query("select count(c) from Category c where c.productCount is null")
+    long countUncounted();
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Category c set c.productCount = c.productCount + :delta where c.id in :categoryIds")
+    int adjustProductCount(@Param("categoryIds") Collection<Long> categoryIds, @Param("delta") int delta);
+}
@@ -0,0 +1,55 @@
+package com.oss.productcatalog.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oss.productcatalog.model.HotStockLease;
+import com.oss.productcatalog.model.HotStockLeaseStatus;
+
+import jakarta.persistence.LockModeType;
+
+public interface HotStockLeaseRepository extends JpaRepository<HotStockLease, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from HotStockLease l where l.id = :id")
+    Optional<HotStockLease> findByIdForUpdate(@Param("id") Long id);
+
+    List<HotStockLease> findByStatusOrderByIdDesc(HotStockLeaseStatus status);
+
+    // Relative updates, so the counters never overwrite the row with a stale total
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update HotStockLease l set l.units = l.units + :units where l.id = :id")
+    int addUnits(@Param("id") Long id, @Param("units") int units);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update HotStockLease l set l.sold = l.sold + :sold where l.id = :id")
+    int addSold(@Param("id") Long id, @Param("sold") int sold);
+
+    // 0 once the lease is no longer open, i.e. it was quarantined while this node still held it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update HotStockLease l set l.renewedAt = :renewedAt where l.id = :id"
+            + " and l.status = com.oss.productcatalog.model.HotStockLeaseStatus.OPEN")
+    int renew(@Param("id") Long id, @Param("renewedAt") LocalDateTime renewedAt);
+
+    // Rows are [productId, leaseId, units held as of the last flush], one per open lease
+    @Query("select l.productId, l.id, l.units - l.sold from HotStockLease l where l.productId in :productIds"
+            + " and l.status = com.oss.productcatalog.model.HotStockLeaseStatus.OPEN")
+    List<Object[]> findOpenUnitsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select distinct l.productId from HotStockLease l"
+            + " where l.status = com.oss.productcatalog.model.HotStockLeaseStatus.OPEN and l.renewedAt < :expiredBefore")
+    List<Long> findExpiredProductIds(@Param("expiredBefore") LocalDateTime expiredBefore);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update HotStockLease l set l.status = com.oss.productcatalog.model.HotStockLeaseStatus.QUARANTINED"
+            + " where l.status = com.oss.productcatalog.model.HotStockLeaseStatus.OPEN and l.renewedAt < :expiredBefore")
+    int quarantineExpired(@Param("expiredBefore") LocalDateTime expiredBefore);
+}
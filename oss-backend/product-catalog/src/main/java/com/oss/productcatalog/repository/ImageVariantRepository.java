@@ -0,0 +1,14 @@
+package com.oss.productcatalog.repository;
+
+import com.oss.productcatalog.model.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+
+    Optional<ImageVariant> findByImageIdAndWidth(Long imageId, Integer width);
+
+    List<ImageVariant> findByImageId(Long imageId);
+}
@@ -0,0 +1,21 @@
+package com.oss.productcatalog.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oss.productcatalog.model.InventoryChange;
+
+public interface InventoryChangeRepository extends JpaRepository<InventoryChange, Long> {
+
+    // Range scan of the unique sequence index; unsequenced rows are left for the next poll
+    @Query("select c from InventoryChange c where c.sequence > :afterSequence order by c.sequence")
+    List<InventoryChange> findChangesAfter(@Param("afterSequence") Long afterSequence, Pageable pageable);
+
+    // Plain (non-locking) read so writers appending to the ledger are never blocked by the sequencer
+    @Query("select c.id from InventoryChange c where c.sequence is null order by c.id")
+    List<Long> findUnsequencedIds(Pageable pageable);
+}
@@ -0,0 +1,25 @@
+package com.oss.productcatalog.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oss.productcatalog.model.InventoryChangeSequence;
+
+import jakarta.persistence.LockModeType;
+
+public interface InventoryChangeSequenceRepository extends JpaRepository<InventoryChangeSequence, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from InventoryChangeSequence s where s.id = :id")
+    Optional<InventoryChangeSequence> findByIdForUpdate(@Param("id") Integer id);
+
+    // A plain insert, unlike save(), which would reset a head inserted concurrently
+    @Modifying
+    @Query(value = "insert into inventory_change_sequence (id, last_sequence) values (:id, 0)", nativeQuery = true)
+    void insertHead(@Param("id") Integer id);
+}
@@ -1,11 +1,34 @@
 package com.oss.productcatalog.repository;
 
 import com.oss.productcatalog.model.ProductImage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductImageRepository extends JpaRepository<ProductImage, Long> {
 
     List<ProductImage> findByProductId(Long productId);
-}
\ No newline at end of file
+
+    // Rows are [productId, imageId, imageUrl, variantWidth], one per generated variant
+    // (variantWidth is null for images without variants); never touches the image bytes
+    @Query("select i.product.id, i.id, i.imageUrl, v.width from ProductImage i"
+            + " left join ImageVariant v on v.imageId = i.id"
+            + " where i.product.id in :productIds order by i.id, v.width")
+    List<Object[]> findImageRefsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // Stored images that have no variants yet, keyset-paged by id
+    @Query("select i.id from ProductImage i where (i.contentHash is not null or i.imageData is not null)"
+            + " and i.id > :afterId"
+            + " and not exists (select v.id from ImageVariant v where v.imageId = i.id)"
+            + " order by i.id")
+    List<Long> findIdsWithoutVariantsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Images still holding their bytes in the legacy LONGBLOB column, keyset-paged by id
+    @Query("select i.id from ProductImage i where i.contentHash is null and i.imageData is not null"
+            + " and i.id > :afterId order by i.id")
+    List<Long> findLegacyImageIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
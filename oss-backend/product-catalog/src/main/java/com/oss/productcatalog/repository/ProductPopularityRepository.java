@@ -0,0 +1,31 @@
+package com.oss.productcatalog.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oss.productcatalog.model.ProductPopularity;
+
+import jakarta.persistence.LockModeType;
+
+public interface ProductPopularityRepository extends JpaRepository<ProductPopularity, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from ProductPopularity p where p.productId in :productIds")
+    List<ProductPopularity> findAllByIdForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select p.productId from ProductPopularity p order by p.viewCount desc, p.productId")
+    List<Long> findMostViewedIds(Pageable pageable);
+
+    @Query("select p.productId from ProductPopularity p order by p.trendingLog desc, p.productId")
+    List<Long> findTrendingIds(Pageable pageable);
+
+    // Each row is [productId, trendingLog]
+    @Query("select p.productId, p.trendingLog from ProductPopularity p where p.productId > :afterId order by p.productId")
+    List<Object[]> findTrendingLogsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
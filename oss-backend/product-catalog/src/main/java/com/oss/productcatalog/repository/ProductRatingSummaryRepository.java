@@ -0,0 +1,37 @@
+package com.oss.productcatalog.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oss.productcatalog.model.ProductRatingSummary;
+
+import jakarta.persistence.LockModeType;
+
+public interface ProductRatingSummaryRepository extends JpaRepository<ProductRatingSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductRatingSummary s where s.productId = :productId")
+    Optional<ProductRatingSummary> findByIdForUpdate(@Param("productId") Long productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductRatingSummary s where s.productId in :productIds")
+    List<ProductRatingSummary> findAllByIdForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    // A plain insert, unlike save(), which would overwrite a row inserted concurrently
+    @Modifying
+    @Query(value = "insert into product_rating_summaries (product_id, review_count, rating_sum, one_star_count, "
+            + "two_star_count, three_star_count, four_star_count, five_star_count) "
+            + "values (:productId, 0, 0, 0, 0, 0, 0, 0)", nativeQuery = true)
+    void insertEmpty(@Param("productId") Long productId);
+
+    @Query("select s.productId from ProductRatingSummary s where s.reviewCount > 0 order by s.reviewCount desc, s.productId")
+    List<Long> findMostReviewedIds(Pageable pageable);
+}
@@ -1,12 +1,129 @@
 package com.oss.productcatalog.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.oss.productcatalog.model.Product;
 
+import jakarta.persistence.QueryHint;
+
 public interface ProductRepository extends JpaRepository<Product, Long> {
     Optional<Product> findBySku(String sku);
-}
 
+    // Units held in open hot-stock leases of p, which count as available though they are off the stock column
+    String LEASED_UNITS = "coalesce((select sum(l.units - l.sold) from HotStockLease l where l.productId = p.id"
+            + " and l.status = com.oss.productcatalog.model.HotStockLeaseStatus.OPEN), 0)";
+
+    /**
+     * Takes quantity units in one conditional UPDATE, so concurrent callers
+     * cannot both pass the stock check. Availability is recomputed from the
+     * pre-update stock plus leased units; it is assigned first because MySQL
+     * evaluates SET clauses left to right. Returns 0 when the product is
+     * missing or short.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set"
+            + " p.availabilityStatus = case"
+            + "   when p.stock - :quantity + " + LEASED_UNITS + " <= 0 then com.oss.productcatalog.model.AvailabilityStatus.OUT_OF_STOCK"
+            + "   when p.stock - :quantity + " + LEASED_UNITS + " <= :lowStockThreshold then com.oss.productcatalog.model.AvailabilityStatus.LOW_STOCK"
+            + "   else com.oss.productcatalog.model.AvailabilityStatus.IN_STOCK end,"
+            + " p.stock = p.stock - :quantity"
+            + " where p.id = :productId and p.stock >= :quantity")
+    int decrementStock(@Param("productId") Long productId,
+                       @Param("quantity") int quantity,
+                       @Param("lowStockThreshold") int lowStockThreshold);
+
+    // Returns released or cancelled units; same availability rules as decrementStock
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set"
+            + " p.availabilityStatus = case"
+            + "   when p.stock + :quantity + " + LEASED_UNITS + " <= 0 then com.oss.productcatalog.model.AvailabilityStatus.OUT_OF_STOCK"
+            + "   when p.stock + :quantity + " + LEASED_UNITS + " <= :lowStockThreshold then com.oss.productcatalog.model.AvailabilityStatus.LOW_STOCK"
+            + "   else com.oss.productcatalog.model.AvailabilityStatus.IN_STOCK end,"
+            + " p.stock = p.stock + :quantity"
+            + " where p.id = :productId")
+    int incrementStock(@Param("productId") Long productId,
+                       @Param("quantity") int quantity,
+                       @Param("lowStockThreshold") int lowStockThreshold);
+
+    // Recomputes availability after units move between the stock column and hot-stock leases
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set"
+            + " p.availabilityStatus = case"
+            + "   when p.stock + " + LEASED_UNITS + " <= 0 then com.oss.productcatalog.model.AvailabilityStatus.OUT_OF_STOCK"
+            + "   when p.stock + " + LEASED_UNITS + " <= :lowStockThreshold then com.oss.productcatalog.model.AvailabilityStatus.LOW_STOCK"
+            + "   else com.oss.productcatalog.model.AvailabilityStatus.IN_STOCK end"
+            + " where p.id = :productId")
+    int refreshAvailability(@Param("productId") Long productId,
+                            @Param("lowStockThreshold") int lowStockThreshold);
+
+    // Rows are [id, sku, name, price, currency, stock, availabilityStatus, active]
+    @Query("select p.id, p.sku, p.name, p.price, p.currency, p.stock, p.availabilityStatus, p.active"
+            + " from Product p where p.id in :productIds")
+    List<Object[]> findSummariesByIds(@Param("productIds") Collection<Long> productIds);
+
+    // Rows are [productId, stock]
+    @Query("select p.id, p.stock from Product p where p.id in :productIds")
+    List<Object[]> findStockByIds(@Param("productIds") Collection<Long> productIds);
+
+    // Rows are [productId, availabilityStatus]
+    @Query("select p.id, p.availabilityStatus from Product p where p.id in :productIds")
+    List<Object[]> findAvailabilityByIds(@Param("productIds") Collection<Long> productIds);
+
+    // Rows are [stock, availabilityStatus]; at most one row
+    @Query("select p.stock, p.availabilityStatus from Product p where p.id = :productId")
+    List<Object[]> findStockStateById(@Param("productId") Long productId);
+
+    /**
+     * Streams every product in id order from a server-side cursor rather than
+     * materializing the result (MySQL needs useCursorFetch=true for the fetch
+     * size to take effect). Must be consumed inside a transaction and closed.
+     */
+    @Query("select p from Product p order by p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Product> streamAllOrderById();
+
+    // Rows are [id, name, brand, reviewCount, ratingSum] of active products; the
+    // counts are null for products without a rating summary
+    @Query("select p.id, p.name, p.brand, s.reviewCount, s.ratingSum from Product p"
+            + " left join ProductRatingSummary s on s.productId = p.id"
+            + " where p.id > :afterId and (p.active is null or p.active = true) order by p.id")
+    List<Object[]> findSuggestionRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select p.id from Product p where p.hotStock = true")
+    List<Long> findHotStockIds();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Product p set p.hotStock = :hotStock where p.id = :productId")
+    int updateHotStock(@Param("productId") Long productId, @Param("hotStock") boolean hotStock);
+
+    @Query("select p.id from Product p where p.id > :afterId order by p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Bulk association lookups used when assembling listings; each row is [productId, ...]
+    @Query("select p.id, c.name from Product p join p.categories c where p.id in :productIds")
+    List<Object[]> findCategoryNamesByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // Served from the (category_id, product_id) index of product_categories
+    @Query("select distinct p.id from Product p join p.categories c where c.id in :categoryIds order by p.id")
+    List<Long> findIdsInCategories(@Param("categoryIds") Collection<Long> categoryIds, Pageable pageable);
+
+    @Query("select count(distinct p.id) from Product p join p.categories c where c.id in :categoryIds")
+    long countInCategories(@Param("categoryIds") Collection<Long> categoryIds);
+
+    @Query("select p.id, c.id from Product p join p.categories c where p.id in :productIds")
+    List<Object[]> findCategoryIdsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select p.id, key(s), value(s) from Product p join p.specifications s where p.id in :productIds")
+    List<Object[]> findSpecificationsByProductIds(@Param("productIds") Collection<Long> productIds);
+}
@@ -1,9 +1,14 @@
 package com.oss.productcatalog.repository;
 
 import com.oss.productcatalog.model.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,5 +16,40 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByProductIdOrderByCreatedAtDesc(Long productId);
     List<Review> findByProductIdAndRatingOrderByCreatedAtDesc(Long productId, Integer rating);
     Long countByProductId(Long productId);
-}
 
+    /**
+     * First page of the keyset feed over (createdAt desc, id desc), read
+     * backwards along the (product_id, created_at, id) index.
+     */
+    @Query("select r from Review r where r.product.id = :productId"
+            + " and (:rating is null or r.rating = :rating)"
+            + " and (:verified is null or r.verifiedPurchase = :verified)"
+            + " order by r.createdAt desc, r.id desc")
+    List<Review> findFirstPage(@Param("productId") Long productId,
+                               @Param("rating") Integer rating,
+                               @Param("verified") Boolean verified,
+                               Pageable pageable);
+
+    /**
+     * Page after a cursor. The cursor is always bound, and the leading
+     * createdAt bound lets MySQL seek into the index at the cursor; with a
+     * nullable cursor test in the predicate it scanned the product's whole
+     * index range instead.
+     */
+    @Query("select r from Review r where r.product.id = :productId"
+            + " and (:rating is null or r.rating = :rating)"
+            + " and (:verified is null or r.verifiedPurchase = :verified)"
+            + " and r.createdAt <= :afterCreatedAt"
+            + " and (r.createdAt < :afterCreatedAt or r.id < :afterId)"
+            + " order by r.createdAt desc, r.id desc")
+    List<Review> findPageAfter(@Param("productId") Long productId,
+                               @Param("rating") Integer rating,
+                               @Param("verified") Boolean verified,
+                               @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    // Rows are [productId, rating, reviewCount]; source of truth for rebuilding rating summaries
+    @Query("select r.product.id, r.rating, count(r) from Review r where r.product.id in :productIds group by r.product.id, r.rating")
+    List<Object[]> countRatingsByProductIds(@Param("productIds") Collection<Long> productIds);
+}
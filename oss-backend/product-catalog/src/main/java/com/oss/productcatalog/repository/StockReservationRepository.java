@@ -0,0 +1,38 @@
+package com.oss.productcatalog.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oss.productcatalog.model.ReservationStatus;
+import com.oss.productcatalog.model.StockReservation;
+
+import jakarta.persistence.LockModeType;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StockReservation r where r.id = :id")
+    Optional<StockReservation> findByIdForUpdate(@Param("id") String id);
+
+    @Query("select r.id from StockReservation r where r.status = :status and r.expiresAt < :now order by r.expiresAt")
+    List<String> findExpiredIds(@Param("status") ReservationStatus status,
+                                @Param("now") LocalDateTime now,
+                                Pageable pageable);
+
+    @Query("select r.id from StockReservation r where r.status = :status and r.id > :afterId order by r.id")
+    List<String> findIdsByStatusAfter(@Param("status") ReservationStatus status,
+                                      @Param("afterId") String afterId,
+                                      Pageable pageable);
+
+    // Each row is [reservationId, productId]
+    @Query("select i.reservation.id, i.productId from StockReservationItem i where i.reservation.id in :ids")
+    List<Object[]> findProductIdsByReservationIds(@Param("ids") Collection<String> ids);
+}
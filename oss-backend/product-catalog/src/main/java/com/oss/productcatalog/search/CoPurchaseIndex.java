@@ -0,0 +1,187 @@
+package com.oss.productcatalog.search;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * "Customers also bought" counts. For every product, the number of orders
+ * that contained it together with each other product is kept in a primitive
+ * open-addressing table, and the top neighbours by that count are kept
+ * alongside as a small sorted array. Counts only ever grow, so a product
+ * can only enter the top list through its own increment: adding an order
+ * updates the lists of the products in it and nothing else.
+ *
+ * Orders are added under the product's own lock; lookups read a published
+ * snapshot and never block.
+ */
+public class CoPurchaseIndex {
+
+    private final int topK;
+    private final ConcurrentHashMap<Long, Neighbours> products = new ConcurrentHashMap<>();
+    private final AtomicLong orders = new AtomicLong();
+
+    public CoPurchaseIndex(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be at least 1");
+        }
+        this.topK = topK;
+    }
+
+    /** Counts one order; the ids must be distinct. */
+    public void addOrder(long[] productIds) {
+        if (productIds.length < 2) {
+            return;
+        }
+        for (long productId : productIds) {
+            Neighbours neighbours = products.computeIfAbsent(productId, id -> new Neighbours());
+            synchronized (neighbours) {
+                for (long other : productIds) {
+                    if (other != productId) {
+                        neighbours.increment(other, topK);
+                    }
+                }
+            }
+        }
+        orders.incrementAndGet();
+    }
+
+    /** Up to limit products most often bought with the given one, most frequent first. */
+    public Related related(long productId, int limit) {
+        Neighbours neighbours = products.get(productId);
+        return neighbours != null ? neighbours.top.limit(limit) : Related.NONE;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public long orders() {
+        return orders.get();
+    }
+
+    /** Immutable top list: ids and their co-purchase counts, by count then id. */
+    public static final class Related {
+
+        static final Related NONE = new Related(new long[0], new int[0]);
+
+        private final long[] productIds;
+        private final int[] counts;
+
+        private Related(long[] productIds, int[] counts) {
+            this.productIds = productIds;
+            this.counts = counts;
+        }
+
+        public int size() {
+            return productIds.length;
+        }
+
+        public long productId(int i) {
+            return productIds[i];
+        }
+
+        public int count(int i) {
+            return counts[i];
+        }
+
+        Related limit(int limit) {
+            return limit >= productIds.length
+                    ? this
+                    : new Related(Arrays.copyOf(productIds, limit), Arrays.copyOf(counts, limit));
+        }
+    }
+
+    private static final class Neighbours {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        // Open addressing with linear probing; EMPTY marks a free slot
+        private long[] keys = newKeys(8);
+        private int[] values = new int[8];
+        private int size;
+        private volatile Related top = Related.NONE;
+
+        void increment(long productId, int topK) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                grow();
+            }
+            int slot = slot(keys, productId);
+            if (keys[slot] == EMPTY) {
+                keys[slot] = productId;
+                size++;
+            }
+            int count = ++values[slot];
+            promote(productId, count, topK);
+        }
+
+        // Moves the product up the top list (or into it) now that its count is one higher
+        private void promote(long productId, int count, int topK) {
+            Related current = top;
+            int n = current.productIds.length;
+            int at = -1;
+            for (int i = 0; i < n; i++) {
+                if (current.productIds[i] == productId) {
+                    at = i;
+                    break;
+                }
+            }
+            if (at < 0 && n == topK && !ranksBefore(productId, count, current.productIds[n - 1], current.counts[n - 1])) {
+                return;
+            }
+            int length = at < 0 ? Math.min(n + 1, topK) : n;
+            long[] ids = new long[length];
+            int[] counts = new int[length];
+            int from = at < 0 ? Math.min(n, length - 1) : at;
+            // Entries ranked above the new position keep their place
+            int insert = from;
+            while (insert > 0 && ranksBefore(productId, count, current.productIds[insert - 1], current.counts[insert - 1])) {
+                insert--;
+            }
+            System.arraycopy(current.productIds, 0, ids, 0, insert);
+            System.arraycopy(current.counts, 0, counts, 0, insert);
+            ids[insert] = productId;
+            counts[insert] = count;
+            System.arraycopy(current.productIds, insert, ids, insert + 1, from - insert);
+            System.arraycopy(current.counts, insert, counts, insert + 1, from - insert);
+            if (at >= 0) {
+                System.arraycopy(current.productIds, at + 1, ids, at + 1, n - at - 1);
+                System.arraycopy(current.counts, at + 1, counts, at + 1, n - at - 1);
+            }
+            top = new Related(ids, counts);
+        }
+
+        private static boolean ranksBefore(long id, int count, long otherId, int otherCount) {
+            return count > otherCount || (count == otherCount && id < otherId);
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
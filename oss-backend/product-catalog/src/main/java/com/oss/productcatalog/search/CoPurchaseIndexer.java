@@ -0,0 +1,141 @@
+package com.oss.productcatalog.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.event.ReservationCommittedEvent;
+import com.oss.productcatalog.model.ReservationStatus;
+import com.oss.productcatalog.repository.StockReservationRepository;
+
+/**
+ * Feeds the {@link CoPurchaseIndex} from committed stock reservations, the
+ * catalog's record of what was sold together. Each commit is added as it
+ * happens. A full build runs at startup and nightly into a fresh index that
+ * is swapped in when done, which also picks up orders committed on other
+ * nodes; lookups keep using the previous index meanwhile.
+ */
+@Component
+public class CoPurchaseIndexer {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final StockReservationRepository reservationRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int topK;
+    private final int maxOrderSize;
+
+    private volatile CoPurchaseIndex index;
+    // While a build runs, commits go into both indexes; the build skips the ones already added
+    private CoPurchaseIndex building;
+    private Set<String> addedDuringBuild;
+
+    public CoPurchaseIndexer(StockReservationRepository reservationRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${catalog.related.top-k:20}") int topK,
+                             @Value("${catalog.related.max-order-size:50}") int maxOrderSize) {
+        this.reservationRepository = reservationRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.topK = topK;
+        this.maxOrderSize = maxOrderSize;
+        this.index = new CoPurchaseIndex(topK);
+    }
+
+    public CoPurchaseIndex.Related related(long productId, int limit) {
+        return index.related(productId, Math.min(Math.max(limit, 1), topK));
+    }
+
+    public int maxLimit() {
+        return topK;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onReservationCommitted(ReservationCommittedEvent event) {
+        long[] productIds = toOrder(event.getProductIds());
+        if (productIds == null) {
+            return;
+        }
+        index.addOrder(productIds);
+        if (building != null && addedDuringBuild.add(event.getReservationId())) {
+            building.addOrder(productIds);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${catalog.related.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        CoPurchaseIndex fresh = new CoPurchaseIndex(topK);
+        synchronized (this) {
+            building = fresh;
+            addedDuringBuild = new HashSet<>();
+        }
+        try {
+            String lastId = "";
+            while (true) {
+                String afterId = lastId;
+                Map<String, List<Long>> orders = readOnlyTransaction.execute(status -> loadOrders(afterId));
+                if (orders.isEmpty()) {
+                    break;
+                }
+                synchronized (this) {
+                    orders.forEach((reservationId, productIds) -> {
+                        long[] order = toOrder(productIds);
+                        if (order != null && addedDuringBuild.add(reservationId)) {
+                            fresh.addOrder(order);
+                        }
+                    });
+                }
+                lastId = new ArrayList<>(orders.keySet()).get(orders.size() - 1);
+            }
+            synchronized (this) {
+                index = fresh;
+            }
+            System.out.println("Indexed co-purchases of " + fresh.orders() + " orders over " + fresh.size()
+                    + " products in " + (System.currentTimeMillis() - started) + " ms");
+        } catch (RuntimeException e) {
+            System.err.println("Co-purchase index build failed: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                building = null;
+                addedDuringBuild = null;
+            }
+        }
+    }
+
+    // Product ids of the next chunk of committed reservations, keyed in id order
+    private Map<String, List<Long>> loadOrders(String afterId) {
+        List<String> ids = reservationRepository.findIdsByStatusAfter(ReservationStatus.COMMITTED, afterId,
+                PageRequest.of(0, CHUNK_SIZE));
+        Map<String, List<Long>> orders = new LinkedHashMap<>();
+        ids.forEach(id -> orders.put(id, new ArrayList<>()));
+        if (!ids.isEmpty()) {
+            for (Object[] row : reservationRepository.findProductIdsByReservationIds(ids)) {
+                orders.get((String) row[0]).add((Long) row[1]);
+            }
+        }
+        return orders;
+    }
+
+    // Single-item orders pair nothing, and very large ones (restocking, B2B) mostly add noise
+    private long[] toOrder(List<Long> productIds) {
+        if (productIds.size() < 2 || productIds.size() > maxOrderSize) {
+            return null;
+        }
+        return productIds.stream().mapToLong(Long::longValue).distinct().toArray();
+    }
+}
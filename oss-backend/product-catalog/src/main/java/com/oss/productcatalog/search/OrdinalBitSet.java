@@ -0,0 +1,116 @@
+package com.oss.productcatalog.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable bitset over document ordinals. Unlike java.util.BitSet it can
+ * count an intersection without materializing it, which is what facet
+ * counting does for every facet value.
+ */
+class OrdinalBitSet {
+
+    private long[] words;
+
+    OrdinalBitSet() {
+        this(64);
+    }
+
+    OrdinalBitSet(int capacity) {
+        words = new long[Math.max(1, (capacity + 63) >>> 6)];
+    }
+
+    private OrdinalBitSet(long[] words) {
+        this.words = words;
+    }
+
+    void set(int ordinal) {
+        int word = ordinal >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(words.length * 2, word + 1));
+        }
+        words[word] |= 1L << ordinal;
+    }
+
+    void clear(int ordinal) {
+        int word = ordinal >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << ordinal);
+        }
+    }
+
+    boolean get(int ordinal) {
+        int word = ordinal >>> 6;
+        return word < words.length && (words[word] & (1L << ordinal)) != 0;
+    }
+
+    boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    OrdinalBitSet copy() {
+        return new OrdinalBitSet(words.clone());
+    }
+
+    /** In-place intersection; a null argument means "no constraint". */
+    OrdinalBitSet and(OrdinalBitSet other) {
+        if (other == null) {
+            return this;
+        }
+        int common = Math.min(words.length, other.words.length);
+        for (int i = 0; i < common; i++) {
+            words[i] &= other.words[i];
+        }
+        Arrays.fill(words, common, words.length, 0L);
+        return this;
+    }
+
+    OrdinalBitSet or(OrdinalBitSet other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    int andCardinality(OrdinalBitSet other) {
+        int common = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < common; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+
+    /** Next set ordinal at or after from, or -1. */
+    int nextSetBit(int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.oss.productcatalog.search;
+
+import java.util.Arrays;
+
+/**
+ * Postings for one term: document ordinals kept sorted, with the weighted
+ * term frequency for each. Backed by primitive arrays to keep a large
+ * catalog's index compact.
+ */
+class PostingList {
+
+    private int[] ordinals = new int[4];
+    private float[] frequencies = new float[4];
+    private int size;
+
+    void put(int ordinal, float frequency) {
+        int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (index >= 0) {
+            frequencies[index] = frequency;
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+        ordinals[insertAt] = ordinal;
+        frequencies[insertAt] = frequency;
+        size++;
+    }
+
+    void remove(int ordinal) {
+        int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+        System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+        size--;
+    }
+
+    // Position of the ordinal in this list, or a negative value when absent
+    int indexOf(int ordinal) {
+        return Arrays.binarySearch(ordinals, 0, size, ordinal);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int ordinalAt(int index) {
+        return ordinals[index];
+    }
+
+    float frequencyAt(int index) {
+        return frequencies[index];
+    }
+}
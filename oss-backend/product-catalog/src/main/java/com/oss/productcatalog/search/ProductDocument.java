@@ -0,0 +1,78 @@
+package com.oss.productcatalog.search;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+import com.oss.productcatalog.model.AvailabilityStatus;
+
+/**
+ * Immutable snapshot of the product fields the search index needs.
+ */
+public class ProductDocument {
+
+    private final Long id;
+    private final String name;
+    private final String brand;
+    private final String description;
+    private final Map<String, String> specifications;
+    private final BigDecimal price;
+    private final boolean active;
+    private final Set<Long> categoryIds;
+    private final AvailabilityStatus availabilityStatus;
+
+    public ProductDocument(Long id, String name, String brand, String description,
+                           Map<String, String> specifications, BigDecimal price, boolean active,
+                           Set<Long> categoryIds, AvailabilityStatus availabilityStatus) {
+        this.id = id;
+        this.name = name;
+        this.brand = brand;
+        this.description = description;
+        this.specifications = Map.copyOf(specifications);
+        this.price = price;
+        this.active = active;
+        this.categoryIds = Set.copyOf(categoryIds);
+        this.availabilityStatus = availabilityStatus;
+    }
+
+    public ProductDocument withAvailabilityStatus(AvailabilityStatus availabilityStatus) {
+        return new ProductDocument(id, name, brand, description, specifications, price, active,
+                categoryIds, availabilityStatus);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Map<String, String> getSpecifications() {
+        return specifications;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Set<Long> getCategoryIds() {
+        return categoryIds;
+    }
+
+    public AvailabilityStatus getAvailabilityStatus() {
+        return availabilityStatus;
+    }
+}
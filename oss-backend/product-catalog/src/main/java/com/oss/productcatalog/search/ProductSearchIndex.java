@@ -0,0 +1,625 @@
+package com.oss.productcatalog.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.oss.productcatalog.dto.FacetValue;
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.model.AvailabilityStatus;
+
+/**
+ * In-memory inverted index over product name, brand, description and spec
+ * values, ranked with BM25. Name and brand matches count more than body text
+ * by weighting their term frequencies. Documents get a dense ordinal so
+ * postings can be kept in sorted primitive arrays.
+ *
+ * Every filterable attribute (active flag, brand, category, availability,
+ * price bucket) also has one bitset per value over the ordinal space. Filters
+ * and facet counts are bitset intersections: each facet is counted against
+ * the matches for all filters except its own, so a selected brand does not
+ * hide the other brands.
+ *
+ * Specifications are stored column-wise instead: one dictionary-encoded
+ * {@link SpecColumn} per spec key, so filtering on RAM=16GB is a bitset
+ * lookup and a spec facet costs one pass over the matches, with no access
+ * to the product_specs table.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float NAME_WEIGHT = 3f;
+    private static final float BRAND_WEIGHT = 2f;
+    private static final float TEXT_WEIGHT = 1f;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Deepest hit a page may reach; every hit up to it is kept in the ranking heap
+    private static final int MAX_RESULT_WINDOW = 10_000;
+    private static final int MAX_FACET_VALUES = 20;
+    private static final List<String> SORT_FIELDS = List.of("relevance", "name", "price", "newest", "popularity");
+
+    public static final String BRAND_FACET = "brand";
+    public static final String CATEGORY_FACET = "category";
+    public static final String AVAILABILITY_FACET = "availability";
+    public static final String PRICE_FACET = "price";
+    // Followed by the lowercased spec key, e.g. "spec.ram"
+    public static final String SPEC_FACET_PREFIX = "spec.";
+    private static final int MAX_SPEC_FACETS = 10;
+
+    private static final class IndexedDoc {
+        final ProductDocument document;
+        final Map<String, Float> termFrequencies;
+        final float length;
+
+        IndexedDoc(ProductDocument document, Map<String, Float> termFrequencies, float length) {
+            this.document = document;
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+    }
+
+    private static final class Hit {
+        final int ordinal;
+        final float score;
+
+        Hit(int ordinal, float score) {
+            this.ordinal = ordinal;
+            this.score = score;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final List<IndexedDoc> docs = new ArrayList<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private int liveDocs;
+    private double totalLength;
+
+    private final OrdinalBitSet liveBits = new OrdinalBitSet();
+    private final OrdinalBitSet activeBits = new OrdinalBitSet();
+    private final Map<String, OrdinalBitSet> brandBits = new HashMap<>();
+    private final Map<String, String> brandLabels = new HashMap<>();
+    private final Map<Long, OrdinalBitSet> categoryBits = new HashMap<>();
+    private final Map<AvailabilityStatus, OrdinalBitSet> availabilityBits = new EnumMap<>(AvailabilityStatus.class);
+    private final Map<String, SpecColumn> specColumns = new HashMap<>();
+    private final List<BigDecimal> priceBoundaries;
+    private final OrdinalBitSet[] priceBucketBits;
+    // Trending log by product id (see ProductPopularity); kept across re-indexing
+    private final Map<Long, Double> popularity = new HashMap<>();
+
+    /**
+     * @param priceBoundaries ascending upper bounds of the price facet buckets;
+     *                        a final open-ended bucket is added after the last
+     */
+    public ProductSearchIndex(
+            @Value("${catalog.search.price-buckets:500,1000,5000,10000,50000}") List<BigDecimal> priceBoundaries) {
+        this.priceBoundaries = priceBoundaries.stream().sorted().toList();
+        this.priceBucketBits = new OrdinalBitSet[this.priceBoundaries.size() + 1];
+        for (int i = 0; i < priceBucketBits.length; i++) {
+            priceBucketBits[i] = new OrdinalBitSet();
+        }
+        for (AvailabilityStatus status : AvailabilityStatus.values()) {
+            availabilityBits.put(status, new OrdinalBitSet());
+        }
+    }
+
+    /**
+     * Adds the document, or replaces the previous version of the same product.
+     */
+    public void upsert(ProductDocument document) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addTerms(frequencies, document.getName(), NAME_WEIGHT);
+        addTerms(frequencies, document.getBrand(), BRAND_WEIGHT);
+        addTerms(frequencies, document.getDescription(), TEXT_WEIGHT);
+        for (String value : document.getSpecifications().values()) {
+            addTerms(frequencies, value, TEXT_WEIGHT);
+        }
+        float length = 0f;
+        for (float frequency : frequencies.values()) {
+            length += frequency;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(document.getId());
+            if (ordinal == null) {
+                ordinal = docs.size();
+                docs.add(null);
+                ordinalsById.put(document.getId(), ordinal);
+            } else {
+                unindex(ordinal);
+            }
+            for (Map.Entry<String, Float> term : frequencies.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new PostingList()).put(ordinal, term.getValue());
+            }
+            docs.set(ordinal, new IndexedDoc(document, frequencies, length));
+            liveDocs++;
+            totalLength += length;
+            setAttributeBits(ordinal, document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves an indexed product to another availability status without
+     * re-indexing it. Returns false if the product is not indexed.
+     */
+    public boolean updateAvailability(Long productId, AvailabilityStatus status) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(productId);
+            if (ordinal == null) {
+                return false;
+            }
+            IndexedDoc indexed = docs.get(ordinal);
+            AvailabilityStatus previous = indexed.document.getAvailabilityStatus();
+            if (previous == status) {
+                return true;
+            }
+            if (previous != null) {
+                availabilityBits.get(previous).clear(ordinal);
+            }
+            if (status != null) {
+                availabilityBits.get(status).set(ordinal);
+            }
+            docs.set(ordinal, new IndexedDoc(indexed.document.withAvailabilityStatus(status),
+                    indexed.termFrequencies, indexed.length));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsById.remove(productId);
+            if (ordinal != null) {
+                unindex(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Sets the popularity of the given products, leaving the others as they are. */
+    public void putPopularity(Map<Long, Double> trendingLogs) {
+        lock.writeLock().lock();
+        try {
+            popularity.putAll(trendingLogs);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replaces all popularity scores; products not given sort as never viewed. */
+    public void replacePopularity(Map<Long, Double> trendingLogs) {
+        lock.writeLock().lock();
+        try {
+            popularity.clear();
+            popularity.putAll(trendingLogs);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchHits search(ProductSearchRequest request) {
+        return search(request, request.getCategoryIds());
+    }
+
+    /** Searches with categoryIds in place of the request's own, e.g. expanded to their descendants. */
+    public SearchHits search(ProductSearchRequest request, Collection<Long> categoryIds) {
+        List<String> terms = Tokenizer.tokenize(request.getQ());
+        int page = Math.max(request.getPage() != null ? request.getPage() : 0, 0);
+        int size = Math.min(Math.max(request.getSize() != null ? request.getSize() : 20, 1), MAX_PAGE_SIZE);
+        if ((long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("page and size must stay within the first " + MAX_RESULT_WINDOW
+                    + " results; narrow the search instead");
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> scores = terms.isEmpty() ? Collections.emptyMap() : new HashMap<>();
+            OrdinalBitSet textMatches = terms.isEmpty() ? liveBits : matchTerms(terms, scores);
+            Comparator<Hit> order = comparator(request.getSort(), !terms.isEmpty());
+
+            Map<String, OrdinalBitSet> filters = new LinkedHashMap<>();
+            if (!Boolean.FALSE.equals(request.getOnlyActive())) {
+                filters.put("active", activeBits);
+            }
+            if (request.getBrand() != null && !request.getBrand().isBlank()) {
+                filters.put(BRAND_FACET, brandBits.getOrDefault(normalizeBrand(request.getBrand()), new OrdinalBitSet()));
+            }
+            if (categoryIds != null && !categoryIds.isEmpty()) {
+                OrdinalBitSet categories = new OrdinalBitSet();
+                for (Long categoryId : categoryIds) {
+                    OrdinalBitSet bits = categoryBits.get(categoryId);
+                    if (bits != null) {
+                        categories.or(bits);
+                    }
+                }
+                filters.put(CATEGORY_FACET, categories);
+            }
+            if (request.getAvailability() != null && !request.getAvailability().isEmpty()) {
+                OrdinalBitSet statuses = new OrdinalBitSet();
+                request.getAvailability().forEach(status -> statuses.or(availabilityBits.get(status)));
+                filters.put(AVAILABILITY_FACET, statuses);
+            }
+            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                filters.put(PRICE_FACET, priceRange(textMatches, request.getMinPrice(), request.getMaxPrice()));
+            }
+            Map<String, List<String>> specFilters = parseSpecFilters(request.getSpec());
+            specFilters.forEach((key, values) -> {
+                SpecColumn column = specColumns.get(key);
+                filters.put(SPEC_FACET_PREFIX + key, column != null ? column.bitsFor(values) : new OrdinalBitSet());
+            });
+
+            OrdinalBitSet matches = intersect(textMatches, filters, null);
+
+            // Bounded heap holding the best (page + 1) * size hits, worst on top
+            int keep = (page + 1) * size;
+            PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(keep, 1024) + 1, order.reversed());
+            long total = 0;
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                total++;
+                offer(best, new Hit(ordinal, scores.getOrDefault(ordinal, 0f)), keep, order);
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(order);
+            List<Long> ids = new ArrayList<>();
+            for (int i = page * size; i < ranked.size(); i++) {
+                ids.add(docs.get(ranked.get(i).ordinal).document.getId());
+            }
+
+            Map<String, List<FacetValue>> facets = Boolean.FALSE.equals(request.getFacets())
+                    ? Collections.emptyMap()
+                    : countFacets(textMatches, filters, specFacetKeys(specFilters.keySet(), request.getSpecFacets()));
+            return new SearchHits(ids, total, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** AND of all query terms; fills in the BM25 score of every match. */
+    private OrdinalBitSet matchTerms(List<String> terms, Map<Integer, Float> scores) {
+        OrdinalBitSet matched = new OrdinalBitSet(docs.size());
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                return matched;
+            }
+            lists.add(list);
+        }
+        // Drive the intersection from the rarest term
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        PostingList driver = lists.get(0);
+        double averageLength = liveDocs == 0 ? 1.0 : totalLength / liveDocs;
+        for (int i = 0; i < driver.size(); i++) {
+            int ordinal = driver.ordinalAt(i);
+            float score = 0f;
+            boolean matchesAll = true;
+            for (PostingList list : lists) {
+                int index = list.indexOf(ordinal);
+                if (index < 0) {
+                    matchesAll = false;
+                    break;
+                }
+                score += bm25(list.frequencyAt(index), list.size(), docs.get(ordinal).length, averageLength);
+            }
+            if (matchesAll) {
+                matched.set(ordinal);
+                scores.put(ordinal, score);
+            }
+        }
+        return matched;
+    }
+
+    private OrdinalBitSet priceRange(OrdinalBitSet candidates, BigDecimal min, BigDecimal max) {
+        OrdinalBitSet inRange = new OrdinalBitSet(docs.size());
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            BigDecimal price = docs.get(ordinal).document.getPrice();
+            if (price != null
+                    && (min == null || price.compareTo(min) >= 0)
+                    && (max == null || price.compareTo(max) <= 0)) {
+                inRange.set(ordinal);
+            }
+        }
+        return inRange;
+    }
+
+    private static OrdinalBitSet intersect(OrdinalBitSet base, Map<String, OrdinalBitSet> filters, String skip) {
+        OrdinalBitSet result = base.copy();
+        for (Map.Entry<String, OrdinalBitSet> filter : filters.entrySet()) {
+            if (!filter.getKey().equals(skip)) {
+                result.and(filter.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Groups "key:value" filters by normalized key; values of one key are
+     * alternatives. An entry without a colon adds a value to the previous key,
+     * so "spec=RAM:16GB,32GB" works as well as repeating the parameter.
+     */
+    static Map<String, List<String>> parseSpecFilters(List<String> specs) {
+        Map<String, List<String>> filters = new LinkedHashMap<>();
+        if (specs == null) {
+            return filters;
+        }
+        String key = null;
+        for (String spec : specs) {
+            int colon = spec.indexOf(':');
+            String value = spec;
+            if (colon >= 0) {
+                key = SpecColumn.normalize(spec.substring(0, colon));
+                value = spec.substring(colon + 1);
+            }
+            if (key == null || key.isEmpty() || value.isBlank()) {
+                throw new BadRequestException("Spec filters must look like key:value, got '" + spec + "'");
+            }
+            filters.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return filters;
+    }
+
+    // Filtered keys always get a facet; requested ones follow, up to the cap
+    private static List<String> specFacetKeys(Set<String> filteredKeys, List<String> requestedKeys) {
+        Set<String> keys = new LinkedHashSet<>(filteredKeys);
+        if (requestedKeys != null) {
+            requestedKeys.stream().filter(key -> !key.isBlank()).map(SpecColumn::normalize).forEach(keys::add);
+        }
+        return keys.stream().limit(MAX_SPEC_FACETS).toList();
+    }
+
+    private Map<String, List<FacetValue>> countFacets(OrdinalBitSet textMatches, Map<String, OrdinalBitSet> filters,
+                                                      List<String> specKeys) {
+        Map<String, List<FacetValue>> facets = new LinkedHashMap<>();
+
+        OrdinalBitSet forBrands = intersect(textMatches, filters, BRAND_FACET);
+        List<FacetValue> brands = new ArrayList<>();
+        brandBits.forEach((key, bits) -> addIfPresent(brands, key, brandLabels.get(key), forBrands.andCardinality(bits)));
+        facets.put(BRAND_FACET, topValues(brands));
+
+        OrdinalBitSet forCategories = intersect(textMatches, filters, CATEGORY_FACET);
+        List<FacetValue> categories = new ArrayList<>();
+        categoryBits.forEach((id, bits) -> addIfPresent(categories, id.toString(), id.toString(), forCategories.andCardinality(bits)));
+        facets.put(CATEGORY_FACET, topValues(categories));
+
+        OrdinalBitSet forAvailability = intersect(textMatches, filters, AVAILABILITY_FACET);
+        List<FacetValue> availability = new ArrayList<>();
+        availabilityBits.forEach((status, bits) -> addIfPresent(availability, status.name(), status.name(), forAvailability.andCardinality(bits)));
+        facets.put(AVAILABILITY_FACET, availability);
+
+        OrdinalBitSet forPrices = intersect(textMatches, filters, PRICE_FACET);
+        List<FacetValue> prices = new ArrayList<>();
+        for (int bucket = 0; bucket < priceBucketBits.length; bucket++) {
+            String range = priceBucketLabel(bucket);
+            prices.add(new FacetValue(range, range, (long) forPrices.andCardinality(priceBucketBits[bucket])));
+        }
+        facets.put(PRICE_FACET, prices);
+
+        for (String key : specKeys) {
+            String facet = SPEC_FACET_PREFIX + key;
+            List<FacetValue> values = new ArrayList<>();
+            SpecColumn column = specColumns.get(key);
+            if (column != null) {
+                int[] counts = column.countValues(intersect(textMatches, filters, facet));
+                for (int code = 0; code < counts.length; code++) {
+                    addIfPresent(values, column.labelOf(code), column.labelOf(code), counts[code]);
+                }
+            }
+            facets.put(facet, topValues(values));
+        }
+        return facets;
+    }
+
+    private static void addIfPresent(List<FacetValue> values, String value, String label, int count) {
+        if (count > 0) {
+            values.add(new FacetValue(value, label, (long) count));
+        }
+    }
+
+    private static List<FacetValue> topValues(List<FacetValue> values) {
+        values.sort(Comparator.comparing(FacetValue::getCount).reversed().thenComparing(FacetValue::getLabel));
+        return values.size() > MAX_FACET_VALUES ? new ArrayList<>(values.subList(0, MAX_FACET_VALUES)) : values;
+    }
+
+    /** Bucket labels double as filter values: "min-max", or "min+" for the last bucket. */
+    private String priceBucketLabel(int bucket) {
+        String lower = bucket == 0 ? "0" : priceBoundaries.get(bucket - 1).toPlainString();
+        return bucket == priceBoundaries.size()
+                ? lower + "+"
+                : lower + "-" + priceBoundaries.get(bucket).toPlainString();
+    }
+
+    private int priceBucket(BigDecimal price) {
+        int bucket = 0;
+        while (bucket < priceBoundaries.size() && price.compareTo(priceBoundaries.get(bucket)) >= 0) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private void setAttributeBits(int ordinal, ProductDocument document) {
+        liveBits.set(ordinal);
+        if (document.isActive()) {
+            activeBits.set(ordinal);
+        }
+        if (document.getBrand() != null) {
+            String key = normalizeBrand(document.getBrand());
+            brandBits.computeIfAbsent(key, k -> new OrdinalBitSet()).set(ordinal);
+            brandLabels.putIfAbsent(key, document.getBrand());
+        }
+        for (Long categoryId : document.getCategoryIds()) {
+            categoryBits.computeIfAbsent(categoryId, id -> new OrdinalBitSet()).set(ordinal);
+        }
+        if (document.getAvailabilityStatus() != null) {
+            availabilityBits.get(document.getAvailabilityStatus()).set(ordinal);
+        }
+        if (document.getPrice() != null) {
+            priceBucketBits[priceBucket(document.getPrice())].set(ordinal);
+        }
+        document.getSpecifications().forEach((key, value) -> {
+            if (value != null && !value.isBlank()) {
+                specColumns.computeIfAbsent(SpecColumn.normalize(key), k -> new SpecColumn()).set(ordinal, value);
+            }
+        });
+    }
+
+    private void clearAttributeBits(int ordinal, ProductDocument document) {
+        liveBits.clear(ordinal);
+        activeBits.clear(ordinal);
+        if (document.getBrand() != null) {
+            String key = normalizeBrand(document.getBrand());
+            OrdinalBitSet bits = brandBits.get(key);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                brandBits.remove(key);
+                brandLabels.remove(key);
+            }
+        }
+        for (Long categoryId : document.getCategoryIds()) {
+            OrdinalBitSet bits = categoryBits.get(categoryId);
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                categoryBits.remove(categoryId);
+            }
+        }
+        if (document.getAvailabilityStatus() != null) {
+            availabilityBits.get(document.getAvailabilityStatus()).clear(ordinal);
+        }
+        if (document.getPrice() != null) {
+            priceBucketBits[priceBucket(document.getPrice())].clear(ordinal);
+        }
+        for (String key : document.getSpecifications().keySet()) {
+            String normalized = SpecColumn.normalize(key);
+            SpecColumn column = specColumns.get(normalized);
+            if (column != null) {
+                column.clear(ordinal);
+                if (column.isEmpty()) {
+                    specColumns.remove(normalized);
+                }
+            }
+        }
+    }
+
+    private static String normalizeBrand(String brand) {
+        return brand.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void unindex(int ordinal) {
+        IndexedDoc previous = docs.get(ordinal);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.termFrequencies.keySet()) {
+            PostingList list = postings.get(term);
+            list.remove(ordinal);
+            if (list.size() == 0) {
+                postings.remove(term);
+            }
+        }
+        clearAttributeBits(ordinal, previous.document);
+        docs.set(ordinal, null);
+        liveDocs--;
+        totalLength -= previous.length;
+    }
+
+    private float bm25(float frequency, int documentFrequency, float length, double averageLength) {
+        double idf = Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        double norm = frequency + K1 * (1 - B + B * length / averageLength);
+        return (float) (idf * frequency * (K1 + 1) / norm);
+    }
+
+    private static void addTerms(Map<String, Float> frequencies, String text, float weight) {
+        for (String token : Tokenizer.tokenize(text)) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+    }
+
+    private static void offer(PriorityQueue<Hit> best, Hit hit, int keep, Comparator<Hit> order) {
+        if (best.size() < keep) {
+            best.add(hit);
+        } else if (order.compare(hit, best.peek()) < 0) {
+            best.poll();
+            best.add(hit);
+        }
+    }
+
+    /**
+     * Sort is "field" or "field,direction" with field one of relevance, name,
+     * price, newest or popularity (trending views, most popular first unless
+     * "asc"). Without an explicit sort, text queries rank by relevance and
+     * browsing falls back to name order. Ties break on ordinal so paging is
+     * stable. Any other field or direction is rejected.
+     */
+    private Comparator<Hit> comparator(String sort, boolean hasQuery) {
+        String field = hasQuery ? "relevance" : "name";
+        boolean descending = false;
+        boolean ascending = false;
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",");
+            field = parts[0].trim().toLowerCase(Locale.ROOT);
+            descending = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc");
+            ascending = parts.length > 1 && parts[1].trim().equalsIgnoreCase("asc");
+            if (!SORT_FIELDS.contains(field) || parts.length > 2 || (parts.length == 2 && !descending && !ascending)) {
+                throw new BadRequestException("Unknown sort '" + sort + "'; expected one of "
+                        + String.join(", ", SORT_FIELDS) + ", optionally followed by ,asc or ,desc");
+            }
+        }
+
+        Comparator<Hit> primary;
+        switch (field) {
+            case "price" -> primary = Comparator.comparing(
+                    (Hit hit) -> docs.get(hit.ordinal).document.getPrice(),
+                    Comparator.nullsLast(descending ? Comparator.<BigDecimal>reverseOrder() : Comparator.<BigDecimal>naturalOrder()));
+            case "newest" -> primary = Comparator.comparing(
+                    (Hit hit) -> docs.get(hit.ordinal).document.getId(), Comparator.reverseOrder());
+            case "relevance" -> primary = Comparator.comparingDouble((Hit hit) -> -hit.score);
+            case "popularity" -> {
+                Comparator<Hit> byPopularity = Comparator.comparingDouble((Hit hit) -> popularity.getOrDefault(
+                        docs.get(hit.ordinal).document.getId(), Double.NEGATIVE_INFINITY));
+                primary = ascending ? byPopularity : byPopularity.reversed();
+            }
+            default -> {
+                Comparator<Hit> byName = Comparator.comparing(
+                        (Hit hit) -> docs.get(hit.ordinal).document.getName(),
+                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                primary = descending ? byName.reversed() : byName;
+            }
+        }
+        return primary.thenComparingInt(hit -> hit.ordinal);
+    }
+}
@@ -0,0 +1,156 @@
+package com.oss.productcatalog.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.config.PrimaryReads;
+import com.oss.productcatalog.event.ProductChangedEvent;
+import com.oss.productcatalog.event.ProductsImportedEvent;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.repository.ProductRepository;
+
+/**
+ * Loads the search index at startup and keeps it current by re-indexing a
+ * product after any transaction that changed it commits.
+ *
+ * Stock changes are far more frequent and only move a product between
+ * availability statuses, so they are not re-indexed on the writer's thread:
+ * the products are collected and their availability is read in one query
+ * and patched into the index every catalog.search.availability-refresh-interval-ms.
+ */
+@Component
+public class ProductSearchIndexer {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProductSearchIndex index;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Set<Long> stockChanged = ConcurrentHashMap.newKeySet();
+
+    public ProductSearchIndexer(ProductSearchIndex index,
+                                ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.index = index;
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Change events arrive after the writer's commit, so read in a fresh transaction
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexAll() {
+        long started = System.currentTimeMillis();
+        long lastId = 0L;
+        while (true) {
+            List<Long> productIds = productRepository.findIdsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (productIds.isEmpty()) {
+                break;
+            }
+            reindex(productIds);
+            lastId = productIds.get(productIds.size() - 1);
+        }
+        System.out.println("Indexed " + index.size() + " products for search in "
+                + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.IMAGES_CHANGED
+                || event.getChangeType() == ProductChangedEvent.ChangeType.REVIEW_ADDED) {
+            return;
+        }
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.STOCK_CHANGED) {
+            stockChanged.add(event.getProductId());
+            return;
+        }
+        reindex(List.of(event.getProductId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        reindex(event.getProductIds());
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.search.availability-refresh-interval-ms:1000}")
+    public void refreshAvailability() {
+        if (stockChanged.isEmpty()) {
+            return;
+        }
+        // Taken out before reading, so a change committed meanwhile is picked up next time
+        List<Long> productIds = new ArrayList<>(stockChanged);
+        stockChanged.removeAll(productIds);
+        for (int from = 0; from < productIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + CHUNK_SIZE, productIds.size()));
+            try {
+                List<Object[]> rows = PrimaryReads.call(
+                        () -> readOnlyTransaction.execute(status -> productRepository.findAvailabilityByIds(chunk)));
+                for (Object[] row : rows) {
+                    index.updateAvailability((Long) row[0], (AvailabilityStatus) row[1]);
+                }
+            } catch (RuntimeException e) {
+                stockChanged.addAll(chunk);
+                System.err.println("Search availability refresh failed, will retry: " + e.getMessage());
+            }
+        }
+    }
+
+    public void reindex(Collection<Long> productIds) {
+        // Runs right after the change committed, before a replica may have it
+        List<ProductDocument> documents = PrimaryReads.call(
+                () -> readOnlyTransaction.execute(status -> loadDocuments(productIds)));
+        Set<Long> missing = new HashSet<>(productIds);
+        for (ProductDocument document : documents) {
+            index.upsert(document);
+            missing.remove(document.getId());
+        }
+        missing.forEach(index::remove);
+    }
+
+    private List<ProductDocument> loadDocuments(Collection<Long> productIds) {
+        Map<Long, Set<Long>> categoryIds = new HashMap<>();
+        for (Object[] row : productRepository.findCategoryIdsByProductIds(productIds)) {
+            categoryIds.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        Map<Long, Map<String, String>> specifications = new HashMap<>();
+        for (Object[] row : productRepository.findSpecificationsByProductIds(productIds)) {
+            if (row[2] == null) {
+                continue;
+            }
+            specifications.computeIfAbsent((Long) row[0], id -> new HashMap<>()).put((String) row[1], (String) row[2]);
+        }
+
+        List<ProductDocument> documents = new ArrayList<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            documents.add(new ProductDocument(
+                    product.getId(),
+                    product.getName(),
+                    product.getBrand(),
+                    product.getDescription(),
+                    specifications.getOrDefault(product.getId(), Map.of()),
+                    product.getPrice(),
+                    !Boolean.FALSE.equals(product.getActive()),
+                    categoryIds.getOrDefault(product.getId(), Set.of()),
+                    product.getAvailabilityStatus()));
+        }
+        return documents;
+    }
+}
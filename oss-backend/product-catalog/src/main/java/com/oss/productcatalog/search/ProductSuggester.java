@@ -0,0 +1,120 @@
+package com.oss.productcatalog.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.event.ProductChangedEvent;
+import com.oss.productcatalog.event.ProductsImportedEvent;
+import com.oss.productcatalog.repository.ProductRepository;
+
+/**
+ * Serves search-as-you-type suggestions from an immutable
+ * {@link SuggestionIndex}. Changes to names, brands or ratings only mark the
+ * index dirty. A scheduled task rebuilds it in the background and swaps it
+ * in, so lookups never wait on a rebuild.
+ */
+@Component
+public class ProductSuggester {
+
+    private static final int CHUNK_SIZE = 10_000;
+    public static final int MAX_LIMIT = 20;
+
+    // Ratings are shrunk towards PRIOR_RATING as if every product had
+    // PRIOR_REVIEWS extra reviews, so one 5-star review does not top the list
+    private static final double PRIOR_RATING = 3.0;
+    private static final double PRIOR_REVIEWS = 5.0;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile SuggestionIndex index = SuggestionIndex.EMPTY;
+
+    public ProductSuggester(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public List<SuggestionIndex.Suggestion> suggest(String prefix, int limit) {
+        return index.suggest(prefix, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.CREATED
+                || event.getChangeType() == ProductChangedEvent.ChangeType.REVIEW_ADDED) {
+            dirty.set(true);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        dirty.set(true);
+    }
+
+    // The first run happens right after startup, since the index starts dirty
+    @Scheduled(fixedDelayString = "${catalog.suggest.rebuild-interval-ms:30000}")
+    public void rebuildIfDirty() {
+        if (dirty.compareAndSet(true, false)) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                dirty.set(true);
+                System.err.println("Suggestion index rebuild failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        SuggestionIndex.Builder builder = new SuggestionIndex.Builder();
+        Map<String, Float> brandWeights = new HashMap<>();
+        Map<String, String> brandLabels = new HashMap<>();
+
+        long lastId = 0L;
+        while (true) {
+            long afterId = lastId;
+            List<Object[]> rows = readOnlyTransaction.execute(status ->
+                    productRepository.findSuggestionRowsAfter(afterId, PageRequest.of(0, CHUNK_SIZE)));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                Long productId = (Long) row[0];
+                String name = (String) row[1];
+                String brand = (String) row[2];
+                float weight = weight(row[3] != null ? ((Number) row[3]).longValue() : 0L,
+                        row[4] != null ? ((Number) row[4]).longValue() : 0L);
+                builder.addProduct(productId, name, weight);
+                if (brand != null && !brand.isBlank()) {
+                    String key = brand.strip().toLowerCase(Locale.ROOT);
+                    brandWeights.merge(key, weight, Float::sum);
+                    brandLabels.putIfAbsent(key, brand.strip());
+                }
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        // A brand ranks by the combined weight of its products
+        brandWeights.forEach((key, weight) -> builder.addBrand(brandLabels.get(key), weight));
+
+        SuggestionIndex rebuilt = builder.build();
+        index = rebuilt;
+        System.out.println("Built suggestion index with " + rebuilt.size() + " entries and " + rebuilt.keyCount()
+                + " keys in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    static float weight(long reviewCount, long ratingSum) {
+        double rating = (ratingSum + PRIOR_RATING * PRIOR_REVIEWS) / (reviewCount + PRIOR_REVIEWS);
+        return (float) (rating * Math.log(2 + reviewCount));
+    }
+}
@@ -0,0 +1,35 @@
+package com.oss.productcatalog.search;
+
+import java.util.List;
+import java.util.Map;
+
+import com.oss.productcatalog.dto.FacetValue;
+
+/**
+ * One page of matching product ids, in result order, plus the total number
+ * of matches across all pages and the facet counts keyed by facet name.
+ */
+public class SearchHits {
+
+    private final List<Long> productIds;
+    private final long total;
+    private final Map<String, List<FacetValue>> facets;
+
+    public SearchHits(List<Long> productIds, long total, Map<String, List<FacetValue>> facets) {
+        this.productIds = productIds;
+        this.total = total;
+        this.facets = facets;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, List<FacetValue>> getFacets() {
+        return facets;
+    }
+}
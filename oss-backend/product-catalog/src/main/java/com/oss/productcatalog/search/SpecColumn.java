@@ -0,0 +1,135 @@
+package com.oss.productcatalog.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary-encoded column for one specification key. Each distinct value
+ * gets a small integer code, every document ordinal stores the code of its
+ * value, and every code keeps a bitset of the ordinals holding it.
+ *
+ * Filters use the bitsets. Facet counts use whichever is cheaper: for a
+ * handful of values, one bitset intersection count per value; for many
+ * values, a single pass over the candidates reading their codes.
+ */
+class SpecColumn {
+
+    static final int NO_VALUE = -1;
+
+    // Above this many distinct values a scan of the code column beats one
+    // intersection count per value
+    private static final int BITSET_COUNT_LIMIT = 32;
+
+    private final Map<String, Integer> codesByValue = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+    private final List<OrdinalBitSet> valueBits = new ArrayList<>();
+    private final Deque<Integer> freeCodes = new ArrayDeque<>();
+    private int[] valueCounts = new int[4];
+    private int[] codes = new int[0];
+    private int distinctValues;
+    private int documents;
+
+    /** Sets the value of the ordinal; keys differing only in case keep the first value. */
+    void set(int ordinal, String value) {
+        if (codeAt(ordinal) != NO_VALUE) {
+            return;
+        }
+        String key = normalize(value);
+        Integer code = codesByValue.get(key);
+        if (code == null) {
+            code = freeCodes.isEmpty() ? labels.size() : freeCodes.pop();
+            if (code == labels.size()) {
+                labels.add(value.trim());
+                valueBits.add(new OrdinalBitSet());
+            } else {
+                labels.set(code, value.trim());
+            }
+            if (code >= valueCounts.length) {
+                valueCounts = Arrays.copyOf(valueCounts, valueCounts.length * 2);
+            }
+            codesByValue.put(key, code);
+            distinctValues++;
+        }
+        if (ordinal >= codes.length) {
+            int previous = codes.length;
+            codes = Arrays.copyOf(codes, Math.max(ordinal + 1, previous * 2));
+            Arrays.fill(codes, previous, codes.length, NO_VALUE);
+        }
+        codes[ordinal] = code;
+        valueBits.get(code).set(ordinal);
+        valueCounts[code]++;
+        documents++;
+    }
+
+    void clear(int ordinal) {
+        int code = codeAt(ordinal);
+        if (code == NO_VALUE) {
+            return;
+        }
+        codes[ordinal] = NO_VALUE;
+        valueBits.get(code).clear(ordinal);
+        documents--;
+        if (--valueCounts[code] == 0) {
+            // Recycle the code so the dictionary stays as small as the live values
+            codesByValue.remove(normalize(labels.get(code)));
+            labels.set(code, null);
+            freeCodes.push(code);
+            distinctValues--;
+        }
+    }
+
+    boolean isEmpty() {
+        return documents == 0;
+    }
+
+    /** Ordinals holding any of the values, or an empty set when none is known. */
+    OrdinalBitSet bitsFor(List<String> values) {
+        OrdinalBitSet matches = new OrdinalBitSet();
+        for (String value : values) {
+            Integer code = codesByValue.get(normalize(value));
+            if (code != null) {
+                matches.or(valueBits.get(code));
+            }
+        }
+        return matches;
+    }
+
+    /** Per-code count of candidates; index with {@link #labelOf(int)}. */
+    int[] countValues(OrdinalBitSet candidates) {
+        int[] counts = new int[labels.size()];
+        if (distinctValues <= BITSET_COUNT_LIMIT) {
+            for (int code = 0; code < counts.length; code++) {
+                if (valueCounts[code] > 0) {
+                    counts[code] = candidates.andCardinality(valueBits.get(code));
+                }
+            }
+        } else {
+            for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                int code = codeAt(ordinal);
+                if (code != NO_VALUE) {
+                    counts[code]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    String labelOf(int code) {
+        return labels.get(code);
+    }
+
+    // Spec keys and values match case-insensitively, ignoring surrounding blanks
+    static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int codeAt(int ordinal) {
+        return ordinal < codes.length ? codes[ordinal] : NO_VALUE;
+    }
+}
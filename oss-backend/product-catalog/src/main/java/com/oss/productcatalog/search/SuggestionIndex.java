@@ -0,0 +1,388 @@
+package com.oss.productcatalog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable prefix-completion index over product names and brands.
+ *
+ * <p>All suggestion texts are concatenated into one {@code char[]}. The
+ * searchable keys are the start of each text and the start of each of its
+ * first few words, so "gal" finds "Samsung Galaxy S24". Keys are
+ * {@code int} offsets into that array, sorted case-insensitively, so a prefix
+ * maps to one contiguous range found by binary search. No per-key Strings
+ * are kept.
+ *
+ * <p>A segment tree over the sorted keys stores the heaviest key of every
+ * node. The top k suggestions of a range come from a best-first walk that
+ * splits the range around its current maximum. Each lookup costs
+ * O(k log n) whatever the size of the range, so a one-letter prefix costs
+ * about the same as a full name.
+ */
+public final class SuggestionIndex {
+
+    public enum Type {
+        PRODUCT,
+        BRAND
+    }
+
+    public static final class Suggestion {
+        private final String text;
+        private final Type type;
+        private final Long productId;
+        private final float weight;
+
+        Suggestion(String text, Type type, Long productId, float weight) {
+            this.text = text;
+            this.type = type;
+            this.productId = productId;
+            this.weight = weight;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        // Null for brand suggestions
+        public Long getProductId() {
+            return productId;
+        }
+
+        public float getWeight() {
+            return weight;
+        }
+    }
+
+    static final SuggestionIndex EMPTY = new Builder().build();
+
+    // Word starts beyond this many are not indexed, bounding keys per text
+    private static final int MAX_KEYS_PER_TEXT = 5;
+
+    private final char[] text;
+    private final int[] itemStart;
+    private final int[] itemEnd;
+    private final long[] itemProductId;
+    private final float[] itemWeight;
+    private final int[] keyOffset;
+    private final int[] keyItem;
+    private final int[] tree;
+    private final int leaves;
+
+    private SuggestionIndex(char[] text, int[] itemStart, int[] itemEnd, long[] itemProductId, float[] itemWeight,
+                            int[] keyOffset, int[] keyItem) {
+        this.text = text;
+        this.itemStart = itemStart;
+        this.itemEnd = itemEnd;
+        this.itemProductId = itemProductId;
+        this.itemWeight = itemWeight;
+        this.keyOffset = keyOffset;
+        this.keyItem = keyItem;
+
+        int size = 1;
+        while (size < Math.max(1, keyOffset.length)) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[2 * size];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keyOffset.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public int size() {
+        return itemStart.length;
+    }
+
+    public int keyCount() {
+        return keyOffset.length;
+    }
+
+    /**
+     * Returns up to {@code limit} distinct suggestions whose text, or one of its
+     * word starts, begins with {@code prefix} (case-insensitive), heaviest first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        List<Suggestion> results = new ArrayList<>();
+        if (prefix == null || limit <= 0 || keyOffset.length == 0) {
+            return results;
+        }
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return results;
+        }
+
+        int from = lowerBound(normalized, false);
+        int to = lowerBound(normalized, true);
+        if (from >= to) {
+            return results;
+        }
+
+        // Best-first over [lo, hi) ranges keyed by their heaviest key
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> Float.compare(weightOf(b[2]), weightOf(a[2])));
+        ranges.add(new int[] {from, to, rangeMax(from, to)});
+        Set<Integer> seenItems = new HashSet<>();
+        while (!ranges.isEmpty() && results.size() < limit) {
+            int[] range = ranges.poll();
+            int key = range[2];
+            int item = keyItem[key];
+            if (seenItems.add(item)) {
+                long productId = itemProductId[item];
+                results.add(new Suggestion(new String(text, itemStart[item], itemEnd[item] - itemStart[item]),
+                        productId < 0 ? Type.BRAND : Type.PRODUCT, productId < 0 ? null : productId,
+                        itemWeight[item]));
+            }
+            if (range[0] < key) {
+                ranges.add(new int[] {range[0], key, rangeMax(range[0], key)});
+            }
+            if (key + 1 < range[1]) {
+                ranges.add(new int[] {key + 1, range[1], rangeMax(key + 1, range[1])});
+            }
+        }
+        return results;
+    }
+
+    // Lowercased char by char, so lengths and offsets match the stored text
+    static String normalize(String value) {
+        return collapseWhitespace(value, true);
+    }
+
+    // Trims and turns every whitespace run into a single space
+    static String collapseWhitespace(String value, boolean lowerCase) {
+        StringBuilder collapsed = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = collapsed.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    collapsed.append(' ');
+                    pendingSpace = false;
+                }
+                collapsed.append(lowerCase ? Character.toLowerCase(c) : c);
+            }
+        }
+        return collapsed.toString();
+    }
+
+    // First key that is >= prefix (or, when after, > every key starting with prefix)
+    private int lowerBound(String prefix, boolean after) {
+        int lo = 0;
+        int hi = keyOffset.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compareToPrefix(mid, prefix);
+            if (cmp < 0 || (after && cmp == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 0 when the key starts with prefix
+    private int compareToPrefix(int key, String prefix) {
+        int offset = keyOffset[key];
+        int end = itemEnd[keyItem[key]];
+        for (int i = 0; i < prefix.length(); i++) {
+            if (offset + i >= end) {
+                return -1;
+            }
+            int diff = Character.toLowerCase(text[offset + i]) - prefix.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    private int rangeMax(int from, int to) {
+        int best = -1;
+        for (int lo = from + leaves, hi = to + leaves; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                best = heavier(best, tree[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                best = heavier(best, tree[--hi]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        return weightOf(b) > weightOf(a) ? b : a;
+    }
+
+    private float weightOf(int key) {
+        return itemWeight[keyItem[key]];
+    }
+
+    /** Collects suggestion texts; not thread-safe. */
+    public static final class Builder {
+
+        private final StringBuilder text = new StringBuilder();
+        private int items;
+        private int[] itemStart = new int[1024];
+        private int[] itemEnd = new int[1024];
+        private long[] itemProductId = new long[1024];
+        private float[] itemWeight = new float[1024];
+        private int keys;
+        private int[] keyOffset = new int[4096];
+        private int[] keyItem = new int[4096];
+
+        public Builder addProduct(long productId, String name, float weight) {
+            add(name, productId, weight);
+            return this;
+        }
+
+        public Builder addBrand(String brand, float weight) {
+            add(brand, -1L, weight);
+            return this;
+        }
+
+        private void add(String value, long productId, float weight) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String trimmed = collapseWhitespace(value, false);
+            if (items == itemStart.length) {
+                int capacity = items * 2;
+                itemStart = Arrays.copyOf(itemStart, capacity);
+                itemEnd = Arrays.copyOf(itemEnd, capacity);
+                itemProductId = Arrays.copyOf(itemProductId, capacity);
+                itemWeight = Arrays.copyOf(itemWeight, capacity);
+            }
+            int start = text.length();
+            text.append(trimmed);
+            itemStart[items] = start;
+            itemEnd[items] = text.length();
+            itemProductId[items] = productId;
+            itemWeight[items] = weight;
+
+            int added = 0;
+            for (int i = 0; i < trimmed.length() && added < MAX_KEYS_PER_TEXT; i++) {
+                boolean wordStart = Character.isLetterOrDigit(trimmed.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(trimmed.charAt(i - 1)));
+                if (wordStart) {
+                    addKey(start + i, items);
+                    added++;
+                }
+            }
+            items++;
+        }
+
+        private void addKey(int offset, int item) {
+            if (keys == keyOffset.length) {
+                keyOffset = Arrays.copyOf(keyOffset, keys * 2);
+                keyItem = Arrays.copyOf(keyItem, keys * 2);
+            }
+            keyOffset[keys] = offset;
+            keyItem[keys] = item;
+            keys++;
+        }
+
+        public SuggestionIndex build() {
+            char[] chars = new char[text.length()];
+            text.getChars(0, text.length(), chars, 0);
+            int[] ends = Arrays.copyOf(itemEnd, items);
+            int[] offsets = Arrays.copyOf(keyOffset, keys);
+            int[] owners = Arrays.copyOf(keyItem, keys);
+            sortKeys(chars, ends, offsets, owners);
+            return new SuggestionIndex(chars, Arrays.copyOf(itemStart, items), ends,
+                    Arrays.copyOf(itemProductId, items), Arrays.copyOf(itemWeight, items),
+                    offsets, owners);
+        }
+
+        /**
+         * Sorts the parallel key arrays by key text without boxing: a
+         * primitive quicksort on a permutation, then one gather pass.
+         */
+        private static void sortKeys(char[] chars, int[] itemEnds, int[] offsets, int[] owners) {
+            int[] order = new int[offsets.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            quickSort(order, 0, order.length - 1, chars, itemEnds, offsets, owners);
+            int[] sortedOffsets = new int[offsets.length];
+            int[] sortedOwners = new int[owners.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedOffsets[i] = offsets[order[i]];
+                sortedOwners[i] = owners[order[i]];
+            }
+            System.arraycopy(sortedOffsets, 0, offsets, 0, offsets.length);
+            System.arraycopy(sortedOwners, 0, owners, 0, owners.length);
+        }
+
+        private static void quickSort(int[] order, int lo, int hi, char[] chars, int[] itemEnds,
+                                      int[] offsets, int[] owners) {
+            while (hi - lo > 16) {
+                int pivot = order[(lo + hi) >>> 1];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (compareKeys(order[i], pivot, chars, itemEnds, offsets, owners) < 0) {
+                        i++;
+                    }
+                    while (compareKeys(order[j], pivot, chars, itemEnds, offsets, owners) > 0) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        int swap = order[i];
+                        order[i++] = order[j];
+                        order[j--] = swap;
+                    }
+                }
+                // Recurse into the smaller half to bound stack depth
+                if (j - lo < hi - i) {
+                    quickSort(order, lo, j, chars, itemEnds, offsets, owners);
+                    lo = i;
+                } else {
+                    quickSort(order, i, hi, chars, itemEnds, offsets, owners);
+                    hi = j;
+                }
+            }
+            for (int i = lo + 1; i <= hi; i++) {
+                int value = order[i];
+                int j = i - 1;
+                while (j >= lo && compareKeys(order[j], value, chars, itemEnds, offsets, owners) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = value;
+            }
+        }
+
+        private static int compareKeys(int a, int b, char[] chars, int[] itemEnds, int[] offsets, int[] owners) {
+            int i = offsets[a];
+            int j = offsets[b];
+            int endA = itemEnds[owners[a]];
+            int endB = itemEnds[owners[b]];
+            while (i < endA && j < endB) {
+                int diff = Character.toLowerCase(chars[i++]) - Character.toLowerCase(chars[j++]);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return (endA - i) - (endB - j);
+        }
+    }
+}
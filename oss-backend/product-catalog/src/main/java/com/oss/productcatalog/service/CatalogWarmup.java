@@ -0,0 +1,189 @@
+package com.oss.productcatalog.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.repository.ProductPopularityRepository;
+import com.oss.productcatalog.repository.ProductRatingSummaryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+
+/**
+ * Warms a freshly started instance before it takes traffic: loads the
+ * category tree and the detail responses (with their review aggregates) of
+ * the most viewed products into the in-process caches, then replays a few
+ * rounds of typical listing, search and review requests so the hot paths are
+ * JIT-compiled and the database pages they touch are cached.
+ *
+ * Runs once Spring Boot is ready, after the startup index builds. As a health
+ * indicator in the readiness group it keeps /actuator/health/readiness
+ * OUT_OF_SERVICE until warm-up finishes or its time budget runs out.
+ */
+@Component
+public class CatalogWarmup implements HealthIndicator {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final ReviewService reviewService;
+    private final CategoryService categoryService;
+    private final ProductRepository productRepository;
+    private final ProductRatingSummaryRepository ratingSummaryRepository;
+    private final ProductPopularityRepository popularityRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalog.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${catalog.warmup.products:200}")
+    private int productCount;
+
+    @Value("${catalog.warmup.rounds:3}")
+    private int rounds;
+
+    @Value("${catalog.warmup.budget:PT60S}")
+    private Duration budget;
+
+    private volatile long deadline = Long.MAX_VALUE;
+    private volatile boolean finished;
+    private volatile int warmedProducts;
+
+    public CatalogWarmup(ProductService productService,
+                         ProductSearchService productSearchService,
+                         ReviewService reviewService,
+                         CategoryService categoryService,
+                         ProductRepository productRepository,
+                         ProductRatingSummaryRepository ratingSummaryRepository,
+                         ProductPopularityRepository popularityRepository,
+                         ObjectMapper objectMapper) {
+        this.productService = productService;
+        this.productSearchService = productSearchService;
+        this.reviewService = reviewService;
+        this.categoryService = categoryService;
+        this.productRepository = productRepository;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.popularityRepository = popularityRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Boot reports ready only after every ApplicationReadyEvent listener (index builds) has run
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || deadline != Long.MAX_VALUE) {
+            return;
+        }
+        deadline = System.currentTimeMillis() + budget.toMillis();
+        if (!enabled) {
+            finished = true;
+            return;
+        }
+        Thread warmup = new Thread(this::warmUp, "catalog-warmup");
+        warmup.setDaemon(true);
+        warmup.start();
+    }
+
+    @Override
+    public Health health() {
+        if (!enabled) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        Health.Builder health = finished || System.currentTimeMillis() > deadline
+                ? Health.up()
+                : Health.outOfService();
+        return health.withDetail("finished", finished)
+                .withDetail("products", warmedProducts)
+                .build();
+    }
+
+    public void warmUp() {
+        long started = System.currentTimeMillis();
+        try {
+            categoryService.getCategoryTree();
+
+            List<Long> productIds = topProductIds();
+            for (Long productId : productIds) {
+                if (overBudget()) {
+                    break;
+                }
+                productService.getProductById(productId);
+                warmedProducts++;
+            }
+
+            for (int round = 0; round < rounds && !overBudget(); round++) {
+                replay(productIds);
+            }
+            System.out.println("Warmed up " + warmedProducts + " products in "
+                    + (System.currentTimeMillis() - started) + " ms"
+                    + (overBudget() ? " (stopped at the time budget)" : ""));
+        } catch (RuntimeException e) {
+            System.err.println("Catalog warm-up failed: " + e.getMessage());
+        } finally {
+            finished = true;
+        }
+    }
+
+    // The requests behind product listings, search pages and product pages, responses serialized as over HTTP
+    private void replay(List<Long> productIds) {
+        for (int from = 0; from < productIds.size() && !overBudget(); from += BATCH_SIZE) {
+            List<Long> batch = productIds.subList(from, Math.min(from + BATCH_SIZE, productIds.size()));
+            serialize(productService.getProductsByIds(batch, ProductFields.ALL));
+            serialize(productService.getProductSummaries(batch));
+        }
+        ProductSearchRequest search = new ProductSearchRequest();
+        serialize(productSearchService.search(search, ProductFields.ALL));
+        for (Long productId : productIds.subList(0, Math.min(BATCH_SIZE, productIds.size()))) {
+            if (overBudget()) {
+                return;
+            }
+            ProductResponse product = productService.getProductById(productId);
+            if (product.getName() != null && product.getName().length() >= 3) {
+                serialize(productSearchService.suggest(product.getName().substring(0, 3), 10));
+                search.setQ(product.getName());
+                serialize(productSearchService.search(search, ProductFields.ALL));
+            }
+            serialize(reviewService.getReviews(productId, null, 20, null, null));
+            serialize(reviewService.getRatingSummary(productId));
+        }
+    }
+
+    // Most viewed products first, topped up with the most reviewed and then by id on a young catalog
+    private List<Long> topProductIds() {
+        Set<Long> ids = new LinkedHashSet<>(popularityRepository.findMostViewedIds(PageRequest.of(0, productCount)));
+        if (ids.size() < productCount) {
+            ids.addAll(ratingSummaryRepository.findMostReviewedIds(PageRequest.of(0, productCount)));
+        }
+        if (ids.size() < productCount) {
+            ids.addAll(productRepository.findIdsAfter(0L, PageRequest.of(0, productCount)));
+        }
+        return new ArrayList<>(ids).subList(0, Math.min(productCount, ids.size()));
+    }
+
+    private void serialize(Object response) {
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean overBudget() {
+        return System.currentTimeMillis() > deadline;
+    }
+}
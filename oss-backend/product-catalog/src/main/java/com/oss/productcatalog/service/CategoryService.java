@@ -0,0 +1,28 @@
+package com.oss.productcatalog.service;
+
+import java.util.List;
+
+import com.oss.productcatalog.dto.CategoryProductsResponse;
+import com.oss.productcatalog.dto.CategoryRequest;
+import com.oss.productcatalog.dto.CategoryResponse;
+import com.oss.productcatalog.dto.ProductFields;
+
+public interface CategoryService {
+
+    CategoryResponse createCategory(CategoryRequest request);
+
+    // Top-level categories with their whole subtrees, children ordered by name
+    List<CategoryResponse> getCategoryTree();
+
+    // The category with its path from the top and its direct children
+    CategoryResponse getCategory(Long id);
+
+    // Re-parents a category with its subtree; a null parent moves it to the top level
+    CategoryResponse moveCategory(Long id, Long parentId);
+
+    // Landing page: a page of the products in the category or any descendant
+    CategoryProductsResponse getCategoryProducts(Long id, int page, int size, ProductFields fields);
+
+    // Recounts every category from the product links; returns the number of categories
+    int rebuildProductCounts();
+}
@@ -0,0 +1,254 @@
+package com.oss.productcatalog.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.dto.CategoryProductsResponse;
+import com.oss.productcatalog.dto.CategoryRequest;
+import com.oss.productcatalog.dto.CategoryResponse;
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.event.CategoriesChangedEvent;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.exception.ConflictException;
+import com.oss.productcatalog.exception.ResourceNotFoundException;
+import com.oss.productcatalog.model.Category;
+import com.oss.productcatalog.repository.CategoryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+
+/**
+ * Category hierarchy over a parent_id column. The tree itself is cached in
+ * memory ({@link CategoryTreeCache}); each category row carries the number
+ * of distinct products in its subtree, adjusted in the transaction that
+ * links or unlinks products, so listings and landing pages never count.
+ * Moving a category recounts the ancestors it left and joined, and a nightly
+ * rebuild repairs any drift.
+ */
+@Service
+public class CategoryServiceImpl implements CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final CategoryTreeCache treeCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${catalog.categories.max-page-size:100}")
+    private int maxPageSize;
+
+    public CategoryServiceImpl(CategoryRepository categoryRepository,
+                               ProductRepository productRepository,
+                               ProductService productService,
+                               CategoryTreeCache treeCache,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.treeCache = treeCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public CategoryResponse createCategory(CategoryRequest request) {
+        Category saved = transactionTemplate.execute(status -> {
+            if (categoryRepository.findByName(request.getName()).isPresent()) {
+                throw new ConflictException("Category already exists with name: " + request.getName());
+            }
+            if (request.getParentId() != null && !categoryRepository.existsById(request.getParentId())) {
+                throw new BadRequestException("Unknown parent category id " + request.getParentId());
+            }
+            Category category = new Category();
+            category.setName(request.getName());
+            category.setDescription(request.getDescription());
+            category.setParentId(request.getParentId());
+            category.setProductCount(0);
+            Category created = categoryRepository.save(category);
+            eventPublisher.publishEvent(new CategoriesChangedEvent());
+            return created;
+        });
+        CategoryResponse response = mapToResponse(saved);
+        List<Long> path = new ArrayList<>(saved.getParentId() != null
+                ? treeCache.get().pathTo(saved.getParentId())
+                : List.of());
+        path.add(saved.getId());
+        response.setPath(path);
+        response.setChildren(new ArrayList<>());
+        return response;
+    }
+
+    @Override
+    public List<CategoryResponse> getCategoryTree() {
+        CategoryTree tree = treeCache.get();
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : categoryRepository.findProductCounts()) {
+            counts.put((Long) row[0], (Integer) row[1]);
+        }
+        return tree.roots().stream()
+                .map(id -> subtree(tree, id, counts))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public CategoryResponse getCategory(Long id) {
+        Category category = findCategory(id);
+        CategoryTree tree = treeCache.get();
+        CategoryResponse response = mapToResponse(category);
+        response.setPath(tree.contains(id) ? tree.pathTo(id) : List.of(id));
+        List<Long> childIds = tree.contains(id) ? tree.get(id).getChildren() : List.of();
+        Map<Long, Category> children = categoryRepository.findAllById(childIds).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        response.setChildren(childIds.stream()
+                .map(children::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    @Override
+    public CategoryResponse moveCategory(Long id, Long parentId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Validate against the locked rows, not the cache, so concurrent moves cannot form a cycle
+            List<Category> rows = categoryRepository.findAllForUpdate();
+            CategoryTree before = CategoryTree.of(rows);
+            if (!before.contains(id)) {
+                throw new ResourceNotFoundException("Category not found with id: " + id);
+            }
+            if (parentId != null) {
+                if (!before.contains(parentId)) {
+                    throw new BadRequestException("Unknown parent category id " + parentId);
+                }
+                if (before.isDescendant(parentId, id)) {
+                    throw new BadRequestException("Category " + id + " cannot be moved under itself or its descendants");
+                }
+            }
+            Map<Long, Category> byId = rows.stream().collect(Collectors.toMap(Category::getId, Function.identity()));
+            Category category = byId.get(id);
+            Long oldParentId = before.get(id).getParentId();
+            if (Objects.equals(oldParentId, parentId)) {
+                return;
+            }
+            category.setParentId(parentId);
+            CategoryTree after = CategoryTree.of(rows);
+
+            // The moved subtree keeps its products; only the old and new ancestors change
+            Set<Long> affected = new LinkedHashSet<>();
+            if (oldParentId != null) {
+                affected.addAll(before.withAncestors(List.of(oldParentId)));
+            }
+            if (parentId != null) {
+                affected.addAll(after.withAncestors(List.of(parentId)));
+            }
+            for (Long affectedId : affected) {
+                recount(byId.get(affectedId), after);
+            }
+            categoryRepository.saveAll(rows);
+            eventPublisher.publishEvent(new CategoriesChangedEvent());
+        });
+        return getCategory(id);
+    }
+
+    @Override
+    public CategoryProductsResponse getCategoryProducts(Long id, int page, int size, ProductFields fields) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + maxPageSize);
+        }
+        Category category = findCategory(id);
+        CategoryTree tree = treeCache.get();
+        // A category created on another node may not be in the cached tree yet
+        List<Long> categoryIds = tree.contains(id) ? tree.descendantsOf(id) : List.of(id);
+
+        List<Long> productIds = productRepository.findIdsInCategories(categoryIds, PageRequest.of(page, size));
+        CategoryProductsResponse response = new CategoryProductsResponse();
+        response.setCategory(mapToResponse(category));
+        response.setItems(productService.getProductsByIds(productIds, fields));
+        response.setTotal(category.getProductCount() != null
+                ? category.getProductCount().longValue()
+                : productRepository.countInCategories(categoryIds));
+        response.setPage(page);
+        response.setSize(size);
+        return response;
+    }
+
+    // Backfills counts for categories that existed before product counts did
+    @EventListener(ApplicationReadyEvent.class)
+    public void countOnStartup() {
+        if (categoryRepository.countUncounted() > 0) {
+            rebuildProductCounts();
+        }
+    }
+
+    /**
+     * Holds every category row lock while counting, so product links created
+     * meanwhile wait for the rebuild instead of adjusting a count it is about
+     * to overwrite.
+     */
+    @Override
+    @Scheduled(cron = "${catalog.categories.count-rebuild-cron:0 45 3 * * *}")
+    public int rebuildProductCounts() {
+        long started = System.currentTimeMillis();
+        Integer counted = transactionTemplate.execute(status -> {
+            List<Category> rows = categoryRepository.findAllForUpdate();
+            CategoryTree tree = CategoryTree.of(rows);
+            rows.forEach(category -> recount(category, tree));
+            categoryRepository.saveAll(rows);
+            return rows.size();
+        });
+        System.out.println("Recounted products of " + counted + " categories in "
+                + (System.currentTimeMillis() - started) + " ms");
+        return counted != null ? counted : 0;
+    }
+
+    private void recount(Category category, CategoryTree tree) {
+        category.setProductCount((int) productRepository.countInCategories(tree.descendantsOf(category.getId())));
+    }
+
+    private Category findCategory(Long id) {
+        return categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+    }
+
+    private CategoryResponse subtree(CategoryTree tree, Long id, Map<Long, Integer> counts) {
+        CategoryTree.Node node = tree.get(id);
+        CategoryResponse response = new CategoryResponse();
+        response.setId(node.getId());
+        response.setName(node.getName());
+        response.setDescription(node.getDescription());
+        response.setParentId(node.getParentId());
+        response.setProductCount(counts.get(id));
+        response.setChildren(node.getChildren().isEmpty()
+                ? Collections.emptyList()
+                : node.getChildren().stream().map(child -> subtree(tree, child, counts)).collect(Collectors.toList()));
+        return response;
+    }
+
+    private CategoryResponse mapToResponse(Category category) {
+        CategoryResponse response = new CategoryResponse();
+        response.setId(category.getId());
+        response.setName(category.getName());
+        response.setDescription(category.getDescription());
+        response.setParentId(category.getParentId());
+        response.setProductCount(category.getProductCount());
+        return response;
+    }
+}
@@ -0,0 +1,216 @@
+package com.oss.productcatalog.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.oss.productcatalog.model.Category;
+
+/**
+ * Immutable snapshot of the category hierarchy. Categories are laid out in
+ * pre-order, so the descendants of any category are one contiguous slice
+ * and expanding a category costs no lookups. Children are ordered by name.
+ */
+public final class CategoryTree {
+
+    public static final CategoryTree EMPTY = of(List.of());
+
+    private final Map<Long, Node> nodes;
+    private final List<Long> preorder;
+    private final List<Long> roots;
+
+    private CategoryTree(Map<Long, Node> nodes, List<Long> preorder, List<Long> roots) {
+        this.nodes = nodes;
+        this.preorder = preorder;
+        this.roots = roots;
+    }
+
+    /**
+     * Builds the tree from category rows. A category whose parent is missing,
+     * or which sits on a parent cycle, is placed at the top level.
+     */
+    public static CategoryTree of(Collection<Category> categories) {
+        Map<Long, Node> nodes = new HashMap<>();
+        for (Category category : categories) {
+            nodes.put(category.getId(), new Node(category.getId(), category.getName(), category.getDescription(),
+                    category.getParentId()));
+        }
+        Comparator<Node> byName = Comparator.comparing((Node node) -> node.name, Comparator.nullsFirst(String::compareTo))
+                .thenComparing(node -> node.id);
+        List<Node> sorted = new ArrayList<>(nodes.values());
+        sorted.sort(byName);
+        List<Long> roots = new ArrayList<>();
+        for (Node node : sorted) {
+            Node parent = node.parentId != null ? nodes.get(node.parentId) : null;
+            if (parent != null) {
+                parent.children.add(node.id);
+            } else {
+                roots.add(node.id);
+            }
+        }
+
+        List<Long> preorder = new ArrayList<>(nodes.size());
+        for (Long root : roots) {
+            layOut(nodes, root, 0, preorder);
+        }
+        // Anything not reached hangs off a cycle; cut it loose so every category stays reachable
+        for (Node node : sorted) {
+            if (node.start < 0) {
+                Node parent = nodes.get(node.parentId);
+                parent.children.remove(node.id);
+                roots.add(node.id);
+                layOut(nodes, node.id, 0, preorder);
+            }
+        }
+        return new CategoryTree(nodes, Collections.unmodifiableList(preorder), Collections.unmodifiableList(roots));
+    }
+
+    public boolean contains(Long id) {
+        return nodes.containsKey(id);
+    }
+
+    public Node get(Long id) {
+        return nodes.get(id);
+    }
+
+    public List<Long> roots() {
+        return roots;
+    }
+
+    /** The category followed by all its descendants; empty for an unknown id. */
+    public List<Long> descendantsOf(Long id) {
+        Node node = nodes.get(id);
+        return node != null ? preorder.subList(node.start, node.end) : List.of();
+    }
+
+    /** The given categories with all their descendants, without duplicates; unknown ids are kept. */
+    public Set<Long> expand(Collection<Long> ids) {
+        Set<Long> expanded = new LinkedHashSet<>();
+        for (Long id : ids) {
+            List<Long> descendants = descendantsOf(id);
+            if (descendants.isEmpty()) {
+                expanded.add(id);
+            } else {
+                expanded.addAll(descendants);
+            }
+        }
+        return expanded;
+    }
+
+    /** The given categories with all their ancestors; unknown ids are kept. */
+    public Set<Long> withAncestors(Collection<Long> ids) {
+        Set<Long> result = new LinkedHashSet<>();
+        for (Long id : ids) {
+            Node node = nodes.get(id);
+            if (node == null) {
+                result.add(id);
+            }
+            while (node != null && result.add(node.id)) {
+                node = parentOf(node);
+            }
+        }
+        return result;
+    }
+
+    /** Ids from the top-level ancestor down to the category itself. */
+    public List<Long> pathTo(Long id) {
+        List<Long> path = new ArrayList<>();
+        for (Node node = nodes.get(id); node != null; node = parentOf(node)) {
+            path.add(0, node.id);
+        }
+        return path;
+    }
+
+    public boolean isDescendant(Long id, Long ancestorId) {
+        Node node = nodes.get(id);
+        Node ancestor = nodes.get(ancestorId);
+        return node != null && ancestor != null && node.start >= ancestor.start && node.start < ancestor.end;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    private Node parentOf(Node node) {
+        Long parentId = node.getParentId();
+        return parentId != null ? nodes.get(parentId) : null;
+    }
+
+    private static void layOut(Map<Long, Node> nodes, Long rootId, int rootDepth, List<Long> preorder) {
+        // Iterative, so a deep chain cannot overflow the stack
+        Deque<Node> pending = new ArrayDeque<>();
+        Deque<Node> open = new ArrayDeque<>();
+        Node root = nodes.get(rootId);
+        root.depth = rootDepth;
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            while (!open.isEmpty() && open.peek() != nodes.get(node.parentId)) {
+                open.pop().end = preorder.size();
+            }
+            node.start = preorder.size();
+            preorder.add(node.id);
+            open.push(node);
+            for (int i = node.children.size() - 1; i >= 0; i--) {
+                Node child = nodes.get(node.children.get(i));
+                child.depth = node.depth + 1;
+                pending.push(child);
+            }
+        }
+        while (!open.isEmpty()) {
+            open.pop().end = preorder.size();
+        }
+    }
+
+    public static final class Node {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final Long parentId;
+        private final List<Long> children = new ArrayList<>();
+        private int depth;
+        // [start, end) of this subtree in the pre-order layout
+        private int start = -1;
+        private int end = -1;
+
+        private Node(Long id, String name, String description, Long parentId) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.parentId = parentId;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        // Null for top-level categories, including ones cut loose from a cycle
+        public Long getParentId() {
+            return depth > 0 ? parentId : null;
+        }
+
+        public List<Long> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+    }
+}
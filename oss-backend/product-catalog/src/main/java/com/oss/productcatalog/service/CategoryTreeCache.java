@@ -0,0 +1,55 @@
+package com.oss.productcatalog.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.oss.productcatalog.event.CategoriesChangedEvent;
+import com.oss.productcatalog.repository.CategoryRepository;
+
+/**
+ * The category hierarchy, read from the (small) categories table on first
+ * use and again after any committed category change on this node, or once
+ * the TTL passes (for changes made through other nodes). Product counts are
+ * not part of it; they change with every product and are read from the rows.
+ */
+@Component
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final long ttlNanos;
+    private volatile CategoryTree tree;
+    private volatile long loadedAt;
+
+    // Bumped on every invalidation; a load that raced one is used but not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public CategoryTreeCache(CategoryRepository categoryRepository,
+                             @Value("${catalog.categories.tree-ttl:PT1M}") Duration ttl) {
+        this.categoryRepository = categoryRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public CategoryTree get() {
+        CategoryTree current = tree;
+        if (current == null || System.nanoTime() - loadedAt > ttlNanos) {
+            long loadedGeneration = generation.get();
+            long started = System.nanoTime();
+            current = CategoryTree.of(categoryRepository.findAll());
+            if (generation.get() == loadedGeneration) {
+                loadedAt = started;
+                tree = current;
+            }
+        }
+        return current;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        generation.incrementAndGet();
+        tree = null;
+    }
+}
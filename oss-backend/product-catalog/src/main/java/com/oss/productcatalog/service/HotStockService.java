@@ -0,0 +1,56 @@
+package com.oss.productcatalog.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.oss.productcatalog.dto.HotStockLeaseResponse;
+import com.oss.productcatalog.model.HotStockLeaseStatus;
+
+public interface HotStockService {
+
+    /**
+     * Sells from the in-memory counter of a hot-stock product. Null when the
+     * product is not hot on this node (the caller then uses the stock row);
+     * otherwise whether the units were sold.
+     */
+    Boolean tryReduceStock(Long productId, int quantity);
+
+    /**
+     * Takes units of a hot-stock product out of this node's counter for a
+     * reservation, leasing more from the stock row when needed. Returns the
+     * lease they came from, or null when the product is not hot on this node
+     * or the units are not there; the caller then uses the stock row. The
+     * caller must either call recordWithdrawal in the transaction that saves
+     * the reservation or hand the units back with returnWithdrawn.
+     */
+    Long withdraw(Long productId, int quantity);
+
+    // Takes withdrawn units off the lease; runs in the caller's transaction
+    void recordWithdrawal(Long leaseId, int quantity);
+
+    // Puts back units withdrawn for a reservation that was not saved
+    void returnWithdrawn(Long productId, Long leaseId, int quantity);
+
+    // Units this node holds for the product on top of its stock column
+    int heldUnits(Long productId);
+
+    /**
+     * Units held in the open leases of every node, by product: this node's
+     * exactly, the others' as of their last flush. Products without an open
+     * lease are absent; no query runs when none of them is hot.
+     */
+    Map<Long, Integer> leasedUnits(Collection<Long> productIds);
+
+    // Turning it off returns this node's unsold units; other nodes follow on their next flush
+    void setHotStock(Long productId, boolean enabled);
+
+    // All leases when status is null, newest first
+    List<HotStockLeaseResponse> getLeases(HotStockLeaseStatus status);
+
+    // Closes a quarantined lease given the units it actually sold; the rest go back to stock
+    HotStockLeaseResponse reconcile(Long leaseId, int sold);
+
+    // Writes the sales counted since the last flush to the leases and the ledger
+    void flush();
+}
@@ -0,0 +1,475 @@
+package com.oss.productcatalog.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.dto.HotStockLeaseResponse;
+import com.oss.productcatalog.event.ProductChangedEvent;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.exception.ConflictException;
+import com.oss.productcatalog.exception.ResourceNotFoundException;
+import com.oss.productcatalog.model.HotStockLease;
+import com.oss.productcatalog.model.HotStockLeaseStatus;
+import com.oss.productcatalog.model.InventoryChangeReason;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.repository.HotStockLeaseRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+
+/**
+ * Flash-sale mode for products flagged hot_stock. Instead of every sale
+ * updating the product row, this node leases blocks of units out of the row
+ * (a conditional decrement, so the row never goes negative) and sells them
+ * from a {@link StripedStockCounter}. A scheduled flush writes the counted
+ * sales to the lease and to the ledger as one SALE_BATCH row per product.
+ * <p>
+ * Leasing is not a ledger movement: the ledger total is the sellable stock,
+ * i.e. the stock column plus units held in open leases. Sales can never
+ * exceed the leased units, and the row's availability status counts the
+ * units held in open leases, so leasing a block never marks the product
+ * out of stock. Every flush renews the node's leases. If the node
+ * dies, its unflushed sales are lost with the counters, so any node
+ * quarantines an open lease that has not been renewed within the lease
+ * expiry: its units stay out of stock until {@link #reconcile} is given the
+ * real number sold. A holder that finds its lease quarantined still knows
+ * the exact numbers, so it settles and closes the lease itself.
+ * <p>
+ * Reservations of a hot product take units from the counter without
+ * counting a sale: the reservation takes them off the lease and writes its
+ * own RESERVED ledger row, so a release or expiry returns them to the stock
+ * row like any other reservation.
+ * <p>
+ * The node id only labels the leases for operators, but it must be set
+ * explicitly: a node without one refuses to start while products are hot
+ * and otherwise sells hot products straight from the stock row.
+ */
+@Service
+public class HotStockServiceImpl implements HotStockService {
+
+    // Retries of the block lease when stock runs out between the decrement and the re-read
+    private static final int LEASE_ATTEMPTS = 3;
+
+    private final ProductRepository productRepository;
+    private final HotStockLeaseRepository leaseRepository;
+    private final InventoryChangeService inventoryChangeService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+    private volatile Set<Long> hotIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    @Value("${catalog.hot-stock.node-id:}")
+    private String nodeId;
+
+    // Must cover the flush interval plus clock skew between nodes
+    @Value("${catalog.hot-stock.lease-expiry:PT30S}")
+    private Duration leaseExpiry;
+
+    @Value("${catalog.hot-stock.block-size:50}")
+    private int blockSize;
+
+    @Value("${catalog.hot-stock.stripes:8}")
+    private int stripes;
+
+    public HotStockServiceImpl(ProductRepository productRepository,
+                               HotStockLeaseRepository leaseRepository,
+                               InventoryChangeService inventoryChangeService,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.leaseRepository = leaseRepository;
+        this.inventoryChangeService = inventoryChangeService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Boolean tryReduceStock(Long productId, int quantity) {
+        StripedStockCounter counter = counterFor(productId);
+        if (counter == null) {
+            return null;
+        }
+        if (counter.tryTake(quantity)) {
+            return true;
+        }
+        return refill(counter, quantity, true);
+    }
+
+    @Override
+    public Long withdraw(Long productId, int quantity) {
+        StripedStockCounter counter = counterFor(productId);
+        if (counter == null) {
+            return null;
+        }
+        if (counter.tryWithdraw(quantity) || Boolean.TRUE.equals(refill(counter, quantity, false))) {
+            return counter.leaseId();
+        }
+        return null;
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordWithdrawal(Long leaseId, int quantity) {
+        leaseRepository.findById(leaseId).ifPresent(lease -> {
+            leaseRepository.addUnits(leaseId, -quantity);
+            productRepository.refreshAvailability(lease.getProductId(), Product.LOW_STOCK_THRESHOLD);
+        });
+    }
+
+    @Override
+    public void returnWithdrawn(Long productId, Long leaseId, int quantity) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter != null && counter.leaseId().equals(leaseId)) {
+            synchronized (counter.refillLock()) {
+                if (!counter.isClosed()) {
+                    counter.deposit(quantity, 0);
+                    return;
+                }
+            }
+        }
+        // The lease was closed meanwhile and returned its other units; these follow them to the stock row
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.incrementStock(productId, quantity, Product.LOW_STOCK_THRESHOLD);
+            publishStockChanged(productId);
+        });
+    }
+
+    @Override
+    public int heldUnits(Long productId) {
+        StripedStockCounter counter = counters.get(productId);
+        return counter != null ? counter.held() : 0;
+    }
+
+    @Override
+    public Map<Long, Integer> leasedUnits(Collection<Long> productIds) {
+        Map<Long, Integer> leased = new HashMap<>();
+        if (productIds.stream().noneMatch(hotIds::contains)) {
+            return leased;
+        }
+        for (Object[] row : leaseRepository.findOpenUnitsByProductIds(productIds)) {
+            Long productId = (Long) row[0];
+            // This node's own lease is read from its counter, which also knows the unflushed sales
+            StripedStockCounter counter = counters.get(productId);
+            int units = counter != null && counter.leaseId().equals(row[1]) ? counter.held() : (Integer) row[2];
+            leased.merge(productId, units, Integer::sum);
+        }
+        return leased;
+    }
+
+    @Override
+    public void setHotStock(Long productId, boolean enabled) {
+        Integer updated = transactionTemplate.execute(status -> productRepository.updateHotStock(productId, enabled));
+        if (updated == null || updated == 0) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        if (enabled) {
+            hotIds.add(productId);
+            return;
+        }
+        hotIds.remove(productId);
+        StripedStockCounter counter = counters.get(productId);
+        if (counter != null) {
+            close(counter);
+        }
+    }
+
+    @Override
+    public List<HotStockLeaseResponse> getLeases(HotStockLeaseStatus status) {
+        List<HotStockLease> leases = status != null
+                ? leaseRepository.findByStatusOrderByIdDesc(status)
+                : leaseRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+        return leases.stream().map(this::mapToResponse).collect(Collectors.toList());
+    }
+
+    @Override
+    public HotStockLeaseResponse reconcile(Long leaseId, int sold) {
+        return transactionTemplate.execute(status -> {
+            HotStockLease lease = leaseRepository.findByIdForUpdate(leaseId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Hot stock lease not found with id: " + leaseId));
+            if (lease.getStatus() != HotStockLeaseStatus.QUARANTINED) {
+                throw new ConflictException("Hot stock lease " + leaseId + " is " + lease.getStatus());
+            }
+            if (sold < lease.getSold() || sold > lease.getUnits()) {
+                throw new BadRequestException("Sold must be between the flushed " + lease.getSold()
+                        + " and the leased " + lease.getUnits() + " units");
+            }
+            int unflushed = sold - lease.getSold();
+            int unsold = lease.getUnits() - sold;
+            if (unflushed > 0) {
+                inventoryChangeService.record(lease.getProductId(), -unflushed, InventoryChangeReason.SALE_BATCH, null);
+            }
+            if (unsold > 0) {
+                productRepository.incrementStock(lease.getProductId(), unsold, Product.LOW_STOCK_THRESHOLD);
+            }
+            lease.setSold(sold);
+            lease.setStatus(HotStockLeaseStatus.CLOSED);
+            lease.setClosedAt(LocalDateTime.now());
+            leaseRepository.save(lease);
+            productRepository.refreshAvailability(lease.getProductId(), Product.LOW_STOCK_THRESHOLD);
+            publishStockChanged(lease.getProductId());
+            return mapToResponse(lease);
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${catalog.hot-stock.flush-interval-ms:500}")
+    public void flush() {
+        try {
+            // Picks up flags changed through other nodes
+            Set<Long> current = ConcurrentHashMap.newKeySet();
+            current.addAll(productRepository.findHotStockIds());
+            hotIds = current;
+        } catch (RuntimeException e) {
+            System.err.println("Could not refresh hot stock products: " + e.getMessage());
+        }
+        for (StripedStockCounter counter : new ArrayList<>(counters.values())) {
+            if (hotIds.contains(counter.productId())) {
+                flush(counter);
+            } else {
+                close(counter);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<Long> hot = productRepository.findHotStockIds();
+        if (nodeId.isBlank() && !hot.isEmpty()) {
+            throw new IllegalStateException("Products " + hot + " are in hot stock mode but"
+                    + " catalog.hot-stock.node-id is not set");
+        }
+        quarantineExpiredLeases();
+        hotIds.addAll(hot);
+    }
+
+    /**
+     * Quarantines open leases whose holder stopped renewing them: their
+     * unflushed sales are unknown, so their units stay out of stock until
+     * reconciled.
+     */
+    @Scheduled(fixedDelayString = "${catalog.hot-stock.lease-check-interval-ms:10000}")
+    public void quarantineExpiredLeases() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(leaseExpiry);
+        Integer quarantined = transactionTemplate.execute(status -> {
+            List<Long> productIds = leaseRepository.findExpiredProductIds(expiredBefore);
+            int updated = leaseRepository.quarantineExpired(expiredBefore);
+            productIds.forEach(productId -> {
+                productRepository.refreshAvailability(productId, Product.LOW_STOCK_THRESHOLD);
+                publishStockChanged(productId);
+            });
+            return updated;
+        });
+        if (quarantined != null && quarantined > 0) {
+            System.err.println("Quarantined " + quarantined + " hot stock leases not renewed since " + expiredBefore
+                    + "; reconcile them through /api/products/hot-stock/leases");
+        }
+    }
+
+    // Hands every unsold unit back before the node goes away
+    @PreDestroy
+    public void closeAll() {
+        stopping = true;
+        for (StripedStockCounter counter : new ArrayList<>(counters.values())) {
+            close(counter);
+        }
+    }
+
+    private StripedStockCounter counterFor(Long productId) {
+        StripedStockCounter counter = counters.get(productId);
+        if (counter != null || stopping || nodeId.isBlank() || !hotIds.contains(productId)) {
+            return counter;
+        }
+        synchronized (counters) {
+            counter = counters.get(productId);
+            if (counter == null) {
+                HotStockLease lease = new HotStockLease();
+                lease.setProductId(productId);
+                lease.setNode(nodeId);
+                lease.setStatus(HotStockLeaseStatus.OPEN);
+                lease.setCreatedAt(LocalDateTime.now());
+                lease.setRenewedAt(lease.getCreatedAt());
+                Long leaseId = transactionTemplate.execute(status -> leaseRepository.save(lease).getId());
+                counter = new StripedStockCounter(productId, leaseId, stripes);
+                counters.put(productId, counter);
+            }
+            return counter;
+        }
+    }
+
+    /**
+     * Slow path once no single stripe can serve the sale (or, without sale,
+     * the withdrawal): pools the units stranded across stripes and, if they
+     * are not enough, leases a block from the stock row. Null when the
+     * counter was closed meanwhile.
+     */
+    private Boolean refill(StripedStockCounter counter, int quantity, boolean sale) {
+        synchronized (counter.refillLock()) {
+            if (counter.isClosed()) {
+                return null;
+            }
+            // Another thread may have refilled while this one waited
+            if (sale ? counter.tryTake(quantity) : counter.tryWithdraw(quantity)) {
+                return true;
+            }
+            int pooled = counter.drain();
+            int available = pooled;
+            try {
+                if (available < quantity) {
+                    available += lease(counter, quantity - pooled);
+                }
+            } catch (RuntimeException e) {
+                counter.deposit(pooled, 0);
+                throw e;
+            }
+            if (available < quantity) {
+                counter.deposit(available, 0);
+                return false;
+            }
+            counter.deposit(available - quantity, sale ? quantity : 0);
+            return true;
+        }
+    }
+
+    // Moves at least needed units (a block when the stock allows) into the lease; 0 if the stock is short
+    private int lease(StripedStockCounter counter, int needed) {
+        Long productId = counter.productId();
+        Integer leased = transactionTemplate.execute(status -> {
+            int wanted = Math.max(blockSize, needed);
+            for (int attempt = 0; attempt < LEASE_ATTEMPTS; attempt++) {
+                if (productRepository.decrementStock(productId, wanted, Product.LOW_STOCK_THRESHOLD) > 0) {
+                    leaseRepository.addUnits(counter.leaseId(), wanted);
+                    productRepository.refreshAvailability(productId, Product.LOW_STOCK_THRESHOLD);
+                    publishStockChanged(productId);
+                    return wanted;
+                }
+                List<Object[]> rows = productRepository.findStockStateById(productId);
+                int stock = rows.isEmpty() ? 0 : (Integer) rows.get(0)[0];
+                if (stock < needed) {
+                    return 0;
+                }
+                wanted = stock;
+            }
+            return 0;
+        });
+        return leased != null ? leased : 0;
+    }
+
+    // Renews the lease even without sales, so only a dead or stuck holder lets it expire
+    private void flush(StripedStockCounter counter) {
+        int sold = counter.takeSales();
+        Boolean renewed;
+        try {
+            renewed = transactionTemplate.execute(status -> {
+                if (leaseRepository.renew(counter.leaseId(), LocalDateTime.now()) == 0) {
+                    return false;
+                }
+                writeSales(counter, sold);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            counter.restoreSales(sold);
+            System.err.println("Error flushing hot stock sales for product " + counter.productId() + ": " + e.getMessage());
+            return;
+        }
+        if (!Boolean.TRUE.equals(renewed)) {
+            counter.restoreSales(sold);
+            System.err.println("Hot stock lease " + counter.leaseId() + " expired while held; settling and closing it");
+            close(counter);
+        }
+    }
+
+    /**
+     * Drains the counter, then in one transaction flushes its last sales,
+     * returns the unsold units to the stock row and closes the lease, also
+     * when it was quarantined meanwhile. If that fails the lease stays open
+     * and is quarantined once it expires. A lease already reconciled is left
+     * alone: its units were settled by the operator.
+     */
+    private void close(StripedStockCounter counter) {
+        int unsold;
+        synchronized (counter.refillLock()) {
+            if (counter.isClosed()) {
+                return;
+            }
+            counter.close();
+            unsold = counter.drain();
+        }
+        counters.remove(counter.productId(), counter);
+        int sold = counter.takeSales();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                HotStockLeaseStatus leaseStatus = leaseRepository.findByIdForUpdate(counter.leaseId())
+                        .map(HotStockLease::getStatus).orElse(HotStockLeaseStatus.CLOSED);
+                if (leaseStatus == HotStockLeaseStatus.CLOSED) {
+                    System.err.println("Hot stock lease " + counter.leaseId() + " was reconciled while held; "
+                            + sold + " sold and " + unsold + " unsold units were not settled");
+                    return;
+                }
+                writeSales(counter, sold);
+                if (unsold > 0) {
+                    productRepository.incrementStock(counter.productId(), unsold, Product.LOW_STOCK_THRESHOLD);
+                }
+                // Re-read: the relative updates above detach the locked entity
+                leaseRepository.findById(counter.leaseId()).ifPresent(lease -> {
+                    lease.setStatus(HotStockLeaseStatus.CLOSED);
+                    lease.setClosedAt(LocalDateTime.now());
+                    leaseRepository.save(lease);
+                });
+                productRepository.refreshAvailability(counter.productId(), Product.LOW_STOCK_THRESHOLD);
+                publishStockChanged(counter.productId());
+            });
+        } catch (RuntimeException e) {
+            System.err.println("Error closing hot stock lease " + counter.leaseId() + " (" + sold + " sold, "
+                    + unsold + " unsold): " + e.getMessage());
+        }
+    }
+
+    private void writeSales(StripedStockCounter counter, int sold) {
+        if (sold == 0) {
+            return;
+        }
+        leaseRepository.addSold(counter.leaseId(), sold);
+        productRepository.refreshAvailability(counter.productId(), Product.LOW_STOCK_THRESHOLD);
+        inventoryChangeService.record(counter.productId(), -sold, InventoryChangeReason.SALE_BATCH, null);
+        publishStockChanged(counter.productId());
+    }
+
+    private void publishStockChanged(Long productId) {
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.ChangeType.STOCK_CHANGED));
+    }
+
+    private HotStockLeaseResponse mapToResponse(HotStockLease lease) {
+        HotStockLeaseResponse response = new HotStockLeaseResponse();
+        response.setId(lease.getId());
+        response.setProductId(lease.getProductId());
+        response.setNode(lease.getNode());
+        response.setUnits(lease.getUnits());
+        response.setSold(lease.getSold());
+        response.setStatus(lease.getStatus());
+        response.setCreatedAt(lease.getCreatedAt());
+        response.setClosedAt(lease.getClosedAt());
+        response.setRenewedAt(lease.getRenewedAt());
+        return response;
+    }
+}
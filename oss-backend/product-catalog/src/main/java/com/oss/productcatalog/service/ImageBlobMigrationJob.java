@@ -0,0 +1,101 @@
+package com.oss.productcatalog.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.model.ProductImage;
+import com.oss.productcatalog.repository.ProductImageRepository;
+import com.oss.productcatalog.storage.BlobStore;
+import com.oss.productcatalog.storage.StoredBlob;
+
+/**
+ * Moves image bytes still stored in the legacy {@code product_images.image_data}
+ * column into the {@link BlobStore}, leaving only metadata in MySQL. Each image
+ * is migrated in its own transaction so only one blob is held in memory at a
+ * time and an interrupted run simply resumes on the next startup.
+ */
+@Component
+public class ImageBlobMigrationJob {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final ProductImageRepository imageRepository;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${catalog.blobs.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    public ImageBlobMigrationJob(ProductImageRepository imageRepository,
+                                 BlobStore blobStore,
+                                 PlatformTransactionManager transactionManager) {
+        this.imageRepository = imageRepository;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateOnStartup) {
+            migrateAll();
+        }
+    }
+
+    public int migrateAll() {
+        long started = System.currentTimeMillis();
+        long lastId = 0L;
+        int migrated = 0;
+        int failed = 0;
+        while (true) {
+            List<Long> imageIds = imageRepository.findLegacyImageIdsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (imageIds.isEmpty()) {
+                break;
+            }
+            for (Long imageId : imageIds) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> migrate(imageId)))) {
+                        migrated++;
+                    }
+                } catch (RuntimeException e) {
+                    // Leave the row on the legacy column; it is still served from there
+                    failed++;
+                    System.err.println("Failed to migrate image " + imageId + " to the blob store: " + e.getMessage());
+                }
+            }
+            lastId = imageIds.get(imageIds.size() - 1);
+        }
+        if (migrated > 0 || failed > 0) {
+            System.out.println("Migrated " + migrated + " images to the blob store (" + failed + " failed) in "
+                    + (System.currentTimeMillis() - started) + " ms");
+        }
+        return migrated;
+    }
+
+    private boolean migrate(Long imageId) {
+        ProductImage image = imageRepository.findById(imageId).orElse(null);
+        if (image == null || image.getContentHash() != null || image.getImageData() == null) {
+            return false;
+        }
+        StoredBlob blob;
+        try {
+            blob = blobStore.put(new ByteArrayInputStream(image.getImageData()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        image.setContentHash(blob.getHash());
+        image.setSizeBytes(blob.getSizeBytes());
+        image.setImageData(null);
+        imageRepository.save(image);
+        return true;
+    }
+}
@@ -0,0 +1,233 @@
+package com.oss.productcatalog.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.config.PrimaryReads;
+import com.oss.productcatalog.event.ProductChangedEvent;
+import com.oss.productcatalog.event.ProductImageUploadedEvent;
+import com.oss.productcatalog.model.ImageVariant;
+import com.oss.productcatalog.model.ProductImage;
+import com.oss.productcatalog.repository.ImageVariantRepository;
+import com.oss.productcatalog.repository.ProductImageRepository;
+import com.oss.productcatalog.storage.BlobStore;
+import com.oss.productcatalog.storage.StoredBlob;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates downscaled JPEG variants of uploaded images on a small bounded
+ * worker pool. When the queue is full the submitting thread (the upload
+ * request or the backfill) resizes the image itself, which slows producers
+ * down instead of growing the queue without limit.
+ */
+@Component
+public class ImageVariantPipeline {
+
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+    private static final int BACKFILL_CHUNK_SIZE = 100;
+
+    private final ProductImageRepository imageRepository;
+    private final ImageVariantRepository variantRepository;
+    private final ProductImageService imageService;
+    private final BlobStore blobStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final List<Integer> widths;
+    private final ThreadPoolExecutor executor;
+    // Images queued or in progress, so repeated events don't resize twice
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    @Value("${catalog.images.variant-quality:0.8}")
+    private float quality;
+
+    @Value("${catalog.images.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    public ImageVariantPipeline(ProductImageRepository imageRepository,
+                                ImageVariantRepository variantRepository,
+                                ProductImageService imageService,
+                                BlobStore blobStore,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${catalog.images.variant-widths:160,480,1024}") List<Integer> widths,
+                                @Value("${catalog.images.variant-threads:2}") int threads,
+                                @Value("${catalog.images.variant-queue-capacity:200}") int queueCapacity) {
+        this.imageRepository = imageRepository;
+        this.variantRepository = variantRepository;
+        this.imageService = imageService;
+        this.blobStore = blobStore;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.widths = new ArrayList<>(new TreeSet<>(widths));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        Gauge.builder("catalog.images.variants.queue.depth", executor.getQueue(), Collection::size)
+                .description("Images waiting for variant generation")
+                .register(meterRegistry);
+        Gauge.builder("catalog.images.variants.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Images currently being resized")
+                .register(meterRegistry);
+    }
+
+    public List<Integer> getWidths() {
+        return widths;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImageUploaded(ProductImageUploadedEvent event) {
+        enqueue(event.getImageId());
+    }
+
+    /**
+     * Queues images stored before the pipeline existed, or whose earlier
+     * attempt was lost to a restart. Runs on its own thread so a large backlog
+     * does not hold up startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread backfill = new Thread(this::backfill, "image-variants-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+
+    public void backfill() {
+        long lastId = 0L;
+        int queued = 0;
+        while (!executor.isShutdown()) {
+            List<Long> imageIds = imageRepository.findIdsWithoutVariantsAfter(lastId, PageRequest.of(0, BACKFILL_CHUNK_SIZE));
+            if (imageIds.isEmpty()) {
+                break;
+            }
+            for (Long imageId : imageIds) {
+                enqueue(imageId);
+                queued++;
+            }
+            lastId = imageIds.get(imageIds.size() - 1);
+        }
+        if (queued > 0) {
+            System.out.println("Queued " + queued + " images for variant generation");
+        }
+    }
+
+    public void enqueue(Long imageId) {
+        if (!pending.add(imageId)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                generate(imageId);
+            } catch (Exception e) {
+                System.err.println("Failed to generate variants for image " + imageId + ": " + e.getMessage());
+            } finally {
+                pending.remove(imageId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(Long imageId) throws IOException {
+        // The image was just uploaded, so a replica may not have it yet
+        SourceImage source = PrimaryReads.call(() -> readOnlyTransaction.execute(status -> loadSource(imageId)));
+        if (source == null || source.missingWidths.isEmpty()) {
+            return;
+        }
+
+        BufferedImage decoded;
+        try (InputStream in = source.content.getInputStream()) {
+            decoded = ImageResizer.decode(in, source.missingWidths.get(source.missingWidths.size() - 1), maxSourcePixels);
+        }
+        if (decoded == null) {
+            System.err.println("Image " + imageId + " is not a decodable raster image or is too large; no variants made");
+            return;
+        }
+
+        List<ImageVariant> variants = new ArrayList<>();
+        for (Integer width : source.missingWidths) {
+            byte[] jpeg = ImageResizer.encodeJpeg(ImageResizer.resize(decoded, width), quality);
+            StoredBlob blob = blobStore.put(new ByteArrayInputStream(jpeg));
+            ImageVariant variant = new ImageVariant();
+            variant.setImageId(imageId);
+            variant.setWidth(width);
+            variant.setContentHash(blob.getHash());
+            variant.setContentType(VARIANT_CONTENT_TYPE);
+            variant.setSizeBytes(blob.getSizeBytes());
+            variants.add(variant);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            variantRepository.saveAll(variants);
+            eventPublisher.publishEvent(new ProductChangedEvent(source.productId,
+                    ProductChangedEvent.ChangeType.IMAGES_CHANGED));
+        });
+    }
+
+    private SourceImage loadSource(Long imageId) {
+        ProductImage image = imageRepository.findById(imageId).orElse(null);
+        if (image == null || image.getProduct() == null) {
+            return null;
+        }
+        List<Integer> missingWidths = new ArrayList<>(widths);
+        for (ImageVariant existing : variantRepository.findByImageId(imageId)) {
+            missingWidths.remove(existing.getWidth());
+        }
+        return new SourceImage(image.getProduct().getId(), imageService.openImage(image), missingWidths);
+    }
+
+    private static final class SourceImage {
+        final Long productId;
+        final Resource content;
+        final List<Integer> missingWidths;
+
+        SourceImage(Long productId, Resource content, List<Integer> missingWidths) {
+            this.productId = productId;
+            this.content = content;
+            this.missingWidths = missingWidths;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.oss.productcatalog.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.model.InventoryChangeSequence;
+import com.oss.productcatalog.repository.InventoryChangeRepository;
+import com.oss.productcatalog.repository.InventoryChangeSequenceRepository;
+
+/**
+ * Stamps committed ledger rows with the change feed sequence. Ids are taken at
+ * insert but become visible at commit, so a cursor over ids can move past a
+ * row whose transaction is still open. A row only gets a sequence once it is
+ * visible here, and sequences are handed out under the head row lock, so each
+ * new sequence is above everything a feed reader can already have seen.
+ */
+@Component
+public class InventoryChangeSequencer {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final InventoryChangeRepository changeRepository;
+    private final InventoryChangeSequenceRepository sequenceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public InventoryChangeSequencer(InventoryChangeRepository changeRepository,
+                                    InventoryChangeSequenceRepository sequenceRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.changeRepository = changeRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.inventory.changes.sequence-interval-ms:200}")
+    public int sequencePending() {
+        ensureHead();
+        int sequenced = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> sequenceBatch());
+            sequenced += batch;
+            if (batch < BATCH_SIZE) {
+                return sequenced;
+            }
+        }
+    }
+
+    private int sequenceBatch() {
+        // The lock comes first so the read below sees every row committed before it was granted
+        InventoryChangeSequence head = sequenceRepository.findByIdForUpdate(InventoryChangeSequence.HEAD_ID)
+                .orElseThrow(() -> new IllegalStateException("Inventory change sequence head is missing"));
+        List<Long> ids = changeRepository.findUnsequencedIds(PageRequest.of(0, BATCH_SIZE));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        long next = head.getLastSequence();
+        List<Object[]> assignments = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            assignments.add(new Object[] {++next, id});
+        }
+        jdbcTemplate.batchUpdate("update inventory_changes set sequence_no = ? where id = ?", assignments);
+        head.setLastSequence(next);
+        sequenceRepository.save(head);
+        return ids.size();
+    }
+
+    private void ensureHead() {
+        // Checked without a lock: a locking read of the missing row would gap-lock our own insert
+        if (sequenceRepository.existsById(InventoryChangeSequence.HEAD_ID)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> sequenceRepository.insertHead(InventoryChangeSequence.HEAD_ID));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+        }
+    }
+}
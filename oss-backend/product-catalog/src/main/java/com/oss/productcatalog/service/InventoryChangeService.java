@@ -0,0 +1,13 @@
+package com.oss.productcatalog.service;
+
+import com.oss.productcatalog.dto.InventoryChangePage;
+import com.oss.productcatalog.model.InventoryChangeReason;
+
+public interface InventoryChangeService {
+
+    // Appends a ledger row; must run inside the transaction that changes the stock
+    void record(Long productId, int delta, InventoryChangeReason reason, String orderRef);
+
+    // Changes with an id above since, oldest first; since null or 0 starts from the beginning
+    InventoryChangePage getChanges(Long since, Integer limit);
+}
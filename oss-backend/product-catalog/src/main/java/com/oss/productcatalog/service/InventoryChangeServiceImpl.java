@@ -0,0 +1,86 @@
+package com.oss.productcatalog.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.oss.productcatalog.dto.InventoryChangePage;
+import com.oss.productcatalog.dto.InventoryChangeResponse;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.model.InventoryChange;
+import com.oss.productcatalog.model.InventoryChangeReason;
+import com.oss.productcatalog.repository.InventoryChangeRepository;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class InventoryChangeServiceImpl implements InventoryChangeService {
+
+    private final InventoryChangeRepository changeRepository;
+
+    @Value("${catalog.inventory.changes.default-page-size:500}")
+    private int defaultPageSize;
+
+    @Value("${catalog.inventory.changes.max-page-size:5000}")
+    private int maxPageSize;
+
+    public InventoryChangeServiceImpl(InventoryChangeRepository changeRepository) {
+        this.changeRepository = changeRepository;
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(Long productId, int delta, InventoryChangeReason reason, String orderRef) {
+        InventoryChange change = new InventoryChange();
+        change.setProductId(productId);
+        change.setDelta(delta);
+        change.setReason(reason);
+        change.setOrderRef(orderRef);
+        change.setCreatedAt(LocalDateTime.now());
+        changeRepository.save(change);
+    }
+
+    /**
+     * Pages by the sequence InventoryChangeSequencer stamps on committed rows
+     * rather than by id, so a transaction that commits late is served after
+     * the cursor instead of being skipped. Rows reach the feed one sequencer
+     * pass after they commit.
+     */
+    @Override
+    public InventoryChangePage getChanges(Long since, Integer limit) {
+        long afterSequence = since != null ? since : 0L;
+        if (afterSequence < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        int pageSize = Math.min(Math.max(limit != null ? limit : defaultPageSize, 1), maxPageSize);
+
+        // One extra row tells whether another page is already waiting
+        List<InventoryChange> rows = changeRepository.findChangesAfter(afterSequence, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        InventoryChangePage page = new InventoryChangePage();
+        page.setItems(rows.stream().map(this::mapToResponse).collect(Collectors.toList()));
+        page.setNextSince(rows.isEmpty() ? afterSequence : rows.get(rows.size() - 1).getSequence());
+        page.setHasMore(hasMore);
+        return page;
+    }
+
+    private InventoryChangeResponse mapToResponse(InventoryChange change) {
+        InventoryChangeResponse response = new InventoryChangeResponse();
+        response.setId(change.getId());
+        response.setSequence(change.getSequence());
+        response.setProductId(change.getProductId());
+        response.setDelta(change.getDelta());
+        response.setReason(change.getReason());
+        response.setOrderRef(change.getOrderRef());
+        response.setCreatedAt(change.getCreatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,75 @@
+package com.oss.productcatalog.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.oss.productcatalog.model.ProductRatingSummary;
+
+/**
+ * Associations for a batch of products, loaded with one set-based query per
+ * association instead of one lazy load per product. Keyed by product id.
+ */
+class ProductAssociations {
+
+    static final class ImageRef {
+        final Long id;
+        final String imageUrl;
+        // Widths of the generated variants, ascending
+        final List<Integer> variantWidths = new ArrayList<>();
+
+        ImageRef(Long id, String imageUrl) {
+            this.id = id;
+            this.imageUrl = imageUrl;
+        }
+    }
+
+    private final Map<Long, Set<String>> categoryNames = new HashMap<>();
+    private final Map<Long, Map<String, String>> specifications = new HashMap<>();
+    private final Map<Long, Map<Long, ImageRef>> images = new HashMap<>();
+    private final Map<Long, ProductRatingSummary> ratings = new HashMap<>();
+
+    void addCategoryName(Long productId, String name) {
+        categoryNames.computeIfAbsent(productId, id -> new LinkedHashSet<>()).add(name);
+    }
+
+    void addSpecification(Long productId, String key, String value) {
+        specifications.computeIfAbsent(productId, id -> new HashMap<>()).put(key, value);
+    }
+
+    // Called once per image row or per image variant row; rows of one image are merged
+    void addImage(Long productId, Long imageId, String imageUrl, Integer variantWidth) {
+        ImageRef image = images.computeIfAbsent(productId, id -> new LinkedHashMap<>())
+                .computeIfAbsent(imageId, id -> new ImageRef(id, imageUrl));
+        if (variantWidth != null) {
+            image.variantWidths.add(variantWidth);
+        }
+    }
+
+    void putRating(Long productId, ProductRatingSummary rating) {
+        ratings.put(productId, rating);
+    }
+
+    Set<String> categoryNames(Long productId) {
+        return categoryNames.getOrDefault(productId, Collections.emptySet());
+    }
+
+    Map<String, String> specifications(Long productId) {
+        return specifications.getOrDefault(productId, Collections.emptyMap());
+    }
+
+    Collection<ImageRef> images(Long productId) {
+        Map<Long, ImageRef> productImages = images.get(productId);
+        return productImages != null ? productImages.values() : Collections.emptyList();
+    }
+
+    ProductRatingSummary rating(Long productId) {
+        return ratings.get(productId);
+    }
+}
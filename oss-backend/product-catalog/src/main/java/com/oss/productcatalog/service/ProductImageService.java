@@ -0,0 +1,24 @@
+package com.oss.productcatalog.service;
+
+import java.io.IOException;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.oss.productcatalog.model.ImageVariant;
+import com.oss.productcatalog.model.ProductImage;
+
+public interface ProductImageService {
+
+    ProductImage uploadImage(Long productId, MultipartFile file) throws IOException;
+
+    ProductImage getImage(Long imageId);
+
+    // Bytes of the image, from the blob store or the legacy column for unmigrated rows
+    Resource openImage(ProductImage image);
+
+    // Null when no variant of that width has been generated (yet)
+    ImageVariant getVariant(Long imageId, Integer width);
+
+    Resource openVariant(ImageVariant variant);
+}
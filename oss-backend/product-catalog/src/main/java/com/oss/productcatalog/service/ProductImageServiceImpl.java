@@ -0,0 +1,111 @@
+package com.oss.productcatalog.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.oss.productcatalog.event.ProductChangedEvent;
+import com.oss.productcatalog.event.ProductImageUploadedEvent;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.exception.ResourceNotFoundException;
+import com.oss.productcatalog.model.ImageVariant;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ProductImage;
+import com.oss.productcatalog.repository.ImageVariantRepository;
+import com.oss.productcatalog.repository.ProductImageRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.storage.BlobStore;
+import com.oss.productcatalog.storage.StoredBlob;
+
+import jakarta.transaction.Transactional;
+
+@Service
+@Transactional
+public class ProductImageServiceImpl implements ProductImageService {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final ProductImageRepository imageRepository;
+    private final ImageVariantRepository variantRepository;
+    private final ProductRepository productRepository;
+    private final BlobStore blobStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductImageServiceImpl(ProductImageRepository imageRepository,
+                                   ImageVariantRepository variantRepository,
+                                   ProductRepository productRepository,
+                                   BlobStore blobStore,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.imageRepository = imageRepository;
+        this.variantRepository = variantRepository;
+        this.productRepository = productRepository;
+        this.blobStore = blobStore;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ProductImage uploadImage(Long productId, MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Image file is empty");
+        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+
+        // Streamed from the multipart temp file; the bytes never sit on the heap
+        StoredBlob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = blobStore.put(in);
+        }
+
+        ProductImage image = new ProductImage();
+        image.setContentHash(blob.getHash());
+        image.setSizeBytes(blob.getSizeBytes());
+        image.setContentType(file.getContentType() != null ? file.getContentType() : DEFAULT_CONTENT_TYPE);
+        image.setProduct(product);
+        ProductImage saved = imageRepository.save(image);
+
+        eventPublisher.publishEvent(new ProductImageUploadedEvent(productId, saved.getId()));
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.ChangeType.IMAGES_CHANGED));
+        return saved;
+    }
+
+    @Override
+    public ProductImage getImage(Long imageId) {
+        return imageRepository.findById(imageId)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found with id: " + imageId));
+    }
+
+    @Override
+    public Resource openImage(ProductImage image) {
+        if (image.getContentHash() != null) {
+            Resource resource = blobStore.get(image.getContentHash());
+            if (resource == null) {
+                throw new ResourceNotFoundException("Image content missing for id: " + image.getId());
+            }
+            return resource;
+        }
+        if (image.getImageData() != null) {
+            return new ByteArrayResource(image.getImageData());
+        }
+        throw new ResourceNotFoundException("Image has no content, id: " + image.getId());
+    }
+
+    @Override
+    public ImageVariant getVariant(Long imageId, Integer width) {
+        return variantRepository.findByImageIdAndWidth(imageId, width).orElse(null);
+    }
+
+    @Override
+    public Resource openVariant(ImageVariant variant) {
+        Resource resource = blobStore.get(variant.getContentHash());
+        if (resource == null) {
+            throw new ResourceNotFoundException("Variant content missing for image id: " + variant.getImageId());
+        }
+        return resource;
+    }
+}
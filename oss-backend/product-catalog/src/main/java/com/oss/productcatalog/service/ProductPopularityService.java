@@ -0,0 +1,21 @@
+package com.oss.productcatalog.service;
+
+import java.util.List;
+
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductResponse;
+
+public interface ProductPopularityService {
+
+    // Counted in memory and written out by the next flush; never touches the database
+    void recordView(Long productId);
+
+    // Writes the views counted since the last flush; returns the number of products updated
+    int flush();
+
+    // Most viewed recently, with older views decaying by half every trending half-life
+    List<ProductResponse> getTrending(int limit, ProductFields fields);
+
+    // Most viewed of all time
+    List<ProductResponse> getMostViewed(int limit, ProductFields fields);
+}
@@ -0,0 +1,193 @@
+package com.oss.productcatalog.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.model.ProductPopularity;
+import com.oss.productcatalog.repository.ProductPopularityRepository;
+import com.oss.productcatalog.search.ProductSearchIndex;
+
+/**
+ * Product views are counted per product in a LongAdder and written out in
+ * batches, one row lock per product per flush no matter how many views it
+ * had. Each flush swaps in a fresh set of counters, so the number of
+ * products tracked between flushes is bounded; views of further products are
+ * dropped until the next flush, as is the odd view racing with the swap.
+ *
+ * The trending and most-viewed lists are re-read after every flush, so they
+ * include views counted on other nodes; the search index gets the scores of
+ * the products flushed here and a full refresh every few minutes.
+ */
+@Service
+public class ProductPopularityServiceImpl implements ProductPopularityService {
+
+    private static final int CHUNK_SIZE = 500;
+    // Trending scores are scaled to this instant; see ProductPopularity
+    private static final long EPOCH_MILLIS = LocalDateTime.of(2024, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    private final ProductPopularityRepository popularityRepository;
+    private final ProductService productService;
+    private final ProductSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private volatile ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile List<Long> trendingIds = List.of();
+    private volatile List<Long> mostViewedIds = List.of();
+
+    @Value("${catalog.popularity.max-tracked:100000}")
+    private int maxTracked;
+
+    @Value("${catalog.popularity.trending-half-life:PT6H}")
+    private Duration halfLife;
+
+    @Value("${catalog.popularity.max-limit:100}")
+    private int maxLimit;
+
+    public ProductPopularityServiceImpl(ProductPopularityRepository popularityRepository,
+                                        ProductService productService,
+                                        ProductSearchIndex searchIndex,
+                                        PlatformTransactionManager transactionManager) {
+        this.popularityRepository = popularityRepository;
+        this.productService = productService;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void recordView(Long productId) {
+        ConcurrentHashMap<Long, LongAdder> counters = pending;
+        LongAdder views = counters.get(productId);
+        if (views == null) {
+            if (counters.size() >= maxTracked) {
+                dropped.incrementAndGet();
+                return;
+            }
+            views = counters.computeIfAbsent(productId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${catalog.popularity.flush-interval-ms:10000}")
+    public int flush() {
+        return flush(System.currentTimeMillis());
+    }
+
+    synchronized int flush(long nowMillis) {
+        // Ascending ids, so flushes on different nodes lock rows in the same order
+        ConcurrentHashMap<Long, LongAdder> counted = pending;
+        pending = new ConcurrentHashMap<>();
+        Map<Long, Long> views = new TreeMap<>();
+        counted.forEach((productId, adder) -> views.put(productId, adder.sum()));
+        long droppedViews = dropped.getAndSet(0);
+        if (droppedViews > 0) {
+            System.err.println("Dropped " + droppedViews + " product views: more than " + maxTracked
+                    + " products viewed since the last flush");
+        }
+
+        int flushed = 0;
+        List<Long> productIds = new ArrayList<>(views.keySet());
+        for (int from = 0; from < productIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + CHUNK_SIZE, productIds.size()));
+            try {
+                Map<Long, Double> trendingLogs = transactionTemplate.execute(status -> apply(chunk, views, nowMillis));
+                searchIndex.putPopularity(trendingLogs);
+                flushed += chunk.size();
+            } catch (RuntimeException e) {
+                // E.g. another node inserted the first row for one of these products; retry next time
+                chunk.forEach(productId -> pending.computeIfAbsent(productId, id -> new LongAdder())
+                        .add(views.get(productId)));
+                System.err.println("Product view flush failed, will retry: " + e.getMessage());
+            }
+        }
+        refreshTopLists();
+        return flushed;
+    }
+
+    @Override
+    public List<ProductResponse> getTrending(int limit, ProductFields fields) {
+        return topProducts(trendingIds, limit, fields);
+    }
+
+    @Override
+    public List<ProductResponse> getMostViewed(int limit, ProductFields fields) {
+        return topProducts(mostViewedIds, limit, fields);
+    }
+
+    // Picks up views flushed by other nodes and products indexed since the last refresh
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${catalog.popularity.search-refresh-interval-ms:300000}",
+            initialDelayString = "${catalog.popularity.search-refresh-interval-ms:300000}")
+    public void refreshSearchPopularity() {
+        Map<Long, Double> trendingLogs = new HashMap<>();
+        long lastId = 0L;
+        while (true) {
+            List<Object[]> rows = popularityRepository.findTrendingLogsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Object[] row : rows) {
+                trendingLogs.put((Long) row[0], (Double) row[1]);
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        searchIndex.replacePopularity(trendingLogs);
+        refreshTopLists();
+    }
+
+    private Map<Long, Double> apply(List<Long> productIds, Map<Long, Long> views, long nowMillis) {
+        Map<Long, ProductPopularity> rows = popularityRepository.findAllByIdForUpdate(productIds).stream()
+                .collect(Collectors.toMap(ProductPopularity::getProductId, Function.identity()));
+        double halfLives = halfLivesSinceEpoch(nowMillis);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Double> trendingLogs = new HashMap<>();
+        for (Long productId : productIds) {
+            ProductPopularity popularity = rows.computeIfAbsent(productId, ProductPopularity::new);
+            popularity.addViews(views.get(productId), halfLives);
+            popularity.setUpdatedAt(now);
+            trendingLogs.put(productId, popularity.getTrendingLog());
+        }
+        popularityRepository.saveAll(rows.values());
+        return trendingLogs;
+    }
+
+    private void refreshTopLists() {
+        trendingIds = popularityRepository.findTrendingIds(PageRequest.of(0, maxLimit));
+        mostViewedIds = popularityRepository.findMostViewedIds(PageRequest.of(0, maxLimit));
+    }
+
+    private List<ProductResponse> topProducts(List<Long> ids, int limit, ProductFields fields) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + maxLimit);
+        }
+        return productService.getProductsByIds(ids.subList(0, Math.min(limit, ids.size())), fields);
+    }
+
+    private double halfLivesSinceEpoch(long nowMillis) {
+        return (double) (nowMillis - EPOCH_MILLIS) / halfLife.toMillis();
+    }
+}
@@ -0,0 +1,206 @@
+package com.oss.productcatalog.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oss.productcatalog.config.PrimaryReads;
+import com.oss.productcatalog.dto.ProductImageResponse;
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.event.ProductChangedEvent;
+import com.oss.productcatalog.event.ProductsImportedEvent;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.repository.ProductRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process cache of assembled product detail responses, in two tiers:
+ * <ul>
+ *   <li>the full response (without embedded reviews), bounded by size and a
+ *       TTL and evicted after any committed change to the product;</li>
+ *   <li>a stock overlay of stock and availability with a TTL of a few seconds,
+ *       applied on every read, so stock changes (which are frequent) only drop
+ *       the overlay and never the assembled response.</li>
+ * </ul>
+ * Entries are copied in and out, so callers may modify what they get back.
+ *
+ * With a read replica configured, the stock overlay is always read from the
+ * primary, and so is a product changed within the replica's allowed lag, so
+ * a write is never followed by a stale copy from the replica.
+ */
+@Component
+public class ProductResponseCache {
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, ProductResponse> responses;
+    private final Cache<Long, StockState> stock;
+    private final Cache<Long, Boolean> recentlyChanged;
+
+    // Bumped on every invalidation. A load only populates the cache if no
+    // invalidation ran meanwhile, so a read that raced a write cannot cache
+    // the pre-write state.
+    private final AtomicLong responseGeneration = new AtomicLong();
+    private final AtomicLong stockGeneration = new AtomicLong();
+
+    public ProductResponseCache(ProductRepository productRepository,
+                                ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${catalog.cache.products.max-size:10000}") long maxSize,
+                                @Value("${catalog.cache.products.ttl:PT10M}") Duration ttl,
+                                @Value("${catalog.cache.stock.ttl:PT2S}") Duration stockTtl,
+                                @Value("${catalog.datasource.replica.max-lag:PT5S}") Duration replicaMaxLag) {
+        this.productRepository = productRepository;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.stock = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(stockTtl)
+                .recordStats()
+                .build();
+        this.recentlyChanged = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(replicaMaxLag)
+                .build();
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, responses, "productResponses");
+            CaffeineCacheMetrics.monitor(registry, stock, "productStock");
+        });
+    }
+
+    /**
+     * Returns a copy of the cached response for {@code productId}, calling
+     * {@code loader} on a miss, with stock fields no older than the stock TTL.
+     */
+    public ProductResponse get(Long productId, Function<Long, ProductResponse> loader) {
+        ProductResponse cached = responses.getIfPresent(productId);
+        if (cached == null) {
+            long generation = responseGeneration.get();
+            ProductResponse loaded = recentlyChanged.getIfPresent(productId) != null
+                    ? PrimaryReads.call(() -> loader.apply(productId))
+                    : loader.apply(productId);
+            cached = copyOf(loaded);
+            if (responseGeneration.get() == generation) {
+                responses.put(productId, cached);
+            }
+            // The loader read stock in the same snapshot, so it is current
+            return copyOf(cached);
+        }
+
+        ProductResponse response = copyOf(cached);
+        StockState state = stockState(productId);
+        if (state != null) {
+            response.setStock(state.stock);
+            response.setAvailabilityStatus(state.availabilityStatus);
+        }
+        return response;
+    }
+
+    public void invalidate(Long productId) {
+        responseGeneration.incrementAndGet();
+        stockGeneration.incrementAndGet();
+        responses.invalidate(productId);
+        stock.invalidate(productId);
+        recentlyChanged.put(productId, Boolean.TRUE);
+    }
+
+    public void invalidateStock(Long productId) {
+        stockGeneration.incrementAndGet();
+        stock.invalidate(productId);
+        recentlyChanged.put(productId, Boolean.TRUE);
+    }
+
+    public void invalidateAll() {
+        responseGeneration.incrementAndGet();
+        stockGeneration.incrementAndGet();
+        responses.invalidateAll();
+        stock.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getChangeType() == ProductChangedEvent.ChangeType.STOCK_CHANGED) {
+            invalidateStock(event.getProductId());
+        } else {
+            invalidate(event.getProductId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.getProductIds().forEach(this::invalidate);
+    }
+
+    private StockState stockState(Long productId) {
+        StockState state = stock.getIfPresent(productId);
+        if (state != null) {
+            return state;
+        }
+        long generation = stockGeneration.get();
+        List<Object[]> rows = PrimaryReads.call(() -> productRepository.findStockStateById(productId));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        state = new StockState((Integer) rows.get(0)[0], (AvailabilityStatus) rows.get(0)[1]);
+        if (stockGeneration.get() == generation) {
+            stock.put(productId, state);
+        }
+        return state;
+    }
+
+    private static ProductResponse copyOf(ProductResponse source) {
+        ProductResponse copy = new ProductResponse();
+        copy.setId(source.getId());
+        copy.setSku(source.getSku());
+        copy.setName(source.getName());
+        copy.setBrand(source.getBrand());
+        copy.setDescription(source.getDescription());
+        copy.setPrice(source.getPrice());
+        copy.setCurrency(source.getCurrency());
+        copy.setStock(source.getStock());
+        copy.setAvailabilityStatus(source.getAvailabilityStatus());
+        copy.setSpecifications(source.getSpecifications() != null ? new HashMap<>(source.getSpecifications()) : null);
+        copy.setCategories(source.getCategories() != null ? new HashSet<>(source.getCategories()) : null);
+        copy.setImageUrls(source.getImageUrls() != null ? new ArrayList<>(source.getImageUrls()) : null);
+        if (source.getImages() != null) {
+            List<ProductImageResponse> images = new ArrayList<>();
+            for (ProductImageResponse image : source.getImages()) {
+                ProductImageResponse imageCopy = new ProductImageResponse();
+                imageCopy.setId(image.getId());
+                imageCopy.setUrl(image.getUrl());
+                imageCopy.setVariants(image.getVariants() != null ? new TreeMap<>(image.getVariants()) : null);
+                images.add(imageCopy);
+            }
+            copy.setImages(images);
+        }
+        copy.setAverageRating(source.getAverageRating());
+        copy.setReviewCount(source.getReviewCount());
+        copy.setReviews(source.getReviews() != null ? new ArrayList<>(source.getReviews()) : null);
+        return copy;
+    }
+
+    private static final class StockState {
+        final Integer stock;
+        final AvailabilityStatus availabilityStatus;
+
+        StockState(Integer stock, AvailabilityStatus availabilityStatus) {
+            this.stock = stock;
+            this.availabilityStatus = availabilityStatus;
+        }
+    }
+}
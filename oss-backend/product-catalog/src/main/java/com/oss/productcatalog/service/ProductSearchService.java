@@ -0,0 +1,23 @@
+package com.oss.productcatalog.service;
+
+import java.util.List;
+
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.dto.ProductSearchResponse;
+import com.oss.productcatalog.dto.ProductSuggestion;
+
+public interface ProductSearchService {
+
+    ProductSearchResponse search(ProductSearchRequest request);
+
+    // Result items carry only the requested fields
+    ProductSearchResponse search(ProductSearchRequest request, ProductFields fields);
+
+    // Name and brand completions for a typed prefix, best first
+    List<ProductSuggestion> suggest(String prefix, int limit);
+
+    // Products most often ordered together with this one, most frequent first
+    List<ProductResponse> related(Long productId, int limit, ProductFields fields);
+}
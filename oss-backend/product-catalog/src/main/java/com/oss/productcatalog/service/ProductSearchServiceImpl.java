@@ -0,0 +1,119 @@
+package com.oss.productcatalog.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.oss.productcatalog.dto.FacetValue;
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.dto.ProductSearchResponse;
+import com.oss.productcatalog.dto.ProductSuggestion;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.exception.ResourceNotFoundException;
+import com.oss.productcatalog.model.Category;
+import com.oss.productcatalog.repository.CategoryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.search.CoPurchaseIndex;
+import com.oss.productcatalog.search.CoPurchaseIndexer;
+import com.oss.productcatalog.search.ProductSearchIndex;
+import com.oss.productcatalog.search.ProductSuggester;
+import com.oss.productcatalog.search.SearchHits;
+
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private final ProductSearchIndex index;
+    private final ProductService productService;
+    private final CategoryRepository categoryRepository;
+    private final ProductSuggester suggester;
+    private final CategoryTreeCache categoryTreeCache;
+    private final CoPurchaseIndexer coPurchaseIndexer;
+    private final ProductRepository productRepository;
+
+    public ProductSearchServiceImpl(ProductSearchIndex index, ProductService productService,
+                                    CategoryRepository categoryRepository, ProductSuggester suggester,
+                                    CategoryTreeCache categoryTreeCache, CoPurchaseIndexer coPurchaseIndexer,
+                                    ProductRepository productRepository) {
+        this.index = index;
+        this.productService = productService;
+        this.categoryRepository = categoryRepository;
+        this.suggester = suggester;
+        this.categoryTreeCache = categoryTreeCache;
+        this.coPurchaseIndexer = coPurchaseIndexer;
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public ProductSearchResponse search(ProductSearchRequest request) {
+        return search(request, ProductFields.ALL);
+    }
+
+    @Override
+    public ProductSearchResponse search(ProductSearchRequest request, ProductFields fields) {
+        // Filtering by a category includes everything below it; the caller's request is left as given
+        Collection<Long> categoryIds = request.getCategoryIds() != null && !request.getCategoryIds().isEmpty()
+                ? categoryTreeCache.get().expand(request.getCategoryIds())
+                : null;
+        // Matching and ranking happen in memory; only the page of hits is loaded from the database
+        SearchHits hits = index.search(request, categoryIds);
+
+        ProductSearchResponse response = new ProductSearchResponse();
+        response.setItems(productService.getProductsByIds(hits.getProductIds(), fields));
+        response.setTotal(hits.getTotal());
+        response.setPage(request.getPage());
+        response.setSize(request.getSize());
+        response.setFacets(hits.getFacets());
+        labelCategories(hits.getFacets().get(ProductSearchIndex.CATEGORY_FACET));
+        return response;
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        return suggester.suggest(prefix, limit).stream()
+                .map(match -> {
+                    ProductSuggestion suggestion = new ProductSuggestion();
+                    suggestion.setText(match.getText());
+                    suggestion.setType(match.getType().name());
+                    suggestion.setProductId(match.getProductId());
+                    return suggestion;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductResponse> related(Long productId, int limit, ProductFields fields) {
+        if (limit < 1 || limit > coPurchaseIndexer.maxLimit()) {
+            throw new BadRequestException("limit must be between 1 and " + coPurchaseIndexer.maxLimit());
+        }
+        CoPurchaseIndex.Related related = coPurchaseIndexer.related(productId, limit);
+        if (related.size() == 0) {
+            if (!productRepository.existsById(productId)) {
+                throw new ResourceNotFoundException("Product not found with id: " + productId);
+            }
+            return new ArrayList<>();
+        }
+        List<Long> ids = new ArrayList<>(related.size());
+        for (int i = 0; i < related.size(); i++) {
+            ids.add(related.productId(i));
+        }
+        // Deleted products drop out here; the index keeps their counts until the next rebuild
+        return productService.getProductsByIds(ids, fields);
+    }
+
+    // The index only knows category ids; resolve display names in one lookup
+    private void labelCategories(List<FacetValue> categories) {
+        if (categories == null || categories.isEmpty()) {
+            return;
+        }
+        List<Long> ids = categories.stream().map(value -> Long.valueOf(value.getValue())).toList();
+        Map<Long, String> names = categoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+        categories.forEach(value -> value.setLabel(names.getOrDefault(Long.valueOf(value.getValue()), value.getLabel())));
+    }
+}
@@ -1,7 +1,10 @@
 package com.oss.productcatalog.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
+import com.oss.productcatalog.dto.ProductBatchResponse;
+import com.oss.productcatalog.dto.ProductFields;
 import com.oss.productcatalog.dto.ProductRequest;
 import com.oss.productcatalog.dto.ProductResponse;
 
@@ -11,10 +14,30 @@ public interface ProductService {
 
     ProductResponse getProductById(Long id);
 
+    // Embeds at most reviewLimit of the most recent reviews (none when 0)
+    ProductResponse getProductById(Long id, int reviewLimit);
+
     List<ProductResponse> getAllProducts();
+
+    // Loads only the requested columns and associations; the rest stay null
+    List<ProductResponse> getAllProducts(ProductFields fields);
+
+    // Hands every product to the consumer in id order with flat memory use; returns the count
+    long exportAll(Consumer<ProductResponse> consumer);
+
+    // Responses in the order of the given ids; ids with no product are skipped
+    List<ProductResponse> getProductsByIds(List<Long> ids);
+
+    List<ProductResponse> getProductsByIds(List<Long> ids, ProductFields fields);
     
+    // Price/availability projection for up to catalog.batch.max-ids ids in one query
+    ProductBatchResponse getProductSummaries(List<Long> ids);
+
     // Inventory management methods
     boolean reduceStock(Long productId, Integer quantity);
+
+    // orderRef is kept on the inventory ledger entry
+    boolean reduceStock(Long productId, Integer quantity, String orderRef);
     
     boolean checkStockAvailability(Long productId, Integer quantity);
 }
\ No newline at end of file
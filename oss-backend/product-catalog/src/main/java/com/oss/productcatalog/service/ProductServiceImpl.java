@@ -1,27 +1,55 @@
 package com.oss.productcatalog.service;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.oss.productcatalog.dto.ProductBatchResponse;
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductImageResponse;
 import com.oss.productcatalog.dto.ProductRequest;
 import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.dto.ProductSummaryResponse;
 import com.oss.productcatalog.dto.ReviewResponse;
+import com.oss.productcatalog.event.ProductChangedEvent;
+import com.oss.productcatalog.exception.BadRequestException;
 import com.oss.productcatalog.exception.ResourceNotFoundException;
 import com.oss.productcatalog.model.Category;
+import com.oss.productcatalog.model.InventoryChangeReason;
 import com.oss.productcatalog.model.Product;
-import com.oss.productcatalog.model.ProductImage;
+import com.oss.productcatalog.model.ProductRatingSummary;
 import com.oss.productcatalog.model.AvailabilityStatus;
 import com.oss.productcatalog.repository.CategoryRepository;
+import com.oss.productcatalog.repository.ProductImageRepository;
+import com.oss.productcatalog.repository.ProductRatingSummaryRepository;
 import com.oss.productcatalog.repository.ProductRepository;
 import com.oss.productcatalog.repository.ReviewRepository;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -38,6 +66,46 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ProductImageRepository imageRepository;
+
+    @Autowired
+    private ProductRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductResponseCache responseCache;
+
+    @Autowired
+    private InventoryChangeService inventoryChangeService;
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Autowired
+    private CategoryTreeCache categoryTreeCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${catalog.batch.max-ids:500}")
+    private int maxBatchIds;
+
+    @Value("${catalog.reviews.max-embedded:20}")
+    private int maxEmbeddedReviews;
+
+    private static final String IMAGE_BASE_URL = "http://localhost:9090/products/image/";
+
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
+    // Keeps IN (...) lists well below driver and planner limits on large catalogs
+    private static final int IN_CLAUSE_BATCH_SIZE = 1000;
+
     @Override
     public ProductResponse createProduct(ProductRequest request) {
 
@@ -61,58 +129,202 @@ public class ProductServiceImpl implements ProductService {
             product.setCategories(categories);
         }
 
-        return mapToResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        if (!saved.getCategories().isEmpty()) {
+            // Each ancestor gains the product once, however many of its descendants it is linked to
+            Set<Long> categoryIds = saved.getCategories().stream().map(Category::getId).collect(Collectors.toSet());
+            categoryRepository.adjustProductCount(categoryTreeCache.get().withAncestors(categoryIds), 1);
+        }
+        ratingSummaryRepository.save(new ProductRatingSummary(saved.getId()));
+        if (saved.getStock() != null && saved.getStock() != 0) {
+            inventoryChangeService.record(saved.getId(), saved.getStock(), InventoryChangeReason.CREATED, null);
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId(), ProductChangedEvent.ChangeType.CREATED));
+        return mapToResponse(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id) {
+        return getProductById(id, 0);
+    }
 
-        Product product = productRepository.findById(id)
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Product not found with id: " + id)
-                );
+    @Override
+    @Transactional(readOnly = true)
+    public ProductResponse getProductById(Long id, int reviewLimit) {
 
-        return mapToResponse(product);
+        ProductResponse response = responseCache.get(id, productId -> {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() ->
+                            new ResourceNotFoundException("Product not found with id: " + productId)
+                    );
+            return mapToResponse(product);
+        });
+        if (reviewLimit > 0) {
+            // Embedded reviews are opt-in and capped; the full feed is paged via /reviews
+            response.setReviews(reviewRepository.findFirstPage(id, null, null,
+                            PageRequest.of(0, Math.min(reviewLimit, maxEmbeddedReviews)))
+                    .stream()
+                    .map(this::mapReviewToResponse)
+                    .collect(Collectors.toList()));
+        }
+        withLeasedUnits(List.of(response));
+        return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponse> getAllProducts() {
-        return productRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        return getAllProducts(ProductFields.ALL);
     }
 
     @Override
-    public boolean reduceStock(Long productId, Integer quantity) {
-        try {
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
-            
-            // Check if sufficient stock is available
-            if (product.getStock() < quantity) {
-                System.err.println("Insufficient stock for product " + productId + 
-                                 ". Available: " + product.getStock() + ", Requested: " + quantity);
-                return false;
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getAllProducts(ProductFields fields) {
+        if (fields.isAll()) {
+            return withLeasedUnits(mapToResponses(productRepository.findAll()));
+        }
+        return withAssociations(withLeasedUnits(projectColumns(fields, null)), fields);
+    }
+
+    /**
+     * Reads products from a cursor and maps them in chunks, so associations
+     * are still loaded with one query per chunk. The persistence context is
+     * cleared after each chunk so nothing read earlier stays reachable.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<ProductResponse> consumer) {
+        long exported = 0;
+        List<Product> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Product> products = productRepository.streamAllOrderById()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    withLeasedUnits(mapToResponses(chunk)).forEach(consumer);
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
             }
-            
-            // Reduce stock
-            int newStock = product.getStock() - quantity;
-            product.setStock(newStock);
-            
-            // Update availability status based on new stock level
-            if (newStock == 0) {
-                product.setAvailabilityStatus(AvailabilityStatus.OUT_OF_STOCK);
-            } else if (newStock <= 5) { // Consider low stock threshold as 5
-                product.setAvailabilityStatus(AvailabilityStatus.LOW_STOCK);
+        }
+        return exported;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getProductsByIds(List<Long> ids) {
+        return getProductsByIds(ids, ProductFields.ALL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getProductsByIds(List<Long> ids, ProductFields fields) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (!fields.isAll()) {
+            Map<Long, ProductResponse> projected = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_BATCH_SIZE) {
+                projectColumns(fields, ids.subList(from, Math.min(from + IN_CLAUSE_BATCH_SIZE, ids.size())))
+                        .forEach(response -> projected.put(response.getId(), response));
+            }
+            return withAssociations(withLeasedUnits(ids.stream()
+                    .map(projected::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())), fields);
+        }
+        Map<Long, Product> byId = productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return withLeasedUnits(mapToResponses(ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList()));
+    }
+
+    @Override
+    public ProductBatchResponse getProductSummaries(List<Long> ids) {
+        // De-duplicate while keeping the caller's order
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > maxBatchIds) {
+            throw new BadRequestException("At most " + maxBatchIds + " product ids can be fetched per batch");
+        }
+
+        Map<Long, ProductSummaryResponse> found = new HashMap<>();
+        if (!distinctIds.isEmpty()) {
+            Map<Long, Integer> leased = hotStockService.leasedUnits(distinctIds);
+            for (Object[] row : productRepository.findSummariesByIds(distinctIds)) {
+                ProductSummaryResponse summary = new ProductSummaryResponse();
+                summary.setId((Long) row[0]);
+                summary.setSku((String) row[1]);
+                summary.setName((String) row[2]);
+                summary.setPrice((BigDecimal) row[3]);
+                summary.setCurrency((String) row[4]);
+                summary.setStock((Integer) row[5]);
+                summary.setAvailabilityStatus((AvailabilityStatus) row[6]);
+                if (summary.getStock() != null) {
+                    summary.setStock(summary.getStock() + leased.getOrDefault(summary.getId(), 0));
+                }
+                summary.setAvailable(!Boolean.FALSE.equals(row[7])
+                        && summary.getStock() != null && summary.getStock() > 0
+                        && summary.getAvailabilityStatus() != AvailabilityStatus.OUT_OF_STOCK);
+                found.put(summary.getId(), summary);
+            }
+        }
+
+        List<ProductSummaryResponse> items = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            ProductSummaryResponse summary = found.get(id);
+            if (summary != null) {
+                items.add(summary);
             } else {
-                product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+                missingIds.add(id);
             }
-            
-            productRepository.save(product);
-            System.out.println("Stock reduced for product " + productId + 
-                             ". New stock: " + newStock + ", Status: " + product.getAvailabilityStatus());
-            return true;
+        }
+
+        ProductBatchResponse response = new ProductBatchResponse();
+        response.setItems(items);
+        response.setMissingIds(missingIds);
+        return response;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean reduceStock(Long productId, Integer quantity) {
+        return reduceStock(productId, quantity, null);
+    }
+
+    /**
+     * Hot-stock products sell from in-memory counters without touching the
+     * database; their sales reach the ledger in per-flush batches, without
+     * the orderRef. Everything else decrements the stock row in its own
+     * transaction.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean reduceStock(Long productId, Integer quantity, String orderRef) {
+        if (quantity == null || quantity <= 0) {
+            return false;
+        }
+        try {
+            Boolean sold = hotStockService.tryReduceStock(productId, quantity);
+            if (sold != null) {
+                return sold;
+            }
+            return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> {
+                // Check and decrement in one statement; no read-modify-write window to oversell in
+                int updated = productRepository.decrementStock(productId, quantity, Product.LOW_STOCK_THRESHOLD);
+                if (updated == 0) {
+                    System.err.println("Insufficient stock or product not found for product " + productId
+                            + ". Requested: " + quantity);
+                    return false;
+                }
+                inventoryChangeService.record(productId, -quantity, InventoryChangeReason.SALE, orderRef);
+                eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.ChangeType.STOCK_CHANGED));
+                return true;
+            }));
             
         } catch (Exception e) {
             System.err.println("Error reducing stock for product " + productId + ": " + e.getMessage());
@@ -126,7 +338,8 @@ public class ProductServiceImpl implements ProductService {
             Product product = productRepository.findById(productId)
                     .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
             
-            return product.getStock() >= quantity && 
+            // Only the units this node holds can serve a sale made through it
+            return product.getStock() + hotStockService.heldUnits(productId) >= quantity && 
                    product.getAvailabilityStatus() != AvailabilityStatus.OUT_OF_STOCK;
                    
         } catch (Exception e) {
@@ -136,9 +349,141 @@ public class ProductServiceImpl implements ProductService {
     }
 
     private ProductResponse mapToResponse(Product product) {
+        return mapToResponses(List.of(product)).get(0);
+    }
+
+    /**
+     * Assembles responses for a batch of products with a fixed number of
+     * set-based queries (images, categories, specs, rating summaries) rather
+     * than lazy loads and review queries per product.
+     */
+    private List<ProductResponse> mapToResponses(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ProductAssociations associations = loadAssociations(
+                products.stream().map(Product::getId).toList(), ProductFields.ALL);
+        return products.stream()
+                .map(product -> mapToResponse(product, associations))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Selects only the requested product columns as a tuple projection. The
+     * select list is built from ProductFields.COLUMNS, never from raw input.
+     */
+    private List<ProductResponse> projectColumns(ProductFields fields, List<Long> ids) {
+        List<String> columns = fields.columns();
+        StringBuilder jpql = new StringBuilder("select p.id as id");
+        for (String column : columns) {
+            jpql.append(", p.").append(column).append(" as ").append(column);
+        }
+        jpql.append(" from Product p");
+        if (ids != null) {
+            jpql.append(" where p.id in :ids");
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        if (ids != null) {
+            query.setParameter("ids", ids);
+        }
+
+        List<ProductResponse> responses = new ArrayList<>();
+        for (Tuple row : query.getResultList()) {
+            ProductResponse response = new ProductResponse();
+            response.setId(row.get("id", Long.class));
+            for (String column : columns) {
+                setColumn(response, column, row.get(column));
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private static void setColumn(ProductResponse response, String column, Object value) {
+        switch (column) {
+            case "sku" -> response.setSku((String) value);
+            case "name" -> response.setName((String) value);
+            case "brand" -> response.setBrand((String) value);
+            case "description" -> response.setDescription((String) value);
+            case "price" -> response.setPrice((BigDecimal) value);
+            case "currency" -> response.setCurrency((String) value);
+            case "stock" -> response.setStock((Integer) value);
+            case "availabilityStatus" -> response.setAvailabilityStatus((AvailabilityStatus) value);
+            default -> throw new IllegalArgumentException("Not a product column: " + column);
+        }
+    }
+
+    /**
+     * Adds the units held in open hot-stock leases to the stock column, so
+     * every read reports the same stock whichever node serves it. The
+     * availability status already counts them.
+     */
+    private List<ProductResponse> withLeasedUnits(List<ProductResponse> responses) {
+        List<Long> ids = responses.stream()
+                .filter(response -> response.getStock() != null)
+                .map(ProductResponse::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return responses;
+        }
+        Map<Long, Integer> leased = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_BATCH_SIZE) {
+            leased.putAll(hotStockService.leasedUnits(ids.subList(from, Math.min(from + IN_CLAUSE_BATCH_SIZE, ids.size()))));
+        }
+        for (ProductResponse response : responses) {
+            Integer units = leased.get(response.getId());
+            if (units != null && response.getStock() != null) {
+                response.setStock(response.getStock() + units);
+            }
+        }
+        return responses;
+    }
+
+    private List<ProductResponse> withAssociations(List<ProductResponse> responses, ProductFields fields) {
+        if (!responses.isEmpty() && fields.includesAny(ProductFields.ASSOCIATIONS.toArray(String[]::new))) {
+            ProductAssociations associations = loadAssociations(
+                    responses.stream().map(ProductResponse::getId).toList(), fields);
+            responses.forEach(response -> fillAssociations(response, associations, fields));
+        }
+        return responses;
+    }
+
+    // Only runs the queries for associations the fields ask for
+    private ProductAssociations loadAssociations(List<Long> productIds, ProductFields fields) {
+        ProductAssociations associations = new ProductAssociations();
+        for (int from = 0; from < productIds.size(); from += IN_CLAUSE_BATCH_SIZE) {
+            List<Long> chunk = productIds.subList(from, Math.min(from + IN_CLAUSE_BATCH_SIZE, productIds.size()));
 
+            if (fields.includes("categories")) {
+                for (Object[] row : productRepository.findCategoryNamesByProductIds(chunk)) {
+                    associations.addCategoryName((Long) row[0], (String) row[1]);
+                }
+            }
+            if (fields.includes("specifications")) {
+                for (Object[] row : productRepository.findSpecificationsByProductIds(chunk)) {
+                    associations.addSpecification((Long) row[0], (String) row[1], (String) row[2]);
+                }
+            }
+            if (fields.includesAny("images", "imageUrls")) {
+                for (Object[] row : imageRepository.findImageRefsByProductIds(chunk)) {
+                    associations.addImage((Long) row[0], (Long) row[1], (String) row[2], (Integer) row[3]);
+                }
+            }
+            if (fields.includesAny("averageRating", "reviewCount")) {
+                for (ProductRatingSummary summary : ratingSummaryRepository.findAllById(chunk)) {
+                    associations.putRating(summary.getProductId(), summary);
+                }
+            }
+        }
+        return associations;
+    }
+
+    // Package-private, like mapImages, so the benchmarks module can measure it without a database
+    ProductResponse mapToResponse(Product product, ProductAssociations associations) {
+
+        Long productId = product.getId();
         ProductResponse response = new ProductResponse();
-        response.setId(product.getId());
+        response.setId(productId);
         response.setSku(product.getSku());
         response.setName(product.getName());
         response.setBrand(product.getBrand());
@@ -147,48 +492,57 @@ public class ProductServiceImpl implements ProductService {
         response.setCurrency(product.getCurrency());
         response.setStock(product.getStock());
         response.setAvailabilityStatus(product.getAvailabilityStatus());
-        response.setSpecifications(product.getSpecifications());
-        response.setCategories(
-                product.getCategories()
-                        .stream()
-                        .map(Category::getName)
-                        .collect(Collectors.toSet())
-        );
-        
+        fillAssociations(response, associations, ProductFields.ALL);
+        return response;
+    }
+
+    private void fillAssociations(ProductResponse response, ProductAssociations associations, ProductFields fields) {
+
+        Long productId = response.getId();
+        if (fields.includes("specifications")) {
+            response.setSpecifications(new HashMap<>(associations.specifications(productId)));
+        }
+        if (fields.includes("categories")) {
+            response.setCategories(new HashSet<>(associations.categoryNames(productId)));
+        }
+        if (fields.includesAny("images", "imageUrls")) {
+            response.setImages(mapImages(associations, productId));
+            response.setImageUrls(response.getImages().stream()
+                    .map(ProductImageResponse::getUrl)
+                    .collect(Collectors.toList()));
+        }
+        if (fields.includesAny("averageRating", "reviewCount")) {
+            ProductRatingSummary rating = associations.rating(productId);
+            if (rating != null) {
+                response.setAverageRating(rating.getAverageRating());
+                response.setReviewCount(rating.getReviewCount());
+            } else {
+                response.setAverageRating(0.0);
+                response.setReviewCount(0L);
+            }
+        }
+    }
+
+    List<ProductImageResponse> mapImages(ProductAssociations associations, Long productId) {
+
         // Map images: prefer external image_url when present, otherwise serve internal binary endpoint
-        List<String> imageUrls = product.getImages().stream()
-            .map((ProductImage image) -> {
-                if (image.getImageUrl() != null && !image.getImageUrl().isBlank()) {
-                    return image.getImageUrl();
+        List<ProductImageResponse> images = new ArrayList<>();
+        for (ProductAssociations.ImageRef image : associations.images(productId)) {
+            ProductImageResponse imageResponse = new ProductImageResponse();
+            imageResponse.setId(image.id);
+            Map<Integer, String> variants = new TreeMap<>();
+            if (image.imageUrl != null && !image.imageUrl.isBlank()) {
+                imageResponse.setUrl(image.imageUrl);
+            } else {
+                imageResponse.setUrl(IMAGE_BASE_URL + image.id);
+                for (Integer width : image.variantWidths) {
+                    variants.put(width, IMAGE_BASE_URL + image.id + "?w=" + width);
                 }
-                return "http://localhost:9090/products/image/" + image.getId();
-            })
-            .collect(Collectors.toList());
-        response.setImageUrls(imageUrls);
-        
-        // Calculate average rating and review count
-        Long productId = product.getId();
-        List<com.oss.productcatalog.model.Review> reviews = reviewRepository.findByProductIdOrderByCreatedAtDesc(productId);
-        if (!reviews.isEmpty()) {
-            double avgRating = reviews.stream()
-                    .mapToInt(com.oss.productcatalog.model.Review::getRating)
-                    .average()
-                    .orElse(0.0);
-            response.setAverageRating(avgRating);
-            response.setReviewCount((long) reviews.size());
-            
-            // Map reviews to ReviewResponse
-            List<ReviewResponse> reviewResponses = reviews.stream()
-                    .map(this::mapReviewToResponse)
-                    .collect(Collectors.toList());
-            response.setReviews(reviewResponses);
-        } else {
-            response.setAverageRating(0.0);
-            response.setReviewCount(0L);
-            response.setReviews(new ArrayList<>());
-        }
-        
-        return response;
+            }
+            imageResponse.setVariants(variants);
+            images.add(imageResponse);
+        }
+        return images;
     }
     
     private ReviewResponse mapReviewToResponse(com.oss.productcatalog.model.Review review) {
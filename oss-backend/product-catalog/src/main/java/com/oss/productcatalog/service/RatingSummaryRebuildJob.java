@@ -0,0 +1,91 @@
+package com.oss.productcatalog.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.model.ProductRatingSummary;
+import com.oss.productcatalog.repository.ProductRatingSummaryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.repository.ReviewRepository;
+
+/**
+ * Recomputes every product's rating summary from the reviews table. Runs once
+ * at startup (backfilling summaries for existing reviews) and then nightly to
+ * repair any drift in the incrementally maintained counters.
+ */
+@Component
+public class RatingSummaryRebuildJob {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final ProductRatingSummaryRepository summaryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public RatingSummaryRebuildJob(ProductRepository productRepository,
+                                   ReviewRepository reviewRepository,
+                                   ProductRatingSummaryRepository summaryRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.summaryRepository = summaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuildAll();
+    }
+
+    @Scheduled(cron = "${catalog.ratings.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long started = System.currentTimeMillis();
+        long lastId = 0L;
+        int rebuilt = 0;
+        while (true) {
+            List<Long> productIds = productRepository.findIdsAfter(lastId, PageRequest.of(0, CHUNK_SIZE));
+            if (productIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> rebuild(productIds));
+            rebuilt += productIds.size();
+            lastId = productIds.get(productIds.size() - 1);
+        }
+        System.out.println("Rebuilt rating summaries for " + rebuilt + " products in "
+                + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    /**
+     * Rebuilds one chunk in its own transaction. Summary rows are locked before
+     * the reviews are counted so concurrent review creation for these products
+     * waits instead of being overwritten by a stale count.
+     */
+    private void rebuild(List<Long> productIds) {
+        Map<Long, ProductRatingSummary> summaries = summaryRepository.findAllByIdForUpdate(productIds)
+                .stream()
+                .collect(Collectors.toMap(ProductRatingSummary::getProductId, Function.identity()));
+
+        Map<Long, ProductRatingSummary> rebuilt = new HashMap<>();
+        for (Long productId : productIds) {
+            ProductRatingSummary summary = summaries.getOrDefault(productId, new ProductRatingSummary(productId));
+            summary.reset();
+            rebuilt.put(productId, summary);
+        }
+        for (Object[] row : reviewRepository.countRatingsByProductIds(productIds)) {
+            rebuilt.get((Long) row[0]).addRating((Integer) row[1], ((Number) row[2]).longValue());
+        }
+        summaryRepository.saveAll(rebuilt.values());
+    }
+}
@@ -0,0 +1,44 @@
+package com.oss.productcatalog.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.model.Review;
+
+/**
+ * Position in the (createdAt desc, id desc) review order, encoded as an
+ * opaque URL-safe token so clients cannot depend on its layout.
+ */
+final class ReviewCursor {
+
+    final LocalDateTime createdAt;
+    final Long id;
+
+    private ReviewCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    static ReviewCursor after(Review review) {
+        return new ReviewCursor(review.getCreatedAt(), review.getId());
+    }
+
+    static ReviewCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new ReviewCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid review cursor: " + token);
+        }
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
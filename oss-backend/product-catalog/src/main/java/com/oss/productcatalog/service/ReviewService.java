@@ -1,14 +1,15 @@
 package com.oss.productcatalog.service;
 
+import com.oss.productcatalog.dto.RatingSummaryResponse;
+import com.oss.productcatalog.dto.ReviewPageResponse;
 import com.oss.productcatalog.dto.ReviewRequest;
 import com.oss.productcatalog.dto.ReviewResponse;
 
-import java.util.List;
-
 public interface ReviewService {
     ReviewResponse createReview(Long productId, ReviewRequest request);
-    List<ReviewResponse> getReviewsByProductId(Long productId);
+    ReviewPageResponse getReviews(Long productId, String cursor, Integer size, Integer rating, Boolean verifiedPurchase);
     Double getAverageRating(Long productId);
     Long getReviewCount(Long productId);
+    RatingSummaryResponse getRatingSummary(Long productId);
 }
 
@@ -1,17 +1,31 @@
 package com.oss.productcatalog.service;
 
 import com.oss.productcatalog.dto.ReviewRequest;
+import com.oss.productcatalog.dto.RatingSummaryResponse;
+import com.oss.productcatalog.dto.ReviewPageResponse;
 import com.oss.productcatalog.dto.ReviewResponse;
+import com.oss.productcatalog.event.ProductChangedEvent;
 import com.oss.productcatalog.exception.ResourceNotFoundException;
 import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ProductRatingSummary;
 import com.oss.productcatalog.model.Review;
+import com.oss.productcatalog.repository.ProductRatingSummaryRepository;
 import com.oss.productcatalog.repository.ProductRepository;
 import com.oss.productcatalog.repository.ReviewRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,10 +34,26 @@ public class ReviewServiceImpl implements ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
+    private final ProductRatingSummaryRepository summaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransaction;
 
-    public ReviewServiceImpl(ReviewRepository reviewRepository, ProductRepository productRepository) {
+    @Value("${catalog.reviews.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${catalog.reviews.max-page-size:100}")
+    private int maxPageSize;
+
+    public ReviewServiceImpl(ReviewRepository reviewRepository, ProductRepository productRepository,
+                             ProductRatingSummaryRepository summaryRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager) {
         this.reviewRepository = reviewRepository;
         this.productRepository = productRepository;
+        this.summaryRepository = summaryRepository;
+        this.eventPublisher = eventPublisher;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @Override
@@ -31,6 +61,9 @@ public class ReviewServiceImpl implements ReviewService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
+        // Lock the summary first so concurrent reviews for the product serialize on it
+        ProductRatingSummary summary = lockSummary(productId);
+
         Review review = new Review();
         review.setProduct(product);
         review.setUserId(request.getUserId());
@@ -43,35 +76,92 @@ public class ReviewServiceImpl implements ReviewService {
         review.setHelpfulCount(0);
 
         Review savedReview = reviewRepository.save(review);
+        summary.addRating(savedReview.getRating(), 1);
+        summaryRepository.save(summary);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.ChangeType.REVIEW_ADDED));
         return mapToResponse(savedReview);
     }
 
     @Override
-    public List<ReviewResponse> getReviewsByProductId(Long productId) {
-        List<Review> reviews = reviewRepository.findByProductIdOrderByCreatedAtDesc(productId);
-        return reviews.stream()
+    @Transactional(readOnly = true)
+    public ReviewPageResponse getReviews(Long productId, String cursor, Integer size,
+                                         Integer rating, Boolean verifiedPurchase) {
+        int pageSize = Math.min(size != null && size > 0 ? size : defaultPageSize, maxPageSize);
+        ReviewCursor after = cursor != null && !cursor.isBlank() ? ReviewCursor.decode(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Review> reviews = after == null
+                ? reviewRepository.findFirstPage(productId, rating, verifiedPurchase, limit)
+                : reviewRepository.findPageAfter(productId, rating, verifiedPurchase, after.createdAt, after.id, limit);
+
+        boolean hasMore = reviews.size() > pageSize;
+        List<Review> page = hasMore ? reviews.subList(0, pageSize) : reviews;
+
+        ReviewPageResponse response = new ReviewPageResponse();
+        response.setItems(page.stream()
                 .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+        response.setHasMore(hasMore);
+        response.setNextCursor(hasMore ? ReviewCursor.after(page.get(page.size() - 1)).encode() : null);
+        return response;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double getAverageRating(Long productId) {
-        List<Review> reviews = reviewRepository.findByProductIdOrderByCreatedAtDesc(productId);
-        if (reviews.isEmpty()) {
-            return 0.0;
-        }
-        return reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
+        return findSummary(productId).getAverageRating();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long getReviewCount(Long productId) {
-        return reviewRepository.countByProductId(productId);
+        return findSummary(productId).getReviewCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RatingSummaryResponse getRatingSummary(Long productId) {
+        ProductRatingSummary summary = findSummary(productId);
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int star = 5; star >= 1; star--) {
+            histogram.put(star, summary.getStarCount(star));
+        }
+
+        RatingSummaryResponse response = new RatingSummaryResponse();
+        response.setProductId(productId);
+        response.setAverageRating(summary.getAverageRating());
+        response.setReviewCount(summary.getReviewCount());
+        response.setHistogram(histogram);
+        return response;
+    }
+
+    /**
+     * Locks the product's summary row, creating an empty one first if the
+     * product has none (created before summaries existed, or imported). A
+     * locking read cannot lock a missing row, so the row is inserted in its
+     * own transaction; if a concurrent review inserted it first, that insert
+     * fails harmlessly and both lock the same row.
+     */
+    private ProductRatingSummary lockSummary(Long productId) {
+        if (!summaryRepository.existsById(productId)) {
+            try {
+                newTransaction.executeWithoutResult(status -> summaryRepository.insertEmpty(productId));
+            } catch (DataIntegrityViolationException e) {
+                // Created by a concurrent review
+            }
+        }
+        return summaryRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new IllegalStateException("Rating summary missing for product " + productId));
+    }
+
+    private ProductRatingSummary findSummary(Long productId) {
+        return summaryRepository.findById(productId)
+                .orElseGet(() -> new ProductRatingSummary(productId));
     }
 
-    private ReviewResponse mapToResponse(Review review) {
+    // Package-private for the benchmarks module
+    ReviewResponse mapToResponse(Review review) {
         ReviewResponse response = new ReviewResponse();
         response.setId(review.getId());
         response.setUserId(review.getUserId());
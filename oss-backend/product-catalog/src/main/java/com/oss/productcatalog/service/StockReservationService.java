@@ -0,0 +1,19 @@
+package com.oss.productcatalog.service;
+
+import com.oss.productcatalog.dto.StockReservationRequest;
+import com.oss.productcatalog.dto.StockReservationResponse;
+
+public interface StockReservationService {
+
+    // All items are reserved or none are; a rejected response carries per-item reasons
+    StockReservationResponse reserve(StockReservationRequest request);
+
+    StockReservationResponse commit(String reservationId);
+
+    StockReservationResponse release(String reservationId);
+
+    StockReservationResponse getReservation(String reservationId);
+
+    // Returns stock held by reservations whose TTL passed without a commit
+    int expireStaleReservations();
+}
@@ -0,0 +1,290 @@
+package com.oss.productcatalog.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.dto.ReservationItemRequest;
+import com.oss.productcatalog.dto.ReservationItemResult;
+import com.oss.productcatalog.dto.StockReservationRequest;
+import com.oss.productcatalog.dto.StockReservationResponse;
+import com.oss.productcatalog.event.ProductChangedEvent;
+import com.oss.productcatalog.event.ReservationCommittedEvent;
+import com.oss.productcatalog.exception.ConflictException;
+import com.oss.productcatalog.exception.ResourceNotFoundException;
+import com.oss.productcatalog.model.InventoryChangeReason;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ReservationStatus;
+import com.oss.productcatalog.model.StockReservation;
+import com.oss.productcatalog.model.StockReservationItem;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.repository.StockReservationRepository;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final int EXPIRY_BATCH_SIZE = 100;
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryChangeService inventoryChangeService;
+    private final HotStockService hotStockService;
+
+    @Value("${catalog.reservations.ttl:PT15M}")
+    private Duration ttl;
+
+    public StockReservationServiceImpl(StockReservationRepository reservationRepository,
+                                       ProductRepository productRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager,
+                                       InventoryChangeService inventoryChangeService,
+                                       HotStockService hotStockService) {
+        this.reservationRepository = reservationRepository;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inventoryChangeService = inventoryChangeService;
+        this.hotStockService = hotStockService;
+    }
+
+    /**
+     * Hot-stock products are reserved from this node's counter, withdrawn
+     * before the transaction because refilling the counter leases from the
+     * stock row in a transaction of its own. The withdrawn units are taken
+     * off their lease in the transaction that saves the reservation, and
+     * handed back if it is not saved. Release and expiry return them to the
+     * stock row, as for every other product.
+     */
+    @Override
+    public StockReservationResponse reserve(StockReservationRequest request) {
+        // Merge repeated products and take row locks in ascending id order,
+        // so two reservations over the same products cannot deadlock
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (ReservationItemRequest item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        Map<Long, Long> leases = new HashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            Long leaseId = hotStockService.withdraw(productId, quantity);
+            if (leaseId != null) {
+                leases.put(productId, leaseId);
+            }
+        });
+
+        StockReservation reservation;
+        try {
+            reservation = transactionTemplate.execute(status -> reserve(request.getOrderRef(), quantities, leases, status));
+        } catch (RuntimeException e) {
+            returnWithdrawn(quantities, leases);
+            throw e;
+        }
+        if (reservation == null) {
+            returnWithdrawn(quantities, leases);
+            return rejected(request.getOrderRef(), quantities);
+        }
+        return mapToResponse(reservation);
+    }
+
+    private StockReservation reserve(String orderRef, Map<Long, Integer> quantities, Map<Long, Long> leases,
+                                     TransactionStatus status) {
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Long leaseId = leases.get(line.getKey());
+            if (leaseId != null) {
+                hotStockService.recordWithdrawal(leaseId, line.getValue());
+            } else if (productRepository.decrementStock(line.getKey(), line.getValue(), Product.LOW_STOCK_THRESHOLD) == 0) {
+                // Undo the lines already taken; nothing is reserved
+                status.setRollbackOnly();
+                return null;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        StockReservation created = new StockReservation();
+        created.setId(UUID.randomUUID().toString());
+        created.setOrderRef(orderRef);
+        created.setStatus(ReservationStatus.PENDING);
+        created.setCreatedAt(now);
+        created.setExpiresAt(now.plus(ttl));
+        quantities.forEach((productId, quantity) -> {
+            inventoryChangeService.record(productId, -quantity, InventoryChangeReason.RESERVED, orderRef);
+            StockReservationItem item = new StockReservationItem();
+            item.setReservation(created);
+            item.setProductId(productId);
+            item.setQuantity(quantity);
+            created.getItems().add(item);
+        });
+        reservationRepository.save(created);
+        publishStockChanged(quantities.keySet());
+        return created;
+    }
+
+    private void returnWithdrawn(Map<Long, Integer> quantities, Map<Long, Long> leases) {
+        leases.forEach((productId, leaseId) -> hotStockService.returnWithdrawn(productId, leaseId, quantities.get(productId)));
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse commit(String reservationId) {
+        StockReservation reservation = findForUpdate(reservationId);
+        switch (reservation.getStatus()) {
+            case COMMITTED:
+                return mapToResponse(reservation);
+            case PENDING:
+                if (reservation.getExpiresAt().isBefore(LocalDateTime.now())) {
+                    // The sweeper returns the stock; committing now could double-sell it
+                    throw new ConflictException("Reservation " + reservationId + " has expired");
+                }
+                reservation.setStatus(ReservationStatus.COMMITTED);
+                eventPublisher.publishEvent(new ReservationCommittedEvent(reservation.getId(),
+                        reservation.getItems().stream().map(StockReservationItem::getProductId).toList()));
+                return mapToResponse(reservation);
+            default:
+                throw new ConflictException("Reservation " + reservationId + " is " + reservation.getStatus());
+        }
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse release(String reservationId) {
+        StockReservation reservation = findForUpdate(reservationId);
+        switch (reservation.getStatus()) {
+            case RELEASED:
+            case EXPIRED:
+                return mapToResponse(reservation);
+            case PENDING:
+                restoreStock(reservation, ReservationStatus.RELEASED);
+                return mapToResponse(reservation);
+            default:
+                throw new ConflictException("Reservation " + reservationId + " is already committed");
+        }
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse getReservation(String reservationId) {
+        return mapToResponse(reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + reservationId)));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${catalog.reservations.sweep-interval-ms:30000}")
+    public int expireStaleReservations() {
+        int expired = 0;
+        List<String> ids;
+        do {
+            ids = reservationRepository.findExpiredIds(ReservationStatus.PENDING, LocalDateTime.now(),
+                    PageRequest.of(0, EXPIRY_BATCH_SIZE));
+            for (String id : ids) {
+                // One transaction per reservation; re-check under the lock in case it was committed meanwhile
+                Boolean done = transactionTemplate.execute(status -> {
+                    StockReservation reservation = reservationRepository.findByIdForUpdate(id).orElse(null);
+                    if (reservation == null || reservation.getStatus() != ReservationStatus.PENDING) {
+                        return false;
+                    }
+                    restoreStock(reservation, ReservationStatus.EXPIRED);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(done)) {
+                    expired++;
+                }
+            }
+        } while (ids.size() == EXPIRY_BATCH_SIZE);
+
+        if (expired > 0) {
+            System.out.println("Expired " + expired + " uncommitted stock reservations");
+        }
+        return expired;
+    }
+
+    private StockReservation findForUpdate(String reservationId) {
+        return reservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + reservationId));
+    }
+
+    private void restoreStock(StockReservation reservation, ReservationStatus finalStatus) {
+        // Items are stored sorted by product id, keeping the same lock order as reserve()
+        InventoryChangeReason reason = finalStatus == ReservationStatus.EXPIRED
+                ? InventoryChangeReason.RESERVATION_EXPIRED
+                : InventoryChangeReason.RESERVATION_RELEASED;
+        for (StockReservationItem item : reservation.getItems()) {
+            productRepository.incrementStock(item.getProductId(), item.getQuantity(), Product.LOW_STOCK_THRESHOLD);
+            inventoryChangeService.record(item.getProductId(), item.getQuantity(), reason, reservation.getOrderRef());
+        }
+        reservation.setStatus(finalStatus);
+        reservationRepository.save(reservation);
+        publishStockChanged(reservation.getItems().stream().map(StockReservationItem::getProductId).toList());
+    }
+
+    private void publishStockChanged(Iterable<Long> productIds) {
+        for (Long productId : productIds) {
+            eventPublisher.publishEvent(new ProductChangedEvent(productId, ProductChangedEvent.ChangeType.STOCK_CHANGED));
+        }
+    }
+
+    private StockReservationResponse rejected(String orderRef, Map<Long, Integer> quantities) {
+        Map<Long, Integer> stock = new HashMap<>();
+        for (Object[] row : productRepository.findStockByIds(quantities.keySet())) {
+            stock.put((Long) row[0], (Integer) row[1] + hotStockService.heldUnits((Long) row[0]));
+        }
+
+        List<ReservationItemResult> items = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> {
+            Integer available = stock.get(productId);
+            ReservationItemResult result = new ReservationItemResult();
+            result.setProductId(productId);
+            result.setQuantity(quantity);
+            result.setReserved(false);
+            result.setAvailable(available);
+            if (available == null) {
+                result.setReason("NOT_FOUND");
+            } else if (available < quantity) {
+                result.setReason("INSUFFICIENT_STOCK");
+            }
+            items.add(result);
+        });
+
+        StockReservationResponse response = new StockReservationResponse();
+        response.setOrderRef(orderRef);
+        response.setStatus(ReservationStatus.REJECTED);
+        response.setItems(items);
+        return response;
+    }
+
+    private StockReservationResponse mapToResponse(StockReservation reservation) {
+        StockReservationResponse response = new StockReservationResponse();
+        response.setReservationId(reservation.getId());
+        response.setOrderRef(reservation.getOrderRef());
+        response.setStatus(reservation.getStatus());
+        response.setExpiresAt(reservation.getExpiresAt());
+        response.setItems(reservation.getItems().stream()
+                .map(item -> {
+                    ReservationItemResult result = new ReservationItemResult();
+                    result.setProductId(item.getProductId());
+                    result.setQuantity(item.getQuantity());
+                    result.setReserved(reservation.getStatus() == ReservationStatus.PENDING
+                            || reservation.getStatus() == ReservationStatus.COMMITTED);
+                    return result;
+                })
+                .collect(Collectors.toList()));
+        return response;
+    }
+}
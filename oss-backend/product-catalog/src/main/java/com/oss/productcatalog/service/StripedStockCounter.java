@@ -0,0 +1,150 @@
+package com.oss.productcatalog.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory stock of one hot product, split over stripes so concurrent sales
+ * rarely contend on the same cache line. Each stripe is one long holding the
+ * units it may still sell (low 32 bits) and its sales since the last flush
+ * (high 32 bits), so taking a unit and counting the sale is a single CAS.
+ * Units only enter through {@link #deposit} and a stripe never goes below
+ * zero, so the counter cannot sell more than it was given.
+ */
+final class StripedStockCounter {
+
+    // Eight longs per stripe keep neighbouring stripes on separate 64-byte lines
+    private static final int PAD = 8;
+    private static final long HELD_MASK = 0xFFFFFFFFL;
+
+    private final Long productId;
+    private final Long leaseId;
+    private final int stripes;
+    private final AtomicLongArray cells;
+    // Serializes refills and closing; never taken on the fast path
+    private final Object refillLock = new Object();
+    private volatile boolean closed;
+
+    StripedStockCounter(Long productId, Long leaseId, int stripes) {
+        this.productId = productId;
+        this.leaseId = leaseId;
+        this.stripes = Math.max(1, stripes);
+        this.cells = new AtomicLongArray(this.stripes * PAD);
+    }
+
+    Long productId() {
+        return productId;
+    }
+
+    Long leaseId() {
+        return leaseId;
+    }
+
+    Object refillLock() {
+        return refillLock;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    /** Takes quantity units from a single stripe, trying the caller's own stripe first. */
+    boolean tryTake(int quantity) {
+        return tryTake(quantity, true);
+    }
+
+    /** Like {@link #tryTake} but without counting a sale: the units leave the lease unsold. */
+    boolean tryWithdraw(int quantity) {
+        return tryTake(quantity, false);
+    }
+
+    /**
+     * Adds sellable units spread over all stripes, and sales (made by the
+     * caller from units it drained) to the caller's stripe.
+     */
+    void deposit(int units, int sold) {
+        int home = homeStripe();
+        int share = units / stripes;
+        for (int i = 0; i < stripes; i++) {
+            int add = i == home ? share + units % stripes : share;
+            long delta = add + (i == home ? (long) sold << 32 : 0L);
+            if (delta != 0) {
+                cells.getAndAdd(i * PAD, delta);
+            }
+        }
+    }
+
+    /** Removes and returns every unsold unit; unflushed sales stay. */
+    int drain() {
+        int drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            int index = i * PAD;
+            long cell;
+            do {
+                cell = cells.get(index);
+            } while (!cells.compareAndSet(index, cell, cell & ~HELD_MASK));
+            drained += (int) (cell & HELD_MASK);
+        }
+        return drained;
+    }
+
+    /** Removes and returns the sales made since the previous call. */
+    int takeSales() {
+        int sold = 0;
+        for (int i = 0; i < stripes; i++) {
+            int index = i * PAD;
+            long cell;
+            do {
+                cell = cells.get(index);
+            } while (!cells.compareAndSet(index, cell, cell & HELD_MASK));
+            sold += (int) (cell >>> 32);
+        }
+        return sold;
+    }
+
+    // Puts back sales whose flush failed, to be written by the next one
+    void restoreSales(int sold) {
+        deposit(0, sold);
+    }
+
+    /** Unsold units; a moving snapshot while sales are running. */
+    int held() {
+        int held = 0;
+        for (int i = 0; i < stripes; i++) {
+            held += (int) (cells.get(i * PAD) & HELD_MASK);
+        }
+        return held;
+    }
+
+    private boolean tryTake(int quantity, boolean sale) {
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            if (tryTake((home + i) % stripes, quantity, sale)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryTake(int stripe, int quantity, boolean sale) {
+        int index = stripe * PAD;
+        long sold = sale ? (long) quantity << 32 : 0L;
+        while (true) {
+            long cell = cells.get(index);
+            if ((cell & HELD_MASK) < quantity) {
+                return false;
+            }
+            if (cells.compareAndSet(index, cell, cell - quantity + sold)) {
+                return true;
+            }
+        }
+    }
+
+    private int homeStripe() {
+        long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) ((h >>> 32) % stripes);
+    }
+}
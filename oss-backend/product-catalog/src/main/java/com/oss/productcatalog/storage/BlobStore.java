@@ -0,0 +1,27 @@
+package com.oss.productcatalog.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Content-addressed storage for binary payloads such as product images.
+ * Blobs are keyed by the lowercase hex SHA-256 of their bytes, so storing the
+ * same content twice yields the same key and keeps a single copy.
+ */
+public interface BlobStore {
+
+    /**
+     * Streams {@code content} into the store without buffering it in memory.
+     * The caller remains responsible for closing the stream.
+     */
+    StoredBlob put(InputStream content) throws IOException;
+
+    /** Returns the blob for {@code hash}, or {@code null} if it is not stored. */
+    Resource get(String hash);
+
+    boolean exists(String hash);
+
+    void delete(String hash) throws IOException;
+}
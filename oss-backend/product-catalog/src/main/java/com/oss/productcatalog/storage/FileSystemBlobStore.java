@@ -0,0 +1,109 @@
+package com.oss.productcatalog.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link BlobStore} on the local filesystem. Blobs live at
+ * {@code <root>/ab/cd/abcd...} (two levels of fan-out keep directories small).
+ * Uploads are written to {@code <root>/tmp} while hashing and then renamed into
+ * place, so readers never observe a partially written blob.
+ */
+@Component
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tempDir;
+
+    public FileSystemBlobStore(@Value("${catalog.blobs.root:./data/blobs}") Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        // Same filesystem as the blobs, so the final rename can be atomic
+        this.tempDir = Files.createDirectories(this.root.resolve("tmp"));
+    }
+
+    @Override
+    public StoredBlob put(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Path target = pathFor(hash);
+            if (Files.exists(target)) {
+                return new StoredBlob(hash, size, false);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // A concurrent upload of the same bytes won the rename
+                return new StoredBlob(hash, size, false);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target);
+            }
+            return new StoredBlob(hash, size, true);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource get(String hash) {
+        if (!isValidHash(hash)) {
+            return null;
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? new FileSystemResource(path) : null;
+    }
+
+    @Override
+    public boolean exists(String hash) {
+        return isValidHash(hash) && Files.isRegularFile(pathFor(hash));
+    }
+
+    @Override
+    public void delete(String hash) throws IOException {
+        if (isValidHash(hash)) {
+            Files.deleteIfExists(pathFor(hash));
+        }
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static boolean isValidHash(String hash) {
+        return hash != null && SHA256_HEX.matcher(hash).matches();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
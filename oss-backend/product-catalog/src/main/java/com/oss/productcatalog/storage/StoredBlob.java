@@ -0,0 +1,28 @@
+package com.oss.productcatalog.storage;
+
+/** Result of {@link BlobStore#put}: the content key and whether it was new. */
+public final class StoredBlob {
+
+    private final String hash;
+    private final long sizeBytes;
+    private final boolean created;
+
+    public StoredBlob(String hash, long sizeBytes, boolean created) {
+        this.hash = hash;
+        this.sizeBytes = sizeBytes;
+        this.created = created;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /** False when identical content was already stored and the upload was discarded. */
+    public boolean isCreated() {
+        return created;
+    }
+}
@@ -0,0 +1,130 @@
+package com.oss.productcatalog.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAnUpToDateReplica() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, "node-1", Duration.ofSeconds(5), true);
+        route(monitor);
+        replicate(monitor);
+
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+        assertEquals("primary", readWrite.execute(status -> whereAmI()));
+        // Outside a transaction
+        assertEquals("primary", whereAmI());
+    }
+
+    @Test
+    void pinnedReadsStayOnThePrimary() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, "node-1", Duration.ofSeconds(5), true);
+        route(monitor);
+        replicate(monitor);
+
+        assertEquals("primary", PrimaryReads.call(() -> readOnly.execute(status -> whereAmI())));
+        assertEquals("replica", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void laggingReplicaIsNotUsed() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, "node-1", Duration.ofSeconds(5), true);
+        route(monitor);
+        monitor.heartbeat();
+        // Nothing replicated yet
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+
+        new JdbcTemplate(replica).update("insert into replication_heartbeats (node, beat_at) values (?, ?)",
+                "node-1", System.currentTimeMillis() - 60_000);
+        monitor.heartbeat();
+        assertFalse(monitor.isReplicaUsable());
+        assertTrue(monitor.getLagMillis() >= 60_000);
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        DataSource down = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/nowhere", "sa", "");
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, down, "node-1", Duration.ofSeconds(5), false);
+        monitor.heartbeat();
+        assertFalse(monitor.isReplicaUsable());
+
+        // Reachable at the last heartbeat but gone since
+        ReplicaLagMonitor stale = new ReplicaLagMonitor(primary, replica, "node-1", Duration.ofSeconds(5), false);
+        stale.heartbeat();
+        assertTrue(stale.isReplicaUsable());
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, down, stale);
+        routing.afterPropertiesSet();
+        use(new LazyConnectionDataSourceProxy(routing));
+
+        assertEquals("primary", readOnly.execute(status -> whereAmI()));
+        assertFalse(stale.isReplicaUsable());
+    }
+
+    private void route(ReplicaLagMonitor monitor) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, monitor);
+        routing.afterPropertiesSet();
+        use(new LazyConnectionDataSourceProxy(routing));
+    }
+
+    private void use(DataSource dataSource) {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    // Stands in for replication: copies the primary's heartbeats to the replica, then beats again
+    private void replicate(ReplicaLagMonitor monitor) {
+        monitor.heartbeat();
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        new JdbcTemplate(primary).queryForList("select node, beat_at from replication_heartbeats")
+                .forEach(row -> replicaJdbc.update("merge into replication_heartbeats (node, beat_at) values (?, ?)",
+                        row.get("node"), row.get("beat_at")));
+        monitor.heartbeat();
+    }
+
+    private String whereAmI() {
+        return jdbc.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("drop table if exists marker");
+        jdbc.execute("drop table if exists replication_heartbeats");
+        jdbc.execute("create table marker (name varchar(20))");
+        jdbc.execute("create table replication_heartbeats (node varchar(100) primary key, beat_at bigint not null)");
+        jdbc.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,75 @@
+package com.oss.productcatalog.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.oss.productcatalog.config.SecurityConfig;
+import com.oss.productcatalog.dto.ProductBatchResponse;
+import com.oss.productcatalog.dto.ProductSummaryResponse;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.importer.ProductImporter;
+import com.oss.productcatalog.service.ProductImageService;
+import com.oss.productcatalog.service.ProductPopularityService;
+import com.oss.productcatalog.service.ProductSearchService;
+import com.oss.productcatalog.service.ProductService;
+
+@WebMvcTest(ProductController.class)
+@Import(SecurityConfig.class)
+class ProductBatchEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductService productService;
+
+    @MockBean
+    private ProductSearchService productSearchService;
+
+    @MockBean
+    private ProductImageService productImageService;
+
+    @MockBean
+    private ProductImporter productImporter;
+
+    @MockBean
+    private ProductPopularityService productPopularityService;
+
+    @Test
+    void returnsItemsAndMissingIds() throws Exception {
+        ProductSummaryResponse summary = new ProductSummaryResponse();
+        summary.setId(7L);
+        summary.setSku("SKU-7");
+        ProductBatchResponse response = new ProductBatchResponse();
+        response.setItems(List.of(summary));
+        response.setMissingIds(List.of(9L));
+        when(productService.getProductSummaries(List.of(9L, 7L))).thenReturn(response);
+
+        mockMvc.perform(post("/api/products/batch").contentType(MediaType.APPLICATION_JSON).content("[9, 7]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[0].sku").value("SKU-7"))
+                .andExpect(jsonPath("$.missingIds[0]").value(9));
+    }
+
+    @Test
+    void tooManyIdsIsABadRequest() throws Exception {
+        when(productService.getProductSummaries(List.of(1L, 2L, 3L)))
+                .thenThrow(new BadRequestException("At most 2 product ids can be fetched per batch"));
+
+        mockMvc.perform(post("/api/products/batch").contentType(MediaType.APPLICATION_JSON).content("[1, 2, 3]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,87 @@
+package com.oss.productcatalog.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.oss.productcatalog.config.SecurityConfig;
+import com.oss.productcatalog.importer.ProductImporter;
+import com.oss.productcatalog.model.ProductImage;
+import com.oss.productcatalog.service.ProductImageService;
+import com.oss.productcatalog.service.ProductPopularityService;
+import com.oss.productcatalog.service.ProductSearchService;
+import com.oss.productcatalog.service.ProductService;
+
+@WebMvcTest(ProductController.class)
+@Import(SecurityConfig.class)
+class ProductImageEndpointTest {
+
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final byte[] BYTES = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductService productService;
+
+    @MockBean
+    private ProductSearchService productSearchService;
+
+    @MockBean
+    private ProductImageService productImageService;
+
+    @MockBean
+    private ProductImporter productImporter;
+
+    @MockBean
+    private ProductPopularityService productPopularityService;
+
+    @BeforeEach
+    void setUp() {
+        ProductImage image = new ProductImage();
+        image.setContentType("image/png");
+        image.setContentHash(HASH);
+        when(productImageService.getImage(1L)).thenReturn(image);
+        when(productImageService.openImage(any())).thenAnswer(invocation -> new ByteArrayResource(BYTES));
+    }
+
+    @Test
+    void servesImageWithStrongEtagAndImmutableCaching() throws Exception {
+        mockMvc.perform(get("/api/products/image/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(content().bytes(BYTES));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/products/image/1").header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void rangeRequestReturnsPartialContent() throws Exception {
+        mockMvc.perform(get("/api/products/image/1").header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().bytes("2345".getBytes(StandardCharsets.US_ASCII)));
+    }
+}
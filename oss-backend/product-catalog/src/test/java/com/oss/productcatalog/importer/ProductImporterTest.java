@@ -0,0 +1,188 @@
+package com.oss.productcatalog.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oss.productcatalog.dto.ProductImportResponse;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Category;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.repository.CategoryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.service.CategoryTreeCache;
+
+/**
+ * Runs without a test transaction because the importer commits each batch
+ * itself.
+ */
+@DataJpaTest(properties = {"catalog.import.batch-size=2", "catalog.import.error-dir=target/import-errors"})
+@Import({ProductImporter.class, CategoryTreeCache.class, ProductImporterTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductImporterTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private ProductImporter importer;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from product_specs");
+        jdbcTemplate.update("delete from product_categories");
+        jdbcTemplate.update("delete from inventory_changes");
+        jdbcTemplate.update("delete from product_rating_summaries");
+        jdbcTemplate.update("delete from hot_stock_leases");
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void csvImportInsertsUpdatesAndReportsBadRows() throws IOException {
+        Long categoryId = createCategory("Phones");
+        String csv = "sku,name,brand,description,price,stock,categoryIds,spec.RAM,spec.Colour\n"
+                + "P-1,Phone One,Acme,\"Fast, \"\"new\"\"\nand shiny\",199.99,3," + categoryId + ",8GB,Black\n"
+                + "P-2,Phone Two,Acme,,99.50,0,,4GB,\n"
+                + "P-3,Broken,Acme,,-1,5,,,\n"
+                + "P-4,Lost,Acme,,10,5,999999,,\n"
+                + "P-1,Phone One Plus,Acme,,249.99,30," + categoryId + ",12GB,\n";
+
+        ProductImportResponse result = importer.importProducts(stream(csv), ImportFormat.CSV, "test.csv");
+
+        assertEquals(5, result.getRowsRead());
+        assertEquals(2, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(2, result.getFailed());
+
+        Product first = productRepository.findBySku("P-1").orElseThrow();
+        assertEquals("Phone One Plus", first.getName());
+        assertEquals(0, new BigDecimal("249.99").compareTo(first.getPrice()));
+        assertEquals(AvailabilityStatus.IN_STOCK, first.getAvailabilityStatus());
+        // The second P-1 row replaced the first row's specifications
+        assertEquals(List.of("12GB"), jdbcTemplate.queryForList(
+                "select spec_value from product_specs where product_id = ?", String.class, first.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from product_categories where product_id = ?", Integer.class, first.getId()));
+        assertEquals(AvailabilityStatus.OUT_OF_STOCK, productRepository.findBySku("P-2").orElseThrow().getAvailabilityStatus());
+        // Opening stock, then the difference the later row made; P-2 never had any
+        assertEquals(List.of(3, 27), jdbcTemplate.queryForList(
+                "select delta from inventory_changes where product_id = ? order by id", Integer.class, first.getId()));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from inventory_changes", Integer.class));
+        // One empty rating summary per inserted product, none for the update
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "select count(*) from product_rating_summaries where review_count = 0", Integer.class));
+        // Relinking P-1 to the same category did not count it twice
+        assertEquals(1, categoryRepository.findById(categoryId).orElseThrow().getProductCount());
+
+        List<String> errors = Files.readAllLines(Path.of(result.getErrorFile()));
+        assertEquals("line,sku,error", errors.get(0));
+        assertTrue(errors.get(1).startsWith("5,\"P-3\""), errors.get(1));
+        assertTrue(errors.get(2).contains("unknown category id 999999"), errors.get(2));
+    }
+
+    @Test
+    void ndjsonImportAcceptsProductRequestShape() throws IOException {
+        String ndjson = "{\"sku\":\"N-1\",\"name\":\"Laptop\",\"brand\":\"Acme\",\"price\":1200,\"stock\":4,"
+                + "\"specifications\":{\"CPU\":\"8 cores\"}}\n"
+                + "\n"
+                + "{not json}\n";
+
+        ProductImportResponse result = importer.importProducts(stream(ndjson), ImportFormat.NDJSON, "test.ndjson");
+
+        assertEquals(2, result.getRowsRead());
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getFailed());
+        Product laptop = productRepository.findBySku("N-1").orElseThrow();
+        assertEquals(AvailabilityStatus.LOW_STOCK, laptop.getAvailabilityStatus());
+        assertEquals("INR", laptop.getCurrency());
+    }
+
+    @Test
+    void cleanImportWritesNoErrorFile() throws IOException {
+        ProductImportResponse result = importer.importProducts(
+                stream("sku,name,brand,price,stock\nC-1,Cable,Acme,5,100\n"), ImportFormat.CSV, "clean.csv");
+
+        assertEquals(1, result.getInserted());
+        assertNull(result.getErrorFile());
+    }
+
+    @Test
+    void productsWithLeasedStockAreRejected() throws IOException {
+        Product hot = createProduct("H-1", 40);
+        hot.setHotStock(true);
+        productRepository.save(hot);
+        Product leased = createProduct("H-2", 40);
+        jdbcTemplate.update("insert into hot_stock_leases (product_id, node, units, sold, status, created_at, renewed_at)"
+                + " values (?, 'node-1', 10, 0, 'QUARANTINED', current_timestamp, current_timestamp)", leased.getId());
+        String csv = "sku,name,brand,price,stock\nH-1,Hot,Acme,5,100\nH-2,Leased,Acme,5,100\nH-3,Cold,Acme,5,100\n";
+
+        ProductImportResponse result = importer.importProducts(stream(csv), ImportFormat.CSV, "hot.csv");
+
+        assertEquals(1, result.getInserted());
+        assertEquals(2, result.getFailed());
+        assertEquals(40, productRepository.findBySku("H-1").orElseThrow().getStock());
+        assertEquals(40, productRepository.findBySku("H-2").orElseThrow().getStock());
+        List<String> errors = Files.readAllLines(Path.of(result.getErrorFile()));
+        assertEquals(3, errors.size());
+        assertTrue(errors.get(1).contains("hot stock"), errors.get(1));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from inventory_changes where product_id in (?, ?)",
+                Integer.class, hot.getId(), leased.getId()));
+    }
+
+    private Product createProduct(String sku, int stock) {
+        Product product = new Product();
+        product.setSku(sku);
+        product.setName(sku);
+        product.setBrand("Acme");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+
+    private Long createCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setProductCount(0);
+        return categoryRepository.save(category).getId();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
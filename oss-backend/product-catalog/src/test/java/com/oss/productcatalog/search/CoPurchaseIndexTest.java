@@ -0,0 +1,77 @@
+package com.oss.productcatalog.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class CoPurchaseIndexTest {
+
+    @Test
+    void ranksByCountThenId() {
+        CoPurchaseIndex index = new CoPurchaseIndex(2);
+        index.addOrder(new long[] {1, 2, 3});
+        index.addOrder(new long[] {1, 3});
+        index.addOrder(new long[] {1, 4});
+        index.addOrder(new long[] {4, 1});
+
+        assertEquals(List.of(3L, 4L), ids(index.related(1, 10)));
+        assertEquals(List.of(3L), ids(index.related(1, 1)));
+        assertEquals(List.of(1L, 2L), ids(index.related(3, 10)));
+        assertEquals(0, index.related(99, 10).size());
+        assertEquals(4, index.orders());
+    }
+
+    @Test
+    void incrementalTopListsMatchACountFromScratch() {
+        int topK = 5;
+        CoPurchaseIndex index = new CoPurchaseIndex(topK);
+        Map<Long, Map<Long, Integer>> pairs = new HashMap<>();
+        Random random = new Random(7);
+        for (int order = 0; order < 3000; order++) {
+            Set<Long> items = new LinkedHashSet<>();
+            int size = 2 + random.nextInt(4);
+            while (items.size() < size) {
+                // Skewed, so some pairs are far more common than others
+                items.add((long) (Math.abs(random.nextGaussian()) * 15));
+            }
+            index.addOrder(items.stream().mapToLong(Long::longValue).toArray());
+            for (Long a : items) {
+                for (Long b : items) {
+                    if (!a.equals(b)) {
+                        pairs.computeIfAbsent(a, id -> new HashMap<>()).merge(b, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        pairs.forEach((productId, counts) -> {
+            List<Long> expected = counts.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(topK)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            CoPurchaseIndex.Related related = index.related(productId, topK);
+            assertEquals(expected, ids(related), "related to " + productId);
+            for (int i = 0; i < related.size(); i++) {
+                assertEquals(counts.get(related.productId(i)).intValue(), related.count(i));
+            }
+        });
+    }
+
+    private static List<Long> ids(CoPurchaseIndex.Related related) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < related.size(); i++) {
+            ids.add(related.productId(i));
+        }
+        return ids;
+    }
+}
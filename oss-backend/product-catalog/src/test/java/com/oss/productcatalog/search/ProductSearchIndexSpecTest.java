@@ -0,0 +1,92 @@
+package com.oss.productcatalog.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.oss.productcatalog.dto.FacetValue;
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.model.AvailabilityStatus;
+
+class ProductSearchIndexSpecTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(List.of(BigDecimal.valueOf(1000)));
+        index.upsert(document(1L, Map.of("RAM", "16GB", "Color", "Black")));
+        index.upsert(document(2L, Map.of("RAM", "32GB", "Color", "Black")));
+        index.upsert(document(3L, Map.of("ram", "16gb", "Color", "Silver")));
+        index.upsert(document(4L, Map.of("Color", "Black")));
+    }
+
+    @Test
+    void valuesOfOneKeyAreAlternativesAndKeysCombine() {
+        assertEquals(List.of(1L, 3L), search(List.of("RAM:16GB"), null).getProductIds());
+        assertEquals(List.of(1L, 2L, 3L), search(List.of("ram:16gb", "32GB"), null).getProductIds());
+        assertEquals(List.of(1L, 2L), search(List.of("RAM:16GB", "RAM:32GB", "Color:black"), null).getProductIds());
+        assertEquals(List.of(), search(List.of("RAM:64GB"), null).getProductIds());
+        assertEquals(List.of(), search(List.of("Storage:1TB"), null).getProductIds());
+    }
+
+    @Test
+    void specFacetsIgnoreTheirOwnFilter() {
+        SearchHits hits = search(List.of("RAM:16GB"), List.of("Color"));
+
+        assertEquals(List.of(value("16GB", 2L), value("32GB", 1L)), hits.getFacets().get("spec.ram"));
+        assertEquals(List.of(value("Black", 1L), value("Silver", 1L)), hits.getFacets().get("spec.color"));
+    }
+
+    @Test
+    void reindexingMovesDocumentsBetweenValues() {
+        index.upsert(document(2L, Map.of("RAM", "16GB")));
+        index.remove(3L);
+
+        assertEquals(List.of(1L, 2L), search(List.of("RAM:16GB"), null).getProductIds());
+        assertEquals(List.of(value("16GB", 2L)), search(null, List.of("RAM")).getFacets().get("spec.ram"));
+    }
+
+    @Test
+    void highCardinalityKeysAreCountedByScanningCodes() {
+        for (long id = 10; id < 110; id++) {
+            index.upsert(document(id, Map.of("Model", "M-" + (id % 50))));
+        }
+
+        List<FacetValue> models = search(null, List.of("model")).getFacets().get("spec.model");
+
+        assertEquals(20, models.size());
+        models.forEach(model -> assertEquals(2L, model.getCount()));
+        assertEquals(List.of(10L, 60L), search(List.of("Model:M-10"), null).getProductIds());
+    }
+
+    @Test
+    void malformedSpecFilterIsRejected() {
+        assertThrows(BadRequestException.class, () -> search(List.of("16GB"), null));
+        assertThrows(BadRequestException.class, () -> search(List.of("RAM:"), null));
+    }
+
+    private SearchHits search(List<String> spec, List<String> specFacets) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSpec(spec);
+        request.setSpecFacets(specFacets);
+        return index.search(request);
+    }
+
+    private static ProductDocument document(Long id, Map<String, String> specifications) {
+        return new ProductDocument(id, "Product " + id, "Brand", null, specifications,
+                BigDecimal.TEN, true, Set.of(), AvailabilityStatus.IN_STOCK);
+    }
+
+    private static FacetValue value(String value, long count) {
+        return new FacetValue(value, value, count);
+    }
+}
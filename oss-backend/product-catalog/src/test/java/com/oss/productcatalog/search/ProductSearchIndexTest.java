@@ -0,0 +1,86 @@
+package com.oss.productcatalog.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.oss.productcatalog.dto.FacetValue;
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.model.AvailabilityStatus;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(List.of(BigDecimal.valueOf(1000)));
+        for (long id = 1; id <= 3; id++) {
+            index.upsert(new ProductDocument(id, "Laptop " + id, "Brand", null, Map.of(),
+                    BigDecimal.TEN, true, Set.of(), AvailabilityStatus.IN_STOCK));
+        }
+    }
+
+    @Test
+    void pagesBeyondTheResultWindowAreRejected() {
+        assertEquals(List.of(3L), search(null, 2, 1).getProductIds());
+        assertEquals(List.of(), search(null, 99, 100).getProductIds());
+        // (page + 1) * size would overflow an int
+        assertThrows(BadRequestException.class, () -> search(null, 21474837, 100));
+        assertThrows(BadRequestException.class, () -> search(null, 100, 100));
+    }
+
+    @Test
+    void availabilityIsUpdatedInPlace() {
+        index.updateAvailability(2L, AvailabilityStatus.OUT_OF_STOCK);
+        assertFalse(index.updateAvailability(99L, AvailabilityStatus.OUT_OF_STOCK));
+
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQ("laptop");
+        request.setAvailability(List.of(AvailabilityStatus.IN_STOCK));
+        assertEquals(List.of(1L, 3L), index.search(request).getProductIds().stream().sorted().toList());
+        assertEquals(List.of(new FacetValue("IN_STOCK", "IN_STOCK", 2L), new FacetValue("OUT_OF_STOCK", "OUT_OF_STOCK", 1L)),
+                search("laptop", 0, 20).getFacets().get(ProductSearchIndex.AVAILABILITY_FACET));
+    }
+
+    @Test
+    void unknownSortIsRejected() {
+        for (String sort : List.of("rating", "price,down", "price,asc,name")) {
+            ProductSearchRequest request = new ProductSearchRequest();
+            request.setSort(sort);
+            assertThrows(BadRequestException.class, () -> index.search(request), sort);
+        }
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setSort(" Name , DESC ");
+        assertEquals(List.of(3L, 2L, 1L), index.search(request).getProductIds());
+    }
+
+    @Test
+    void givenCategoriesReplaceTheRequestsOwn() {
+        index.upsert(new ProductDocument(4L, "Laptop 4", "Brand", null, Map.of(),
+                BigDecimal.TEN, true, Set.of(7L), AvailabilityStatus.IN_STOCK));
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategoryIds(List.of(5L));
+
+        assertEquals(List.of(4L), index.search(request, Set.of(5L, 7L)).getProductIds());
+        assertEquals(List.of(5L), request.getCategoryIds());
+        assertEquals(List.of(), index.search(request).getProductIds());
+    }
+
+    private SearchHits search(String q, int page, int size) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQ(q);
+        request.setPage(page);
+        request.setSize(size);
+        return index.search(request);
+    }
+}
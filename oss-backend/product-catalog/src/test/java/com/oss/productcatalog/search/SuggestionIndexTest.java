@@ -0,0 +1,71 @@
+package com.oss.productcatalog.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SuggestionIndexTest {
+
+    @Test
+    void matchesNameAndWordStartsIgnoringCase() {
+        SuggestionIndex index = new SuggestionIndex.Builder()
+                .addProduct(1L, "Apple iPhone 15", 1f)
+                .addProduct(2L, "Pineapple Slicer", 1f)
+                .build();
+
+        assertEquals(List.of("Apple iPhone 15"), texts(index.suggest("APP", 10)));
+        assertEquals(List.of("Apple iPhone 15"), texts(index.suggest("iph", 10)));
+        assertEquals(List.of("Pineapple Slicer"), texts(index.suggest("slic", 10)));
+        // Only word starts match, not arbitrary substrings
+        assertTrue(index.suggest("ppl", 10).isEmpty());
+    }
+
+    @Test
+    void returnsHeaviestFirstAndEachEntryOnce() {
+        SuggestionIndex index = new SuggestionIndex.Builder()
+                .addProduct(1L, "Galaxy Buds", 2f)
+                .addProduct(2L, "Galaxy Tab Galaxy Edition", 9f)
+                .addProduct(3L, "Galaxy Watch", 5f)
+                .addProduct(4L, "Gaming Mouse", 1f)
+                .build();
+
+        List<SuggestionIndex.Suggestion> top = index.suggest("ga", 3);
+
+        assertEquals(List.of("Galaxy Tab Galaxy Edition", "Galaxy Watch", "Galaxy Buds"), texts(top));
+        assertEquals(4, index.suggest("ga", 10).size());
+    }
+
+    @Test
+    void brandsAreSuggestedWithoutProductId() {
+        SuggestionIndex index = new SuggestionIndex.Builder()
+                .addBrand("Sony", 10f)
+                .addProduct(7L, "Sony Headphones", 3f)
+                .build();
+
+        List<SuggestionIndex.Suggestion> suggestions = index.suggest("so", 10);
+
+        assertEquals(SuggestionIndex.Type.BRAND, suggestions.get(0).getType());
+        assertNull(suggestions.get(0).getProductId());
+        assertEquals(SuggestionIndex.Type.PRODUCT, suggestions.get(1).getType());
+        assertEquals(7L, suggestions.get(1).getProductId());
+    }
+
+    @Test
+    void collapsesWhitespaceInPrefixAndText() {
+        SuggestionIndex index = new SuggestionIndex.Builder()
+                .addProduct(1L, "  Smart   Watch ", 1f)
+                .build();
+
+        assertEquals(List.of("Smart Watch"), texts(index.suggest("smart  w", 10)));
+        assertTrue(index.suggest("   ", 10).isEmpty());
+        assertTrue(SuggestionIndex.EMPTY.suggest("a", 10).isEmpty());
+    }
+
+    private static List<String> texts(List<SuggestionIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionIndex.Suggestion::getText).toList();
+    }
+}
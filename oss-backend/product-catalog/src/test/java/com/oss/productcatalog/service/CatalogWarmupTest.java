@@ -0,0 +1,119 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oss.productcatalog.dto.CategoryResponse;
+import com.oss.productcatalog.repository.ProductPopularityRepository;
+import com.oss.productcatalog.repository.ProductRatingSummaryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+
+/**
+ * Drives the readiness gate with mocked services, so each preload step can
+ * be held, failed or let through on cue.
+ */
+class CatalogWarmupTest {
+
+    private final CategoryService categoryService = mock(CategoryService.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CatalogWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        warmup = new CatalogWarmup(mock(ProductService.class), mock(ProductSearchService.class),
+                mock(ReviewService.class), categoryService, mock(ProductRepository.class),
+                mock(ProductRatingSummaryRepository.class), mock(ProductPopularityRepository.class),
+                new ObjectMapper());
+        ReflectionTestUtils.setField(warmup, "enabled", true);
+        ReflectionTestUtils.setField(warmup, "productCount", 10);
+        ReflectionTestUtils.setField(warmup, "rounds", 1);
+        ReflectionTestUtils.setField(warmup, "budget", Duration.ofSeconds(60));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void outOfServiceUntilWarmUpFinishes() throws Exception {
+        // The first preload step waits until the test lets it through
+        when(categoryService.getCategoryTree()).thenAnswer(invocation -> {
+            release.await(30, TimeUnit.SECONDS);
+            return List.<CategoryResponse>of();
+        });
+
+        assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+        ready();
+        assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+        assertEquals(false, warmup.health().getDetails().get("finished"));
+
+        release.countDown();
+
+        awaitStatus(Status.UP);
+        assertEquals(true, warmup.health().getDetails().get("finished"));
+    }
+
+    @Test
+    void upOnceTheBudgetRunsOutEvenIfAStepHangs() throws Exception {
+        ReflectionTestUtils.setField(warmup, "budget", Duration.ofMillis(200));
+        when(categoryService.getCategoryTree()).thenAnswer(invocation -> {
+            release.await(30, TimeUnit.SECONDS);
+            return List.<CategoryResponse>of();
+        });
+
+        ready();
+        assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+
+        awaitStatus(Status.UP);
+        // Still stuck in the step, but no longer holding traffic back
+        assertEquals(false, warmup.health().getDetails().get("finished"));
+    }
+
+    @Test
+    void upAfterAPreloadStepFails() throws Exception {
+        when(categoryService.getCategoryTree()).thenThrow(new IllegalStateException("database unavailable"));
+
+        ready();
+
+        awaitStatus(Status.UP);
+        assertEquals(true, warmup.health().getDetails().get("finished"));
+        assertEquals(0, warmup.health().getDetails().get("products"));
+    }
+
+    @Test
+    void upRightAwayWhenDisabled() {
+        ReflectionTestUtils.setField(warmup, "enabled", false);
+
+        assertEquals(Status.UP, warmup.health().getStatus());
+        assertEquals(false, warmup.health().getDetails().get("enabled"));
+    }
+
+    private void ready() {
+        warmup.onReadiness(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+    }
+
+    private void awaitStatus(Status expected) throws InterruptedException {
+        long giveUp = System.currentTimeMillis() + 10_000;
+        while (!expected.equals(warmup.health().getStatus()) && System.currentTimeMillis() < giveUp) {
+            Thread.sleep(20);
+        }
+        assertTrue(expected.equals(warmup.health().getStatus()), "Health never became " + expected);
+    }
+}
@@ -0,0 +1,137 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oss.productcatalog.dto.CategoryProductsResponse;
+import com.oss.productcatalog.dto.CategoryRequest;
+import com.oss.productcatalog.dto.CategoryResponse;
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductRequest;
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.repository.CategoryRepository;
+import com.oss.productcatalog.repository.ProductRatingSummaryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+
+/**
+ * Runs without a test transaction so category changes commit and refresh
+ * the cached tree, as they do in production.
+ */
+@DataJpaTest
+@Import({CategoryServiceImpl.class, ProductServiceImpl.class, ProductResponseCache.class,
+        InventoryChangeServiceImpl.class, HotStockServiceImpl.class, CategoryTreeCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CategoryServiceTest {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductRatingSummaryRepository ratingSummaryRepository;
+
+    @AfterEach
+    void tearDown() {
+        ratingSummaryRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void countsIncludeDescendantsOnceAndFollowMoves() {
+        Long electronics = createCategory("Electronics", null);
+        Long phones = createCategory("Phones", electronics);
+        Long android = createCategory("Android", phones);
+        Long audio = createCategory("Audio", electronics);
+        Long gifts = createCategory("Gifts", null);
+
+        createProduct("P-1", android);
+        // Linked twice inside Electronics; counted once there
+        createProduct("P-2", phones, android);
+        createProduct("P-3", audio, gifts);
+
+        assertEquals(List.of(3, 2, 2, 1, 1), counts(electronics, phones, android, audio, gifts));
+        List<CategoryResponse> tree = categoryService.getCategoryTree();
+        assertEquals(List.of("Electronics", "Gifts"), tree.stream().map(CategoryResponse::getName).toList());
+        assertEquals(List.of("Audio", "Phones"),
+                tree.get(0).getChildren().stream().map(CategoryResponse::getName).toList());
+
+        categoryService.moveCategory(phones, gifts);
+
+        assertEquals(List.of(1, 2, 2, 1, 3), counts(electronics, phones, android, audio, gifts));
+        assertEquals(List.of(gifts, phones, android), categoryService.getCategory(android).getPath());
+        assertThrows(BadRequestException.class, () -> categoryService.moveCategory(gifts, android));
+
+        categoryRepository.findAll().forEach(category -> {
+            category.setProductCount(null);
+            categoryRepository.save(category);
+        });
+        categoryService.rebuildProductCounts();
+
+        assertEquals(List.of(1, 2, 2, 1, 3), counts(electronics, phones, android, audio, gifts));
+    }
+
+    @Test
+    void landingPageListsProductsOfTheWholeSubtree() {
+        Long electronics = createCategory("Electronics", null);
+        Long phones = createCategory("Phones", electronics);
+        Long laptops = createCategory("Laptops", electronics);
+        Long first = createProduct("L-1", phones);
+        Long second = createProduct("L-2", laptops);
+        Long third = createProduct("L-3", phones, laptops);
+
+        CategoryProductsResponse page = categoryService.getCategoryProducts(electronics, 0, 2,
+                ProductFields.parse("name"));
+        CategoryProductsResponse next = categoryService.getCategoryProducts(electronics, 1, 2, ProductFields.ALL);
+
+        assertEquals(3L, page.getTotal());
+        assertEquals(List.of(first, second), page.getItems().stream().map(ProductResponse::getId).toList());
+        assertEquals(List.of(third), next.getItems().stream().map(ProductResponse::getId).toList());
+        assertEquals(List.of(first, third), categoryService.getCategoryProducts(phones, 0, 20, ProductFields.ALL)
+                .getItems().stream().map(ProductResponse::getId).toList());
+    }
+
+    private List<Integer> counts(Long... categoryIds) {
+        return List.of(categoryIds).stream()
+                .map(id -> categoryService.getCategory(id).getProductCount())
+                .toList();
+    }
+
+    private Long createCategory(String name, Long parentId) {
+        CategoryRequest request = new CategoryRequest();
+        request.setName(name);
+        request.setParentId(parentId);
+        return categoryService.createCategory(request).getId();
+    }
+
+    private Long createProduct(String sku, Long... categoryIds) {
+        ProductRequest request = new ProductRequest();
+        request.setSku(sku);
+        request.setName("Product " + sku);
+        request.setBrand("Acme");
+        request.setPrice(BigDecimal.TEN);
+        request.setStock(0);
+        request.setCategoryIds(List.of(categoryIds));
+        return productService.createProduct(request).getId();
+    }
+}
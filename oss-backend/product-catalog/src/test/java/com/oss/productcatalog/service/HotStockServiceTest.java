@@ -0,0 +1,309 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ReservationItemRequest;
+import com.oss.productcatalog.dto.StockReservationRequest;
+import com.oss.productcatalog.dto.StockReservationResponse;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.exception.ConflictException;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.HotStockLease;
+import com.oss.productcatalog.model.HotStockLeaseStatus;
+import com.oss.productcatalog.model.InventoryChange;
+import com.oss.productcatalog.model.InventoryChangeReason;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ReservationStatus;
+import com.oss.productcatalog.repository.HotStockLeaseRepository;
+import com.oss.productcatalog.repository.InventoryChangeRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.repository.StockReservationRepository;
+
+/**
+ * Runs without a test transaction: leases, flushes and fallbacks each
+ * commit on their own, as they do in production.
+ */
+@DataJpaTest(properties = {"catalog.hot-stock.node-id=test-node", "catalog.hot-stock.block-size=50",
+        "catalog.hot-stock.flush-interval-ms=3600000"})
+@Import({ProductServiceImpl.class, ProductResponseCache.class, InventoryChangeServiceImpl.class,
+        HotStockServiceImpl.class, StockReservationServiceImpl.class, CategoryTreeCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotStockServiceTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private HotStockServiceImpl hotStockService;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private HotStockLeaseRepository leaseRepository;
+
+    @Autowired
+    private InventoryChangeRepository changeRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.findHotStockIds().forEach(id -> hotStockService.setHotStock(id, false));
+        reservationRepository.deleteAll();
+        leaseRepository.deleteAll();
+        changeRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentSalesOfAHotProductNeverOversell() throws Exception {
+        Long productId = createProduct(300).getId();
+        hotStockService.setHotStock(productId, true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return productService.reduceStock(productId, 1);
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(60, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        pool.shutdown();
+        hotStockService.flush();
+
+        assertEquals(300, succeeded);
+        assertEquals(0, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(0, hotStockService.heldUnits(productId));
+        assertEquals(-300, salesBatched(productId));
+        HotStockLease lease = leaseRepository.findByStatusOrderByIdDesc(HotStockLeaseStatus.OPEN).get(0);
+        assertEquals(300, lease.getUnits());
+        assertEquals(300, lease.getSold());
+    }
+
+    @Test
+    void disablingReturnsTheUnsoldUnits() {
+        Long productId = createProduct(120).getId();
+        hotStockService.setHotStock(productId, true);
+
+        productService.reduceStock(productId, 7);
+
+        // One block of 50 left the row; reads still see the held units
+        assertEquals(70, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(43, hotStockService.heldUnits(productId));
+        assertEquals(113, productService.getProductById(productId).getStock());
+        assertEquals(true, productService.checkStockAvailability(productId, 113));
+
+        hotStockService.setHotStock(productId, false);
+
+        assertEquals(113, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(-7, salesBatched(productId));
+        HotStockLease lease = leaseRepository.findAll().get(0);
+        assertEquals(HotStockLeaseStatus.CLOSED, lease.getStatus());
+        assertEquals(7, lease.getSold());
+        // Back on the stock row
+        productService.reduceStock(productId, 3, "ORD-1");
+        assertEquals(110, productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    @Test
+    void expiredLeasesAreQuarantinedUntilReconciled() {
+        Long productId = createProduct(80).getId();
+        Long leaseId = leaseRepository.save(lease(productId, "dead-node", LocalDateTime.now().minusHours(1))).getId();
+        Long liveId = leaseRepository.save(lease(productId, "live-node", LocalDateTime.now())).getId();
+
+        hotStockService.quarantineExpiredLeases();
+
+        assertEquals(HotStockLeaseStatus.QUARANTINED, leaseRepository.findById(leaseId).orElseThrow().getStatus());
+        assertEquals(HotStockLeaseStatus.OPEN, leaseRepository.findById(liveId).orElseThrow().getStatus());
+        assertThrows(BadRequestException.class, () -> hotStockService.reconcile(leaseId, 25));
+
+        hotStockService.reconcile(leaseId, 12);
+
+        assertEquals(88, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(-7, salesBatched(productId));
+        assertEquals(HotStockLeaseStatus.CLOSED, leaseRepository.findById(leaseId).orElseThrow().getStatus());
+        assertThrows(ConflictException.class, () -> hotStockService.reconcile(leaseId, 12));
+    }
+
+    @Test
+    void holderSettlesALeaseQuarantinedWhileHeld() {
+        Long productId = createProduct(100).getId();
+        hotStockService.setHotStock(productId, true);
+        productService.reduceStock(productId, 4);
+        HotStockLease lease = leaseRepository.findAll().get(0);
+        lease.setRenewedAt(LocalDateTime.now().minusHours(1));
+        leaseRepository.save(lease);
+        hotStockService.quarantineExpiredLeases();
+
+        hotStockService.flush();
+
+        lease = leaseRepository.findById(lease.getId()).orElseThrow();
+        assertEquals(HotStockLeaseStatus.CLOSED, lease.getStatus());
+        assertEquals(4, lease.getSold());
+        assertEquals(96, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(-4, salesBatched(productId));
+        assertEquals(0, hotStockService.heldUnits(productId));
+    }
+
+    @Test
+    void refusesToStartWithHotProductsAndNoNodeId() {
+        Long productId = createProduct(10).getId();
+        hotStockService.setHotStock(productId, true);
+        ReflectionTestUtils.setField(hotStockService, "nodeId", "");
+        try {
+            assertThrows(IllegalStateException.class, () -> hotStockService.start());
+            // Sells from the stock row instead of leasing under an unnamed node
+            assertTrue(productService.reduceStock(productId, 1));
+            assertEquals(9, productRepository.findById(productId).orElseThrow().getStock());
+            assertEquals(0, leaseRepository.count());
+        } finally {
+            ReflectionTestUtils.setField(hotStockService, "nodeId", "test-node");
+        }
+    }
+
+    @Test
+    void reservationsOfAHotProductAreServedFromTheLease() {
+        Long productId = createProduct(60).getId();
+        Long otherId = createProduct(5).getId();
+        hotStockService.setHotStock(productId, true);
+        // Leases a block of 50, leaving 10 in the row
+        productService.reduceStock(productId, 1);
+
+        StockReservationResponse reserved = reservationService.reserve(reservation("ORD-1", productId, 30));
+
+        assertEquals(ReservationStatus.PENDING, reserved.getStatus());
+        assertEquals(10, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(19, hotStockService.heldUnits(productId));
+        assertEquals(20, leaseRepository.findAll().get(0).getUnits());
+
+        // All or nothing: the hot line goes back to the counter when another line fails
+        StockReservationResponse rejected = reservationService.reserve(
+                reservation("ORD-2", productId, 5, otherId, 6));
+        assertEquals(ReservationStatus.REJECTED, rejected.getStatus());
+        assertEquals(19, hotStockService.heldUnits(productId));
+        assertEquals(20, leaseRepository.findAll().get(0).getUnits());
+        assertEquals(ReservationStatus.REJECTED,
+                reservationService.reserve(reservation("ORD-3", productId, 30)).getStatus());
+
+        reservationService.release(reserved.getReservationId());
+        hotStockService.setHotStock(productId, false);
+
+        // 60 less the single sale; the ledger agrees
+        assertEquals(59, productRepository.findById(productId).orElseThrow().getStock());
+        assertEquals(-1, changeRepository.findAll().stream()
+                .filter(change -> change.getProductId().equals(productId))
+                .mapToInt(InventoryChange::getDelta)
+                .sum());
+    }
+
+    @Test
+    void leasedUnitsKeepTheProductInStockOnEveryRead() {
+        Long productId = createProduct(50).getId();
+        hotStockService.setHotStock(productId, true);
+        // The block drains the row; another node holds 15 more
+        productService.reduceStock(productId, 1);
+        leaseRepository.save(lease(productId, "other-node", LocalDateTime.now()));
+
+        Product row = productRepository.findById(productId).orElseThrow();
+        assertEquals(0, row.getStock());
+        assertEquals(AvailabilityStatus.IN_STOCK, row.getAvailabilityStatus());
+        assertEquals(64, productService.getProductById(productId).getStock());
+        assertEquals(64, productService.getAllProducts().get(0).getStock());
+        assertEquals(64, productService.getProductsByIds(List.of(productId), ProductFields.parse("stock"))
+                .get(0).getStock());
+        assertEquals(64, productService.getProductSummaries(List.of(productId)).getItems().get(0).getStock());
+        assertEquals(true, productService.getProductSummaries(List.of(productId)).getItems().get(0).getAvailable());
+
+        // Units stranded in a quarantined lease are not available
+        hotStockService.setHotStock(productId, false);
+        leaseRepository.findByStatusOrderByIdDesc(HotStockLeaseStatus.OPEN).forEach(lease -> {
+            lease.setRenewedAt(LocalDateTime.now().minusHours(1));
+            leaseRepository.save(lease);
+        });
+        productService.reduceStock(productId, 47);
+        hotStockService.quarantineExpiredLeases();
+
+        row = productRepository.findById(productId).orElseThrow();
+        assertEquals(2, row.getStock());
+        assertEquals(AvailabilityStatus.LOW_STOCK, row.getAvailabilityStatus());
+    }
+
+    private static StockReservationRequest reservation(String orderRef, Object... lines) {
+        List<ReservationItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines.length; i += 2) {
+            ReservationItemRequest item = new ReservationItemRequest();
+            item.setProductId((Long) lines[i]);
+            item.setQuantity((Integer) lines[i + 1]);
+            items.add(item);
+        }
+        StockReservationRequest request = new StockReservationRequest();
+        request.setOrderRef(orderRef);
+        request.setItems(items);
+        return request;
+    }
+
+    private static HotStockLease lease(Long productId, String node, LocalDateTime renewedAt) {
+        HotStockLease lease = new HotStockLease();
+        lease.setProductId(productId);
+        lease.setNode(node);
+        lease.setUnits(20);
+        lease.setSold(5);
+        lease.setStatus(HotStockLeaseStatus.OPEN);
+        lease.setCreatedAt(renewedAt);
+        lease.setRenewedAt(renewedAt);
+        return lease;
+    }
+
+    private int salesBatched(Long productId) {
+        return changeRepository.findAll().stream()
+                .filter(change -> change.getProductId().equals(productId)
+                        && change.getReason() == InventoryChangeReason.SALE_BATCH)
+                .mapToInt(InventoryChange::getDelta)
+                .sum();
+    }
+
+    private Product createProduct(int stock) {
+        Product product = new Product();
+        product.setSku("HOT-" + System.nanoTime());
+        product.setName("Hot stock test product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+}
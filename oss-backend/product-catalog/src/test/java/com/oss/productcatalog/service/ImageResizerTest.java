@@ -0,0 +1,46 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+class ImageResizerTest {
+
+    @Test
+    void resizeKeepsAspectRatioAndNeverUpscales() {
+        BufferedImage source = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage small = ImageResizer.resize(source, 160);
+        assertEquals(160, small.getWidth());
+        assertEquals(107, small.getHeight());
+
+        BufferedImage large = ImageResizer.resize(source, 2048);
+        assertEquals(1200, large.getWidth());
+        assertEquals(800, large.getHeight());
+    }
+
+    @Test
+    void encodedVariantDecodesAsJpeg() throws Exception {
+        byte[] jpeg = ImageResizer.encodeJpeg(ImageResizer.resize(new BufferedImage(640, 480, BufferedImage.TYPE_INT_RGB), 480), 0.8f);
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(480, decoded.getWidth());
+        assertEquals(360, decoded.getHeight());
+    }
+
+    @Test
+    void decodeRejectsOversizedSources() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        assertNull(ImageResizer.decode(new ByteArrayInputStream(png.toByteArray()), 160, 100_000));
+        assertEquals(400, ImageResizer.decode(new ByteArrayInputStream(png.toByteArray()), 160, 1_000_000).getWidth());
+    }
+}
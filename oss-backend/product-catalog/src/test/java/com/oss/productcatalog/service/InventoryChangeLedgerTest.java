@@ -0,0 +1,183 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oss.productcatalog.dto.InventoryChangePage;
+import com.oss.productcatalog.dto.InventoryChangeResponse;
+import com.oss.productcatalog.dto.ReservationItemRequest;
+import com.oss.productcatalog.dto.StockReservationRequest;
+import com.oss.productcatalog.dto.StockReservationResponse;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.InventoryChangeReason;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ReservationStatus;
+import com.oss.productcatalog.repository.InventoryChangeRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.repository.StockReservationRepository;
+
+/**
+ * Runs without a test transaction: every stock change commits together with
+ * its ledger row, as it does in production.
+ */
+@DataJpaTest(properties = "catalog.inventory.changes.sequence-interval-ms=3600000")
+@Import({ProductServiceImpl.class, ProductResponseCache.class, InventoryChangeServiceImpl.class,
+        InventoryChangeSequencer.class, StockReservationServiceImpl.class, HotStockServiceImpl.class,
+        CategoryTreeCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryChangeLedgerTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private InventoryChangeService inventoryChangeService;
+
+    @Autowired
+    private InventoryChangeSequencer sequencer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private InventoryChangeRepository changeRepository;
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        changeRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void stockChangesAppendLedgerRows() {
+        Long productId = createProduct(10).getId();
+
+        assertTrue(productService.reduceStock(productId, 3, "ORD-1"));
+        assertFalse(productService.reduceStock(productId, 50, "ORD-2"));
+        StockReservationResponse reservation = reservationService.reserve(reservation("ORD-3", productId, 4));
+        reservationService.release(reservation.getReservationId());
+        sequencer.sequencePending();
+
+        List<InventoryChangeResponse> changes = inventoryChangeService.getChanges(0L, null).getItems();
+        assertEquals(List.of(-3, -4, 4), changes.stream().map(InventoryChangeResponse::getDelta).toList());
+        assertEquals(List.of(InventoryChangeReason.SALE, InventoryChangeReason.RESERVED,
+                        InventoryChangeReason.RESERVATION_RELEASED),
+                changes.stream().map(InventoryChangeResponse::getReason).toList());
+        assertEquals(List.of("ORD-1", "ORD-3", "ORD-3"),
+                changes.stream().map(InventoryChangeResponse::getOrderRef).toList());
+    }
+
+    @Test
+    void rejectedReservationLeavesNoLedgerRows() {
+        Long productId = createProduct(2).getId();
+
+        StockReservationResponse response = reservationService.reserve(reservation("ORD-4", productId, 5));
+
+        assertEquals(ReservationStatus.REJECTED, response.getStatus());
+        assertEquals(0, changeRepository.count());
+    }
+
+    @Test
+    void feedPagesWithTheReturnedCursor() {
+        Long productId = createProduct(10).getId();
+        for (int i = 0; i < 5; i++) {
+            productService.reduceStock(productId, 1, "ORD-" + i);
+        }
+        sequencer.sequencePending();
+
+        InventoryChangePage first = inventoryChangeService.getChanges(0L, 3);
+        InventoryChangePage second = inventoryChangeService.getChanges(first.getNextSince(), 3);
+        InventoryChangePage caughtUp = inventoryChangeService.getChanges(second.getNextSince(), 3);
+
+        assertEquals(3, first.getItems().size());
+        assertTrue(first.getHasMore());
+        assertEquals(List.of("ORD-3", "ORD-4"),
+                second.getItems().stream().map(InventoryChangeResponse::getOrderRef).toList());
+        assertFalse(second.getHasMore());
+        assertTrue(caughtUp.getItems().isEmpty());
+        assertEquals(second.getNextSince(), caughtUp.getNextSince());
+    }
+
+    @Test
+    void lateCommitIsServedAfterTheCursor() throws Exception {
+        Long productId = createProduct(10).getId();
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // Takes the lower id, then stays open while a later change commits and is read
+        Thread slow = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            inventoryChangeService.record(productId, -1, InventoryChangeReason.SALE, "ORD-SLOW");
+            changeRepository.flush();
+            inserted.countDown();
+            awaitQuietly(commit);
+        }));
+        slow.start();
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+        productService.reduceStock(productId, 1, "ORD-FAST");
+        sequencer.sequencePending();
+        InventoryChangePage first = inventoryChangeService.getChanges(0L, null);
+
+        commit.countDown();
+        slow.join(10_000);
+        sequencer.sequencePending();
+        InventoryChangePage second = inventoryChangeService.getChanges(first.getNextSince(), null);
+
+        assertEquals(List.of("ORD-FAST"), first.getItems().stream().map(InventoryChangeResponse::getOrderRef).toList());
+        assertEquals(List.of("ORD-SLOW"), second.getItems().stream().map(InventoryChangeResponse::getOrderRef).toList());
+        assertTrue(second.getItems().get(0).getId() < first.getItems().get(0).getId());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Product createProduct(int stock) {
+        Product product = new Product();
+        product.setSku("LEDGER-" + System.nanoTime());
+        product.setName("Ledger test product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+
+    private static StockReservationRequest reservation(String orderRef, Long productId, int quantity) {
+        ReservationItemRequest item = new ReservationItemRequest();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        StockReservationRequest request = new StockReservationRequest();
+        request.setOrderRef(orderRef);
+        request.setItems(List.of(item));
+        return request;
+    }
+}
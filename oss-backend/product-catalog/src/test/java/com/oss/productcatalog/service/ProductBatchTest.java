@@ -0,0 +1,82 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.oss.productcatalog.dto.ProductBatchResponse;
+import com.oss.productcatalog.dto.ProductSummaryResponse;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.repository.ProductRepository;
+
+@DataJpaTest(properties = "catalog.batch.max-ids=4")
+@Import({ProductServiceImpl.class, ProductResponseCache.class, InventoryChangeServiceImpl.class,
+        HotStockServiceImpl.class, CategoryTreeCache.class})
+class ProductBatchTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void summariesComeBackInRequestOrderWithDuplicatesCollapsed() {
+        Long first = createProduct("BATCH-1", 5).getId();
+        Long second = createProduct("BATCH-2", 0).getId();
+        Long third = createProduct("BATCH-3", 12).getId();
+
+        ProductBatchResponse response = productService.getProductSummaries(
+                Arrays.asList(third, first, third, null, second, first));
+
+        assertEquals(List.of(third, first, second),
+                response.getItems().stream().map(ProductSummaryResponse::getId).toList());
+        assertTrue(response.getMissingIds().isEmpty());
+        ProductSummaryResponse soldOut = response.getItems().get(2);
+        assertEquals("BATCH-2", soldOut.getSku());
+        assertEquals(AvailabilityStatus.OUT_OF_STOCK, soldOut.getAvailabilityStatus());
+        assertFalse(soldOut.getAvailable());
+        assertTrue(response.getItems().get(0).getAvailable());
+    }
+
+    @Test
+    void absentIdsAreListedInRequestOrder() {
+        Long existing = createProduct("BATCH-4", 3).getId();
+        Long absent = existing + 1000;
+
+        ProductBatchResponse response = productService.getProductSummaries(List.of(absent, existing, absent + 1));
+
+        assertEquals(List.of(existing), response.getItems().stream().map(ProductSummaryResponse::getId).toList());
+        assertEquals(List.of(absent, absent + 1), response.getMissingIds());
+    }
+
+    @Test
+    void moreDistinctIdsThanTheLimitAreRejected() {
+        // Duplicates do not count against the limit
+        assertEquals(4, productService.getProductSummaries(List.of(1L, 2L, 3L, 4L, 4L, 1L)).getMissingIds().size());
+        assertThrows(BadRequestException.class,
+                () -> productService.getProductSummaries(List.of(1L, 2L, 3L, 4L, 5L)));
+    }
+
+    private Product createProduct(String sku, int stock) {
+        Product product = new Product();
+        product.setSku(sku);
+        product.setName(sku);
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setAvailabilityStatus(Product.availabilityFor(stock));
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,64 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ProductImage;
+
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@Import({ProductServiceImpl.class, ProductResponseCache.class, InventoryChangeServiceImpl.class,
+        HotStockServiceImpl.class, CategoryTreeCache.class})
+class ProductExportTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void exportStreamsEveryProductInIdOrderAcrossChunks() {
+        int count = 1203;
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setSku("EXPORT-" + i);
+            product.setName("Export product " + i);
+            product.setPrice(BigDecimal.ONE);
+            product.setStock(1);
+            product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+            entityManager.persist(product);
+            if (i % 600 == 0) {
+                ProductImage image = new ProductImage();
+                image.setImageUrl("https://cdn.example.com/" + i + ".jpg");
+                image.setProduct(product);
+                entityManager.persist(image);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ProductResponse> exported = new ArrayList<>();
+        long total = productService.exportAll(exported::add);
+
+        assertEquals(count, total);
+        assertEquals(count, exported.size());
+        for (int i = 1; i < exported.size(); i++) {
+            assertEquals(true, exported.get(i - 1).getId() < exported.get(i).getId());
+        }
+        // Associations are still attached for products in later chunks
+        assertEquals(List.of("https://cdn.example.com/1200.jpg"), exported.get(1200).getImageUrls());
+    }
+}
@@ -0,0 +1,152 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.exception.BadRequestException;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Category;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ProductImage;
+import com.oss.productcatalog.model.ProductRatingSummary;
+import com.oss.productcatalog.model.Review;
+
+import jakarta.persistence.EntityManager;
+
+// The hot-stock flush would otherwise run its own queries while these are being counted
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "catalog.hot-stock.flush-interval-ms=3600000"})
+@Import({ProductServiceImpl.class, ProductResponseCache.class, InventoryChangeServiceImpl.class,
+        HotStockServiceImpl.class, CategoryTreeCache.class})
+class ProductListingQueryCountTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Category category;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        category = new Category();
+        category.setName("Electronics");
+        entityManager.persist(category);
+    }
+
+    @Test
+    void listingQueryCountDoesNotGrowWithCatalogSize() {
+        seedProducts(5);
+        long smallCatalogQueries = countQueries();
+
+        seedProducts(45);
+        long largeCatalogQueries = countQueries();
+
+        assertEquals(smallCatalogQueries, largeCatalogQueries);
+        assertTrue(largeCatalogQueries <= 5, "listing ran " + largeCatalogQueries + " queries");
+    }
+
+    @Test
+    void listingAssemblesAssociationsFromBulkQueries() {
+        seedProducts(3);
+        entityManager.clear();
+
+        List<ProductResponse> products = productService.getAllProducts();
+
+        assertEquals(3, products.size());
+        ProductResponse first = products.get(0);
+        assertEquals(List.of("https://cdn.example.com/SKU-0.jpg"), first.getImageUrls());
+        assertEquals("Electronics", first.getCategories().iterator().next());
+        assertEquals("16GB", first.getSpecifications().get("RAM"));
+        assertEquals(2L, first.getReviewCount());
+        assertEquals(4.0, first.getAverageRating());
+        assertNull(first.getReviews());
+    }
+
+    @Test
+    void sparseFieldsSelectOnlyRequestedColumnsAndAssociations() {
+        seedProducts(3);
+        entityManager.clear();
+        statistics.clear();
+
+        List<ProductResponse> products = productService.getAllProducts(ProductFields.parse("name, price,imageUrls"));
+
+        // The column projection plus the image query; no specs, categories or ratings
+        assertEquals(2, statistics.getPrepareStatementCount());
+        ProductResponse first = products.stream().filter(product -> product.getName().equals("Product 0")).findFirst().orElseThrow();
+        assertEquals(List.of("https://cdn.example.com/SKU-0.jpg"), first.getImageUrls());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(first.getPrice()));
+        assertNull(first.getSku());
+        assertNull(first.getSpecifications());
+        assertNull(first.getCategories());
+        assertNull(first.getReviewCount());
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThrows(BadRequestException.class, () -> ProductFields.parse("name,password"));
+    }
+
+    private long countQueries() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        productService.getAllProducts();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedProducts(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = seeded++;
+            Product product = new Product();
+            product.setSku("SKU-" + n);
+            product.setName("Product " + n);
+            product.setBrand("Brand");
+            product.setPrice(BigDecimal.valueOf(100 + n));
+            product.setStock(10);
+            product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+            product.getSpecifications().put("RAM", "16GB");
+            product.getCategories().add(category);
+            entityManager.persist(product);
+
+            ProductImage image = new ProductImage();
+            image.setImageUrl("https://cdn.example.com/SKU-" + n + ".jpg");
+            image.setProduct(product);
+            entityManager.persist(image);
+
+            ProductRatingSummary summary = new ProductRatingSummary(product.getId());
+            for (int rating : new int[] { 3, 5 }) {
+                Review review = new Review();
+                review.setProduct(product);
+                review.setUserId(1L);
+                review.setUserName("user");
+                review.setRating(rating);
+                review.setTitle("title");
+                review.setComment("comment");
+                entityManager.persist(review);
+                summary.addRating(rating, 1);
+            }
+            entityManager.persist(summary);
+        }
+        entityManager.flush();
+    }
+}
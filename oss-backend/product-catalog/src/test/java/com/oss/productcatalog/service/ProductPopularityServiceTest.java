@@ -0,0 +1,120 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oss.productcatalog.dto.ProductFields;
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.dto.ProductSearchRequest;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.repository.ProductPopularityRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.search.ProductDocument;
+import com.oss.productcatalog.search.ProductSearchIndex;
+
+/**
+ * Runs without a test transaction so each flush commits on its own, as it
+ * does in production. Flushes are driven by the test with an explicit clock.
+ */
+@DataJpaTest(properties = {"catalog.popularity.max-tracked=2", "catalog.popularity.trending-half-life=PT1H",
+        "catalog.popularity.flush-interval-ms=3600000"})
+@Import({ProductPopularityServiceImpl.class, ProductSearchIndex.class, ProductServiceImpl.class,
+        ProductResponseCache.class, InventoryChangeServiceImpl.class, HotStockServiceImpl.class,
+        CategoryTreeCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductPopularityServiceTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Autowired
+    private ProductPopularityServiceImpl popularityService;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductPopularityRepository popularityRepository;
+
+    @AfterEach
+    void tearDown() {
+        popularityRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void recentViewsTrendAndAllViewsCount() {
+        Long older = createProduct("Older").getId();
+        Long newer = createProduct("Newer").getId();
+        Long unseen = createProduct("Unseen").getId();
+        long start = System.currentTimeMillis();
+
+        view(older, 3);
+        view(newer, 1);
+        // A third product in one interval is over the limit
+        view(unseen, 5);
+        assertEquals(2, popularityService.flush(start));
+        view(newer, 1);
+        popularityService.flush(start + 2 * HOUR);
+
+        assertEquals(3, popularityRepository.findById(older).orElseThrow().getViewCount());
+        assertEquals(2, popularityRepository.findById(newer).orElseThrow().getViewCount());
+        assertEquals(false, popularityRepository.existsById(unseen));
+        // 3 views two half-lives ago weigh 0.75 now, against 1 + 0.25
+        assertEquals(List.of(newer, older), ids(popularityService.getTrending(10, ProductFields.ALL)));
+        assertEquals(List.of(older, newer), ids(popularityService.getMostViewed(10, ProductFields.ALL)));
+        assertEquals(List.of(older), ids(popularityService.getMostViewed(1, ProductFields.parse("name"))));
+
+        for (Long id : List.of(older, newer, unseen)) {
+            searchIndex.upsert(new ProductDocument(id, "Phone " + id, "Acme", null, Map.of(), BigDecimal.TEN, true,
+                    Set.of(), AvailabilityStatus.IN_STOCK));
+        }
+        searchIndex.replacePopularity(Map.of());
+        popularityService.refreshSearchPopularity();
+
+        assertEquals(List.of(newer, older, unseen), searchIds("popularity"));
+        assertEquals(List.of(unseen, older, newer), searchIds("popularity,asc"));
+    }
+
+    private void view(Long productId, int times) {
+        for (int i = 0; i < times; i++) {
+            popularityService.recordView(productId);
+        }
+    }
+
+    private List<Long> searchIds(String sort) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setQ("phone");
+        request.setSort(sort);
+        return searchIndex.search(request).getProductIds();
+    }
+
+    private static List<Long> ids(List<ProductResponse> responses) {
+        return responses.stream().map(ProductResponse::getId).toList();
+    }
+
+    private Product createProduct(String name) {
+        Product product = new Product();
+        product.setSku("POP-" + System.nanoTime());
+        product.setName(name);
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(5);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,95 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oss.productcatalog.dto.ProductResponse;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.repository.ProductRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs without a test transaction so change events fire after each service
+ * call commits, as they do in production.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductServiceImpl.class, ProductResponseCache.class, InventoryChangeServiceImpl.class,
+        HotStockServiceImpl.class, CategoryTreeCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductResponseCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductResponseCache cache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        cache.invalidateAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        Long productId = createProduct(10).getId();
+        productService.getProductById(productId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        productService.getProductById(productId);
+
+        assertTrue(statistics.getPrepareStatementCount() <= 1,
+                "cached read ran " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void stockChangesAreVisibleImmediately() {
+        Long productId = createProduct(8).getId();
+        assertEquals(8, productService.getProductById(productId).getStock());
+
+        productService.reduceStock(productId, 4);
+
+        ProductResponse response = productService.getProductById(productId);
+        assertEquals(4, response.getStock());
+        assertEquals(AvailabilityStatus.LOW_STOCK, response.getAvailabilityStatus());
+    }
+
+    @Test
+    void callersCannotModifyCachedEntries() {
+        Long productId = createProduct(3).getId();
+        productService.getProductById(productId).setName("changed by caller");
+
+        assertEquals("Cache test product", productService.getProductById(productId).getName());
+    }
+
+    private Product createProduct(int stock) {
+        Product product = new Product();
+        product.setSku("CACHE-" + System.nanoTime());
+        product.setName("Cache test product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+}
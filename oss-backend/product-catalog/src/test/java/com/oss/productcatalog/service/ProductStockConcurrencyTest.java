@@ -0,0 +1,100 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.repository.ProductRepository;
+
+/**
+ * Runs without a test transaction so every reduceStock call commits on its
+ * own connection, the way concurrent order requests do.
+ */
+@DataJpaTest
+@Import({ProductServiceImpl.class, ProductResponseCache.class, InventoryChangeServiceImpl.class,
+        HotStockServiceImpl.class, CategoryTreeCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 300;
+    private static final int DECREMENTS = 500;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentDecrementsNeverOversell() throws Exception {
+        Long productId = createProduct(INITIAL_STOCK).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < DECREMENTS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return productService.reduceStock(productId, 1);
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(60, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        pool.shutdown();
+
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertEquals(INITIAL_STOCK, succeeded);
+        assertEquals(0, product.getStock());
+        assertEquals(AvailabilityStatus.OUT_OF_STOCK, product.getAvailabilityStatus());
+    }
+
+    @Test
+    void decrementRecomputesAvailability() {
+        Long productId = createProduct(8).getId();
+
+        assertEquals(true, productService.reduceStock(productId, 3));
+        assertEquals(AvailabilityStatus.LOW_STOCK, productRepository.findById(productId).orElseThrow().getAvailabilityStatus());
+
+        assertEquals(false, productService.reduceStock(productId, 6));
+        assertEquals(5, productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    private Product createProduct(int stock) {
+        Product product = new Product();
+        product.setSku("STOCK-" + System.nanoTime());
+        product.setName("Stock test product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,128 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oss.productcatalog.dto.ReviewPageResponse;
+import com.oss.productcatalog.dto.ReviewRequest;
+import com.oss.productcatalog.dto.ReviewResponse;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.repository.ProductRatingSummaryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.repository.ReviewRepository;
+
+/**
+ * Runs without a test transaction: reviews are created through the service,
+ * which commits each one, as it does in production.
+ */
+@DataJpaTest
+@Import(ReviewServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReviewPageTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRatingSummaryRepository summaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        reviewRepository.deleteAll();
+        summaryRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void cursorWalksEveryReviewOnceAcrossTiedTimestamps() {
+        Long productId = createProduct().getId();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(reviewService.createReview(productId, review(i % 5 + 1)).getId());
+        }
+        // Four reviews share the newest timestamp, so the id breaks the tie inside a page boundary
+        LocalDateTime tied = LocalDateTime.now().plusMinutes(1);
+        for (Long id : ids.subList(3, 7)) {
+            jdbcTemplate.update("update reviews set created_at = ? where id = ?", Timestamp.valueOf(tied), id);
+        }
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ReviewPageResponse page = reviewService.getReviews(productId, cursor, 3, null, null);
+            page.getItems().stream().map(ReviewResponse::getId).forEach(walked::add);
+            cursor = page.getNextCursor();
+            assertEquals(cursor != null, page.getHasMore());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of(ids.get(6), ids.get(5), ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0)), walked);
+    }
+
+    @Test
+    void filtersApplyToFollowingPages() {
+        Long productId = createProduct().getId();
+        for (int i = 0; i < 5; i++) {
+            reviewService.createReview(productId, review(5));
+            reviewService.createReview(productId, review(1));
+        }
+
+        ReviewPageResponse first = reviewService.getReviews(productId, null, 3, 5, null);
+        ReviewPageResponse second = reviewService.getReviews(productId, first.getNextCursor(), 3, 5, null);
+
+        assertTrue(first.getHasMore());
+        assertEquals(2, second.getItems().size());
+        assertFalse(second.getHasMore());
+        assertNull(second.getNextCursor());
+        assertTrue(second.getItems().stream().allMatch(review -> review.getRating() == 5));
+    }
+
+    private Product createProduct() {
+        Product product = new Product();
+        product.setSku("PAGE-" + System.nanoTime());
+        product.setName("Review page test product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(10);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+
+    private static ReviewRequest review(int rating) {
+        ReviewRequest request = new ReviewRequest();
+        request.setUserId(1L);
+        request.setUserName("user");
+        request.setRating(rating);
+        request.setTitle("title");
+        request.setComment("comment");
+        return request;
+    }
+}
@@ -0,0 +1,137 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oss.productcatalog.dto.RatingSummaryResponse;
+import com.oss.productcatalog.dto.ReviewRequest;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ProductRatingSummary;
+import com.oss.productcatalog.repository.ProductRatingSummaryRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.repository.ReviewRepository;
+
+/**
+ * Runs without a test transaction so concurrent reviews commit on their own
+ * connections.
+ */
+@DataJpaTest
+@Import({ReviewServiceImpl.class, RatingSummaryRebuildJob.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReviewRatingSummaryTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RatingSummaryRebuildJob rebuildJob;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRatingSummaryRepository summaryRepository;
+
+    @AfterEach
+    void tearDown() {
+        reviewRepository.deleteAll();
+        summaryRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentFirstReviewsOfAProductWithoutSummaryAreAllCounted() throws Exception {
+        // Saved directly, so like an imported or legacy product it has no summary row
+        Long productId = createProduct().getId();
+        int[] ratings = {5, 4, 4, 3, 5, 1, 2, 5, 4, 5, 3, 5, 4, 2, 5, 5};
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int rating : ratings) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return reviewService.createReview(productId, review(rating));
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        RatingSummaryResponse summary = reviewService.getRatingSummary(productId);
+        assertEquals((long) ratings.length, summary.getReviewCount());
+        assertEquals(62.0 / ratings.length, summary.getAverageRating(), 1e-9);
+        assertEquals(7L, summary.getHistogram().get(5));
+        assertEquals(4L, summary.getHistogram().get(4));
+        assertEquals(2L, summary.getHistogram().get(3));
+        assertEquals(2L, summary.getHistogram().get(2));
+        assertEquals(1L, summary.getHistogram().get(1));
+    }
+
+    @Test
+    void rebuildRepairsDriftedSummaries() {
+        Long productId = createProduct().getId();
+        reviewService.createReview(productId, review(5));
+        reviewService.createReview(productId, review(2));
+        reviewService.createReview(productId, review(2));
+
+        ProductRatingSummary drifted = summaryRepository.findById(productId).orElseThrow();
+        drifted.addRating(1, 10);
+        summaryRepository.save(drifted);
+        Long unreviewedId = createProduct().getId();
+
+        rebuildJob.rebuildAll();
+
+        ProductRatingSummary summary = summaryRepository.findById(productId).orElseThrow();
+        assertEquals(3, summary.getReviewCount());
+        assertEquals(9, summary.getRatingSum());
+        assertEquals(0, summary.getOneStarCount());
+        assertEquals(2, summary.getTwoStarCount());
+        assertEquals(1, summary.getFiveStarCount());
+        assertEquals(0, summaryRepository.findById(unreviewedId).orElseThrow().getReviewCount());
+    }
+
+    private Product createProduct() {
+        Product product = new Product();
+        product.setSku("REVIEW-" + System.nanoTime());
+        product.setName("Review test product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(10);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+
+    private static ReviewRequest review(int rating) {
+        ReviewRequest request = new ReviewRequest();
+        request.setUserId(1L);
+        request.setUserName("user");
+        request.setRating(rating);
+        request.setTitle("title");
+        request.setComment("comment");
+        return request;
+    }
+}
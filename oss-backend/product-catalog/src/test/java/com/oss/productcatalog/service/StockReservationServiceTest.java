@@ -0,0 +1,137 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oss.productcatalog.dto.ReservationItemRequest;
+import com.oss.productcatalog.dto.StockReservationRequest;
+import com.oss.productcatalog.dto.StockReservationResponse;
+import com.oss.productcatalog.exception.ConflictException;
+import com.oss.productcatalog.model.AvailabilityStatus;
+import com.oss.productcatalog.model.Product;
+import com.oss.productcatalog.model.ReservationStatus;
+import com.oss.productcatalog.model.StockReservation;
+import com.oss.productcatalog.repository.InventoryChangeRepository;
+import com.oss.productcatalog.repository.ProductRepository;
+import com.oss.productcatalog.repository.StockReservationRepository;
+
+/**
+ * Runs without a test transaction so each call commits on its own, as it
+ * does when order-management calls the reservation endpoints.
+ */
+@DataJpaTest(properties = "catalog.reservations.sweep-interval-ms=3600000")
+@Import({StockReservationServiceImpl.class, InventoryChangeServiceImpl.class, HotStockServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationServiceTest {
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryChangeRepository inventoryChangeRepository;
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        inventoryChangeRepository.deleteAll();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shortItemRejectsTheWholeReservation() {
+        Long plenty = createProduct(10).getId();
+        Long scarce = createProduct(1).getId();
+
+        StockReservationResponse response = reservationService.reserve(request(plenty, 4, scarce, 2));
+
+        assertEquals(ReservationStatus.REJECTED, response.getStatus());
+        assertEquals(10, stock(plenty));
+        assertEquals(1, stock(scarce));
+        assertEquals(0, reservationRepository.count());
+    }
+
+    @Test
+    void commitAndReleaseAreIdempotent() {
+        Long productId = createProduct(10).getId();
+
+        String committed = reservationService.reserve(request(productId, 3)).getReservationId();
+        assertEquals(7, stock(productId));
+        assertEquals(ReservationStatus.COMMITTED, reservationService.commit(committed).getStatus());
+        assertEquals(ReservationStatus.COMMITTED, reservationService.commit(committed).getStatus());
+        assertThrows(ConflictException.class, () -> reservationService.release(committed));
+        assertEquals(7, stock(productId));
+
+        String released = reservationService.reserve(request(productId, 2)).getReservationId();
+        assertEquals(ReservationStatus.RELEASED, reservationService.release(released).getStatus());
+        assertEquals(ReservationStatus.RELEASED, reservationService.release(released).getStatus());
+        assertThrows(ConflictException.class, () -> reservationService.commit(released));
+        assertEquals(7, stock(productId));
+    }
+
+    @Test
+    void expiredReservationsReturnTheirStockOnce() {
+        Long productId = createProduct(10).getId();
+        String expiring = reservationService.reserve(request(productId, 4)).getReservationId();
+        String live = reservationService.reserve(request(productId, 1)).getReservationId();
+        StockReservation reservation = reservationRepository.findById(expiring).orElseThrow();
+        reservation.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        reservationRepository.save(reservation);
+
+        assertEquals(1, reservationService.expireStaleReservations());
+        assertEquals(0, reservationService.expireStaleReservations());
+
+        assertEquals(9, stock(productId));
+        assertEquals(ReservationStatus.EXPIRED, reservationService.getReservation(expiring).getStatus());
+        assertThrows(ConflictException.class, () -> reservationService.commit(expiring));
+        assertEquals(ReservationStatus.EXPIRED, reservationService.release(expiring).getStatus());
+        assertEquals(ReservationStatus.COMMITTED, reservationService.commit(live).getStatus());
+        assertEquals(9, stock(productId));
+    }
+
+    private int stock(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStock();
+    }
+
+    private Product createProduct(int stock) {
+        Product product = new Product();
+        product.setSku("RESERVE-" + System.nanoTime());
+        product.setName("Reservation test product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setAvailabilityStatus(AvailabilityStatus.IN_STOCK);
+        return productRepository.save(product);
+    }
+
+    private static StockReservationRequest request(Object... productQuantities) {
+        StockReservationRequest request = new StockReservationRequest();
+        request.setOrderRef("order-" + System.nanoTime());
+        List<ReservationItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < productQuantities.length; i += 2) {
+            ReservationItemRequest item = new ReservationItemRequest();
+            item.setProductId((Long) productQuantities[i]);
+            item.setQuantity((Integer) productQuantities[i + 1]);
+            items.add(item);
+        }
+        request.setItems(items);
+        return request;
+    }
+}
@@ -0,0 +1,66 @@
+package com.oss.productcatalog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class StripedStockCounterTest {
+
+    @Test
+    void concurrentTakesNeverExceedTheDepositedUnits() throws Exception {
+        StripedStockCounter counter = new StripedStockCounter(1L, 1L, 4);
+        counter.deposit(1000, 0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 16; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int taken = 0;
+                for (int i = 0; i < 200; i++) {
+                    if (counter.tryTake(1)) {
+                        taken++;
+                    }
+                }
+                return taken;
+            }));
+        }
+        start.countDown();
+        int taken = 0;
+        for (Future<Integer> result : results) {
+            taken += result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Units stranded on other stripes are still found by the scan
+        assertEquals(1000, taken);
+        assertEquals(0, counter.held());
+        assertEquals(1000, counter.takeSales());
+        assertEquals(0, counter.takeSales());
+    }
+
+    @Test
+    void drainKeepsUnflushedSales() {
+        StripedStockCounter counter = new StripedStockCounter(1L, 1L, 4);
+        counter.deposit(10, 0);
+
+        assertTrue(counter.tryTake(2));
+        // 10 units over 4 stripes: no single stripe holds 5
+        assertFalse(counter.tryTake(5));
+        assertEquals(8, counter.drain());
+        assertEquals(0, counter.held());
+        counter.restoreSales(3);
+        assertEquals(5, counter.takeSales());
+    }
+}
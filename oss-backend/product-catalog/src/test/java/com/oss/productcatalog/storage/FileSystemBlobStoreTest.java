@@ -0,0 +1,58 @@
+package com.oss.productcatalog.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+class FileSystemBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        FileSystemBlobStore store = new FileSystemBlobStore(root);
+        byte[] bytes = "same image bytes".getBytes(StandardCharsets.UTF_8);
+
+        StoredBlob first = store.put(new ByteArrayInputStream(bytes));
+        StoredBlob second = store.put(new ByteArrayInputStream(bytes));
+
+        assertTrue(first.isCreated());
+        assertFalse(second.isCreated());
+        assertEquals(first.getHash(), second.getHash());
+        assertEquals(bytes.length, first.getSizeBytes());
+        // Stored under <root>/ab/cd/<hash>
+        assertTrue(Files.isRegularFile(root.resolve(first.getHash().substring(0, 2))
+                .resolve(first.getHash().substring(2, 4)).resolve(first.getHash())));
+        try (Stream<Path> temps = Files.list(root.resolve("tmp"))) {
+            assertEquals(0, temps.count());
+        }
+
+        Resource resource = store.get(first.getHash());
+        try (InputStream in = resource.getInputStream()) {
+            assertArrayEquals(bytes, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void rejectsKeysThatAreNotSha256Hex() throws IOException {
+        FileSystemBlobStore store = new FileSystemBlobStore(root);
+
+        assertNull(store.get("../../etc/passwd"));
+        assertFalse(store.exists("abc"));
+    }
+}
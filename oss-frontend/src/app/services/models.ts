@@ -8,6 +8,8 @@ export interface Product {
   rating: number;
   reviewCount: number;
   images: string[];
+  // 480px variants for listing cards, where generated
+  thumbnails?: string[];
   category?: string;
   categories?: string[];
   brand: string;
@@ -19,9 +19,16 @@ export interface ProductResponse {
   specifications?: { [key: string]: string };
   categories: string[];
   imageUrls: string[];
+  images?: ProductImageResponse[];
   averageRating: number;
   reviewCount: number;
-  reviews: ReviewResponse[];
+  reviews?: ReviewResponse[];
+}
+
+export interface ProductImageResponse {
+  id: number;
+  url: string;
+  variants: { [width: string]: string };
 }
 
 export interface ReviewResponse {
@@ -37,6 +44,19 @@ export interface ReviewResponse {
   createdAt: string;
 }
 
+export interface ProductSearchResponse {
+  items: ProductResponse[];
+  total: number;
+  page: number;
+  size: number;
+}
+
+export interface ReviewPageResponse {
+  items: ReviewResponse[];
+  nextCursor?: string;
+  hasMore: boolean;
+}
+
 export interface ReviewRequest {
   userId: number;
   userName: string;
@@ -62,7 +82,8 @@ export class ProductService {
   }
 
   getProductById(id: number): Observable<Product> {
-    return this.http.get<ProductResponse>(`${this.apiUrl}/products/${id}`).pipe(
+    const params = new HttpParams().set('includeReviews', 'true').set('reviewLimit', '20');
+    return this.http.get<ProductResponse>(`${this.apiUrl}/products/${id}`, { params }).pipe(
       map(p => this.mapToProduct(p))
     );
   }
@@ -76,12 +97,9 @@ export class ProductService {
   }
 
   searchProducts(query: string): Observable<Product[]> {
-    return this.getAllProducts().pipe(
-      map(products => products.filter(p => 
-        p.name.toLowerCase().includes(query.toLowerCase()) ||
-        p.description?.toLowerCase().includes(query.toLowerCase()) ||
-        p.brand?.toLowerCase().includes(query.toLowerCase())
-      ))
+    const params = new HttpParams().set('q', query).set('size', '100');
+    return this.http.get<ProductSearchResponse>(`${this.apiUrl}/products/search`, { params }).pipe(
+      map(result => result.items.map(p => this.mapToProduct(p)))
     );
   }
 
@@ -108,8 +126,8 @@ export class ProductService {
   }
 
   getReviews(productId: number): Observable<Review[]> {
-    return this.http.get<ReviewResponse[]>(`${this.apiUrl}/products/${productId}/reviews`).pipe(
-      map(reviews => reviews.map(r => this.mapToReview(r)))
+    return this.http.get<ReviewPageResponse>(`${this.apiUrl}/products/${productId}/reviews`).pipe(
+      map(page => page.items.map(r => this.mapToReview(r)))
     );
   }
 
@@ -134,6 +152,7 @@ export class ProductService {
       rating: response.averageRating || 0,
       reviewCount: response.reviewCount || 0,
       images: response.imageUrls || [],
+      thumbnails: response.images?.map(image => image.variants?.['480'] || image.url),
       category: response.categories?.[0] || '',
       categories: response.categories || [],
       brand: response.brand || '',
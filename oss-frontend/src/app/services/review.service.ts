@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable, of } from 'rxjs';
-import { catchError } from 'rxjs/operators';
+import { catchError, map } from 'rxjs/operators';
 import { Review } from './models';
 
 const API_GATEWAY = 'http://localhost:9090';
@@ -29,6 +29,12 @@ export interface ReviewResponse {
   createdAt: string;
 }
 
+export interface ReviewPageResponse {
+  items: ReviewResponse[];
+  nextCursor?: string;
+  hasMore: boolean;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -36,10 +42,21 @@ export class ReviewService {
 
   constructor(private http: HttpClient) {}
 
-  // Get reviews for a product
+  // Get a page of reviews for a product; pass the previous page's nextCursor to continue
+  getReviewPage(productId: number, cursor?: string, size = 20): Observable<ReviewPageResponse> {
+    const params: { [param: string]: string } = { size: String(size) };
+    if (cursor) {
+      params['cursor'] = cursor;
+    }
+    return this.http.get<ReviewPageResponse>(`${API_GATEWAY}/api/products/${productId}/reviews`, { params }).pipe(
+      catchError(() => of({ items: [], hasMore: false } as ReviewPageResponse))
+    );
+  }
+
+  // Get the first page of reviews for a product
   getReviews(productId: number): Observable<ReviewResponse[]> {
-    return this.http.get<ReviewResponse[]>(`${API_GATEWAY}/api/products/${productId}/reviews`).pipe(
-      catchError(() => of([]))
+    return this.getReviewPage(productId).pipe(
+      map(page => page.items)
     );
   }
 